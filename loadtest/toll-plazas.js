@@ -0,0 +1,55 @@
+// k6 load test for POST /api/v1/toll-plazas, to compare the servlet and the reactive profile.
+//
+//   k6 run -e BASE_URL=http://localhost:8080 -e MODE=servlet  loadtest/toll-plazas.js
+//   k6 run -e BASE_URL=http://localhost:8080 -e MODE=reactive loadtest/toll-plazas.js
+//
+// Start the application with toll.provider=offline so no Google quota is spent, and with the
+// same database and cache settings in both runs. MISS_RATIO of the requests use ?refresh=true
+// (full computation and cache write); the rest are cache hits after the first round.
+import http from 'k6/http';
+import { check } from 'k6';
+import { Trend } from 'k6/metrics';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const MODE = __ENV.MODE || 'servlet';
+const MISS_RATIO = Number(__ENV.MISS_RATIO || 0.1);
+
+// pincodes from src/main/resources/pincode_centroids.csv
+const PINCODES = ['110001', '400001', '411001', '411045', '560064', '600001', '700001', '500001', '380001', '302001'];
+
+const lookup = new Trend(`toll_lookup_${MODE}`, true);
+
+export const options = {
+    scenarios: {
+        ramp: {
+            executor: 'ramping-arrival-rate',
+            startRate: 50,
+            timeUnit: '1s',
+            preAllocatedVUs: 200,
+            maxVUs: 2000,
+            stages: [
+                { target: 500, duration: '1m' },
+                { target: 2000, duration: '2m' },
+                { target: 2000, duration: '2m' },
+            ],
+        },
+    },
+    thresholds: {
+        http_req_failed: ['rate<0.01'],
+        http_req_duration: ['p(99)<1000'],
+    },
+    tags: { mode: MODE },
+};
+
+export default function () {
+    const i = Math.floor(Math.random() * PINCODES.length);
+    const j = (i + 1 + Math.floor(Math.random() * (PINCODES.length - 1))) % PINCODES.length;
+    const refresh = Math.random() < MISS_RATIO;
+
+    const res = http.post(`${BASE_URL}/api/v1/toll-plazas${refresh ? '?refresh=true' : ''}`,
+        JSON.stringify({ sourcePincode: PINCODES[i], destinationPincode: PINCODES[j] }),
+        { headers: { 'Content-Type': 'application/json', 'X-Correlation-Id': `k6-${__VU}-${__ITER}` } });
+
+    check(res, { 'status is 200': (r) => r.status === 200 });
+    lookup.add(res.timings.duration, { refresh: String(refresh) });
+}
@@ -0,0 +1,118 @@
+package com.som.toll.cache;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Approximate request counts per pincode pair, and the most requested pairs for proactive refresh.
+ * Counts live in a count-min sketch (4 rows of int counters, a fixed few hundred KB whatever the
+ * number of pairs) that is halved about every 10 × width requests so past popularity fades. The top
+ * pairs by estimated count are kept in a small candidate map next to it.
+ * <p>
+ * {@link #record} runs on every lookup and takes no lock: counters are atomic, the request total is
+ * a {@link LongAdder} checked on a random sample of calls, and candidates go into a concurrent map
+ * that is trimmed back to hot-size once it holds twice that. Only trimming and {@link #hottest()}
+ * synchronise.
+ */
+@Component
+public class HotRouteTracker {
+
+    private static final long[] SEEDS = {
+            0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L, 0xD6E8FEB86659FD93L};
+    private static final int AGE_CHECK_EVERY = 16; // calls per request-total check, on average
+
+    private final int capacity;
+    private final AtomicIntegerArray counters; // SEEDS.length rows of width counters
+    private final int width;
+    private final int mask;
+    private final int sampleSize;
+    private final LongAdder additions = new LongAdder();
+    private final AtomicBoolean aging = new AtomicBoolean();
+
+    private final Map<RouteKey, Integer> top = new ConcurrentHashMap<>();
+    private volatile int floor; // count a new candidate must beat, from the last trim
+
+    public HotRouteTracker(@Value("${toll.cache.refresh.hot-size:200}") int capacity) {
+        if (capacity < 1) throw new IllegalArgumentException("Hot route capacity must be positive");
+        this.capacity = capacity;
+        this.width = Integer.highestOneBit(Math.max(1024, capacity * 64) - 1) << 1;
+        this.counters = new AtomicIntegerArray(SEEDS.length * width);
+        this.mask = width - 1;
+        this.sampleSize = width * 10;
+    }
+
+    /** Counts one request for the pair. */
+    public void record(RouteKey key) {
+        int hash = key.hashCode();
+        int estimate = Integer.MAX_VALUE;
+        for (int i = 0; i < SEEDS.length; i++) {
+            estimate = Math.min(estimate, counters.incrementAndGet(slot(hash, i)));
+        }
+        if (estimate > floor || top.containsKey(key)) {
+            top.put(key, estimate);
+            if (top.size() > 2 * capacity) trim();
+        }
+        additions.increment();
+        if (ThreadLocalRandom.current().nextInt(AGE_CHECK_EVERY) == 0 && additions.sum() >= sampleSize) age();
+    }
+
+    /** Estimated request count of the pair since counts were last halved. */
+    public int estimate(RouteKey key) {
+        int hash = key.hashCode();
+        int estimate = Integer.MAX_VALUE;
+        for (int i = 0; i < SEEDS.length; i++) {
+            estimate = Math.min(estimate, counters.get(slot(hash, i)));
+        }
+        return estimate;
+    }
+
+    /** Up to hot-size pairs, most requested first. */
+    public synchronized List<RouteKey> hottest() {
+        return sortedCandidates().stream().limit(capacity).map(Map.Entry::getKey).toList();
+    }
+
+    /** Drops all but the hot-size most requested candidates and raises the admission floor to match. */
+    private synchronized void trim() {
+        if (top.size() <= 2 * capacity) return;
+        List<Map.Entry<RouteKey, Integer>> entries = sortedCandidates();
+        for (var e : entries.subList(capacity, entries.size())) {
+            top.remove(e.getKey(), e.getValue());
+        }
+        floor = entries.get(capacity - 1).getValue();
+    }
+
+    private List<Map.Entry<RouteKey, Integer>> sortedCandidates() {
+        List<Map.Entry<RouteKey, Integer>> entries = new ArrayList<>();
+        top.forEach((k, v) -> entries.add(Map.entry(k, v)));
+        entries.sort(Map.Entry.<RouteKey, Integer>comparingByValue().reversed());
+        return entries;
+    }
+
+    /** Halves every count; relative order is (approximately, under concurrent updates) unchanged. */
+    private void age() {
+        if (!aging.compareAndSet(false, true)) return;
+        try {
+            if (additions.sum() < sampleSize) return;
+            for (int j = 0; j < counters.length(); j++) {
+                counters.updateAndGet(j, v -> v >>> 1);
+            }
+            top.replaceAll((k, v) -> v >>> 1);
+            floor = floor >>> 1;
+            additions.add(-sampleSize);
+        } finally {
+            aging.set(false);
+        }
+    }
+
+    private int slot(int hash, int row) {
+        long h = (hash + SEEDS[row]) * SEEDS[row];
+        return row * width + ((int) (h >>> 32) & mask);
+    }
+}
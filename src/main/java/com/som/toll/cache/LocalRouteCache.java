@@ -0,0 +1,71 @@
+package com.som.toll.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.som.toll.dto.TollPlazaResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * First, in-process tier of the route cache (W-TinyLFU, size bounded, expire-after-write).
+ * The toll_route_cache table behind it is the second tier. Hit/miss/eviction counts are
+ * published as cache.* metrics with cache=toll.route.local.
+ * Each entry remembers when its response was computed (not when it entered this tier), so a
+ * response read back from the table keeps its original age for soft-TTL checks.
+ * Cached responses are shared between requests and must not be mutated.
+ */
+@Component
+public class LocalRouteCache {
+
+    private final Cache<RouteKey, Entry> cache;
+
+    public record Entry(TollPlazaResponse response, Instant computedAt) {
+
+        public boolean olderThan(Duration age) {
+            return computedAt.plus(age).isBefore(Instant.now());
+        }
+    }
+
+    public LocalRouteCache(@Value("${toll.cache.local.max-size:10000}") long maxSize,
+                           @Value("${toll.cache.local.ttl:6h}") Duration ttl,
+                           MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "toll.route.local");
+    }
+
+    public Optional<Entry> get(RouteKey key) {
+        return Optional.ofNullable(cache.getIfPresent(key));
+    }
+
+    /** Like {@link #get} but without recording a hit or miss. */
+    public Optional<Entry> peek(RouteKey key) {
+        return Optional.ofNullable(cache.asMap().get(key));
+    }
+
+    /** Caches a response computed just now. */
+    public void put(RouteKey key, TollPlazaResponse response) {
+        put(key, new Entry(response, Instant.now()));
+    }
+
+    public void put(RouteKey key, Entry entry) {
+        cache.put(key, entry);
+    }
+
+    public void invalidate(RouteKey key) {
+        cache.invalidate(key);
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+}
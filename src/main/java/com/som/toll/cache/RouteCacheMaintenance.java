@@ -0,0 +1,84 @@
+package com.som.toll.cache;
+
+import com.som.toll.repository.TollRouteCacheRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Housekeeping for the toll_route_cache table: makes sure the unique (source, destination)
+ * index exists, removing duplicate rows left by the old insert-per-computation behaviour first,
+ * and purges rows past the TTL, or without a creation time, in small batches so the delete never
+ * locks the table for long.
+ */
+@Slf4j
+@Component
+public class RouteCacheMaintenance {
+
+    static final String PAIR_INDEX = "uk_route_cache_pair";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TollRouteCacheRepository cacheRepository;
+    private final Duration ttl;
+    private final int purgeBatchSize;
+
+    public RouteCacheMaintenance(JdbcTemplate jdbcTemplate,
+                                 TollRouteCacheRepository cacheRepository,
+                                 @Value("${toll.cache.db.ttl:30d}") Duration ttl,
+                                 @Value("${toll.cache.db.purge-batch-size:5000}") int purgeBatchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.cacheRepository = cacheRepository;
+        this.ttl = ttl;
+        this.purgeBatchSize = purgeBatchSize;
+    }
+
+    /**
+     * Hibernate's schema update cannot add the unique index while duplicates exist, so on an
+     * existing table the duplicates (all but the newest row of each pair) are removed here first.
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensurePairIndex() {
+        try {
+            Integer present = jdbcTemplate.queryForObject("""
+                    SELECT COUNT(*) FROM information_schema.statistics
+                    WHERE table_schema = DATABASE() AND table_name = 'toll_route_cache' AND index_name = ?
+                    """, Integer.class, PAIR_INDEX);
+            if (present != null && present > 0) return;
+
+            int removed = jdbcTemplate.update("""
+                    DELETE older FROM toll_route_cache older
+                    JOIN toll_route_cache newer
+                      ON newer.source_pincode = older.source_pincode
+                     AND newer.destination_pincode = older.destination_pincode
+                     AND newer.id > older.id
+                    """);
+            jdbcTemplate.execute("ALTER TABLE toll_route_cache ADD UNIQUE INDEX " + PAIR_INDEX
+                    + " (source_pincode, destination_pincode)");
+            log.info(" Route cache: removed {} duplicate rows and added unique index {}", removed, PAIR_INDEX);
+        } catch (Exception e) {
+            log.error(" Failed to add unique index {} to toll_route_cache", PAIR_INDEX, e);
+        }
+    }
+
+    @Scheduled(cron = "${toll.cache.db.purge-cron:0 30 3 * * *}")
+    public void purgeExpired() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(ttl);
+        long start = System.nanoTime();
+        int total = 0, deleted;
+        do {
+            deleted = cacheRepository.deleteCreatedBefore(cutoff, purgeBatchSize);
+            total += deleted;
+        } while (deleted == purgeBatchSize);
+        log.info("Route cache purge: deleted {} rows older than {} in {}ms",
+                total, cutoff, (System.nanoTime() - start) / 1_000_000);
+    }
+}
@@ -0,0 +1,12 @@
+package com.som.toll.cache;
+
+/**
+ * Cache key of a route: the (source, destination) pincode pair.
+ */
+public record RouteKey(String source, String destination) {
+
+    /** The same pair travelled the other way. */
+    public RouteKey reversed() {
+        return new RouteKey(destination, source);
+    }
+}
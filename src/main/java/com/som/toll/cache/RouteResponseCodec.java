@@ -0,0 +1,164 @@
+package com.som.toll.cache;
+
+import com.som.toll.dto.RouteDto;
+import com.som.toll.dto.TollPlazaDto;
+import com.som.toll.dto.TollPlazaResponse;
+import com.som.toll.index.PlazaStore;
+import com.som.toll.rate.RateTable;
+import com.som.toll.rate.RouteCosts;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compact binary form of a cached {@link TollPlazaResponse}. Only plaza ids and distances are
+ * stored; names, coordinates and states are filled in from the in-memory plaza table on read,
+ * and the pincodes come from the cache key. v2 adds the route's toll totals.
+ * <pre>
+ * v1: byte    version
+ *     double  route distance (km)
+ *     varint  plaza count
+ *     per plaza, in response order:
+ *       zigzag varint  id - previous id
+ *       zigzag varint  distance from source (m) - previous distance (m)
+ * v2: v1, then
+ *     byte    1 when route costs follow, else 0
+ *     long    rate table version the totals were computed at
+ *     per vehicle class and journey type ({@link RateTable#combination}):
+ *       varint  total fee, varint  plazas without a fee
+ * </pre>
+ * Distances from source are stored to the metre, which is how the service computes them.
+ * Per-plaza fees are not stored; they are read from the rate table by plaza id. Totals stored
+ * at another rate table version are recomputed on read.
+ */
+public final class RouteResponseCodec {
+
+    public static final byte VERSION = 2;
+    private static final byte V1 = 1;
+
+    private RouteResponseCodec() {}
+
+    /**
+     * @param plazaIds ids of the response's plazas, in the same order as {@code getTollPlazas()}
+     */
+    public static byte[] encode(TollPlazaResponse response, long[] plazaIds) {
+        List<TollPlazaDto> tolls = response.getTollPlazas();
+        if (tolls.size() != plazaIds.length) {
+            throw new IllegalArgumentException("Expected " + tolls.size() + " plaza ids, got " + plazaIds.length);
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(16 + tolls.size() * 5);
+        out.write(VERSION);
+        writeLong(out, Double.doubleToLongBits(response.getRoute().getDistanceInKm()));
+        writeVarint(out, tolls.size());
+        long prevId = 0, prevMeters = 0;
+        for (int i = 0; i < plazaIds.length; i++) {
+            long meters = Math.round(tolls.get(i).getDistanceFromSource() * 1000.0);
+            writeVarint(out, zigzag(plazaIds[i] - prevId));
+            writeVarint(out, zigzag(meters - prevMeters));
+            prevId = plazaIds[i];
+            prevMeters = meters;
+        }
+
+        RouteCosts costs = response.getRouteCosts();
+        if (costs == null) {
+            out.write(0);
+        } else {
+            out.write(1);
+            writeLong(out, costs.ratesVersion());
+            for (int k = 0; k < RateTable.COMBINATIONS; k++) {
+                writeVarint(out, costs.total(k));
+                writeVarint(out, costs.unpriced(k));
+            }
+        }
+        return out.toByteArray();
+    }
+
+    /** Like {@link #decode(byte[], RouteKey, RateTable)} with no rates known. */
+    public static TollPlazaResponse decode(byte[] blob, RouteKey key, PlazaStore store) {
+        return decode(blob, key, RateTable.empty(store));
+    }
+
+    /**
+     * Rebuilds the response for the given pair against the current plaza and rate tables.
+     * The response carries its {@link RouteCosts}.
+     *
+     * @throws IllegalArgumentException for an unknown version or a plaza id no longer in the table
+     */
+    public static TollPlazaResponse decode(byte[] blob, RouteKey key, RateTable rates) {
+        PlazaStore store = rates.store();
+        ByteBuffer in = ByteBuffer.wrap(blob);
+        byte version = in.get();
+        if (version != VERSION && version != V1) {
+            throw new IllegalArgumentException("Unsupported route cache format version " + version);
+        }
+
+        double distanceKm = in.getDouble();
+        int count = (int) readVarint(in);
+        List<TollPlazaDto> tolls = new ArrayList<>(count);
+        long[] ids = new long[count];
+        long id = 0, meters = 0;
+        for (int i = 0; i < count; i++) {
+            id += unzigzag(readVarint(in));
+            meters += unzigzag(readVarint(in));
+            int slot = store.slotOf(id);
+            if (slot < 0) {
+                throw new IllegalArgumentException("Toll plaza " + id + " is no longer in the plaza table");
+            }
+            tolls.add(new TollPlazaDto(store.name(slot), store.lat(slot), store.lon(slot),
+                    meters / 1000.0, store.geoState(slot)));
+            ids[i] = id;
+        }
+
+        RouteCosts costs = null;
+        if (version >= VERSION && in.get() == 1) {
+            long ratesVersion = in.getLong();
+            int[] totals = new int[RateTable.COMBINATIONS], unpriced = new int[RateTable.COMBINATIONS];
+            for (int k = 0; k < RateTable.COMBINATIONS; k++) {
+                totals[k] = (int) readVarint(in);
+                unpriced[k] = (int) readVarint(in);
+            }
+            if (ratesVersion == rates.version()) {
+                costs = RouteCosts.of(rates, ids, totals, unpriced);
+            }
+        }
+        if (costs == null) {
+            costs = RouteCosts.of(rates, ids);
+        }
+        return new TollPlazaResponse(new RouteDto(key.source(), key.destination(), distanceKm), tolls, null, costs);
+    }
+
+    private static void writeLong(ByteArrayOutputStream out, long v) {
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            out.write((int) (v >>> shift));
+        }
+    }
+
+    private static void writeVarint(ByteArrayOutputStream out, long v) {
+        while ((v & ~0x7FL) != 0) {
+            out.write((int) ((v & 0x7F) | 0x80));
+            v >>>= 7;
+        }
+        out.write((int) v);
+    }
+
+    private static long readVarint(ByteBuffer in) {
+        long result = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = in.get();
+            result |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return result;
+        }
+        throw new IllegalArgumentException("Malformed varint");
+    }
+
+    private static long zigzag(long v) {
+        return (v << 1) ^ (v >> 63);
+    }
+
+    private static long unzigzag(long v) {
+        return (v >>> 1) ^ -(v & 1);
+    }
+}
@@ -0,0 +1,7 @@
+package com.som.toll.cache;
+
+/**
+ * Published when a cached response older than the soft TTL (toll.cache.soft-ttl) was served,
+ * so the pair is recomputed in the background.
+ */
+public record StaleRouteServedEvent(RouteKey key) {}
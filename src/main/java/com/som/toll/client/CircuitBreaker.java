@@ -0,0 +1,72 @@
+package com.som.toll.client;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Consecutive-failure circuit breaker. After failureThreshold failures in a row calls are refused
+ * for openDuration; then a single trial call is let through (half-open), and its outcome closes
+ * the circuit or opens it again.
+ */
+public final class CircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final int failureThreshold;
+    private final long openNanos;
+    private final LongSupplier clock;
+
+    private State state = State.CLOSED;
+    private int failures;
+    private long openedAt;
+
+    public CircuitBreaker(int failureThreshold, Duration openDuration) {
+        this(failureThreshold, openDuration, System::nanoTime);
+    }
+
+    CircuitBreaker(int failureThreshold, Duration openDuration, LongSupplier clock) {
+        if (failureThreshold < 1) throw new IllegalArgumentException("Failure threshold must be positive");
+        this.failureThreshold = failureThreshold;
+        this.openNanos = openDuration.toNanos();
+        this.clock = clock;
+    }
+
+    /** Whether a call may be made now. In half-open state only the first caller gets true. */
+    public synchronized boolean tryAcquire() {
+        return switch (state) {
+            case CLOSED -> true;
+            case HALF_OPEN -> false; // trial call still running
+            case OPEN -> {
+                if (clock.getAsLong() - openedAt < openNanos) yield false;
+                state = State.HALF_OPEN;
+                yield true;
+            }
+        };
+    }
+
+    /** Hands back a permit from {@link #tryAcquire} when no call was made after all. */
+    public synchronized void release() {
+        if (state == State.HALF_OPEN) {
+            // let the next caller make the trial call
+            state = State.OPEN;
+            openedAt = clock.getAsLong() - openNanos;
+        }
+    }
+
+    public synchronized void onSuccess() {
+        failures = 0;
+        state = State.CLOSED;
+    }
+
+    public synchronized void onFailure() {
+        failures++;
+        if (state == State.HALF_OPEN || failures >= failureThreshold) {
+            state = State.OPEN;
+            openedAt = clock.getAsLong();
+        }
+    }
+
+    public synchronized State state() {
+        return state;
+    }
+}
@@ -0,0 +1,25 @@
+package com.som.toll.client;
+
+/**
+ * A Google Maps API call failed: transport error, timeout, 5xx, or an error status in the body.
+ * Reported to clients as 502 Bad Gateway.
+ */
+public class GoogleApiException extends RuntimeException {
+
+    private final boolean retryable;
+
+    public GoogleApiException(String message, boolean retryable) {
+        super(message);
+        this.retryable = retryable;
+    }
+
+    public GoogleApiException(String message, Throwable cause) {
+        super(message, cause);
+        this.retryable = false;
+    }
+
+    /** Whether the same request may succeed if sent again (Google overloaded or unreachable). */
+    public boolean isRetryable() {
+        return retryable;
+    }
+}
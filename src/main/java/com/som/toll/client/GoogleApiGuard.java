@@ -0,0 +1,178 @@
+package com.som.toll.client;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Wraps every Google Maps API request: a client-side rate limit for the API quota, a circuit
+ * breaker shared by all Google APIs, and bounded retries with full-jitter exponential backoff.
+ * Only transient failures are retried and counted by the breaker: I/O errors and timeouts,
+ * 5xx, 429, and {@link GoogleApiException}s marked retryable (OVER_QUERY_LIMIT, UNKNOWN_ERROR).
+ * {@link #callAsync} applies the same policy to a reactive request without blocking: rate-limit
+ * waits and backoffs are scheduled delays instead of sleeps.
+ */
+@Component
+public class GoogleApiGuard {
+
+    private static final Logger log = LoggerFactory.getLogger(GoogleApiGuard.class);
+
+    private final RateLimiter rateLimiter;
+    private final CircuitBreaker circuitBreaker;
+    private final Duration rateLimitWait;
+    private final int maxAttempts;
+    private final long initialBackoffNanos;
+    private final long maxBackoffNanos;
+
+    public GoogleApiGuard(@Value("${google.rate-limit.per-second:50}") double permitsPerSecond,
+                          @Value("${google.rate-limit.burst:50}") int burst,
+                          @Value("${google.rate-limit.max-wait:1s}") Duration rateLimitWait,
+                          @Value("${google.circuit.failure-threshold:5}") int failureThreshold,
+                          @Value("${google.circuit.open-duration:30s}") Duration openDuration,
+                          @Value("${google.retry.max-attempts:3}") int maxAttempts,
+                          @Value("${google.retry.initial-backoff:200ms}") Duration initialBackoff,
+                          @Value("${google.retry.max-backoff:2s}") Duration maxBackoff) {
+        this.rateLimiter = new RateLimiter(permitsPerSecond, burst);
+        this.circuitBreaker = new CircuitBreaker(failureThreshold, openDuration);
+        this.rateLimitWait = rateLimitWait;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.initialBackoffNanos = initialBackoff.toNanos();
+        this.maxBackoffNanos = maxBackoff.toNanos();
+    }
+
+    /**
+     * Runs the request, retrying transient failures.
+     *
+     * @throws GoogleApiUnavailableException when the circuit is open or no rate-limit permit was available in time
+     * @throws GoogleApiException when the request failed (after retries for transient failures)
+     */
+    public <T> T call(String api, Callable<T> request) {
+        for (int attempt = 1; ; attempt++) {
+            acquire(api);
+            try {
+                T result = request.call();
+                circuitBreaker.onSuccess();
+                return result;
+            } catch (Exception e) {
+                if (!isTransient(e)) {
+                    // Google answered, so the circuit stays closed
+                    circuitBreaker.onSuccess();
+                    if (e instanceof GoogleApiException g) throw g;
+                    throw new GoogleApiException(api + " API request failed: " + e.getMessage(), e);
+                }
+                circuitBreaker.onFailure();
+                if (attempt >= maxAttempts) {
+                    throw new GoogleApiException(api + " API failed after " + attempt + " attempts: " + e.getMessage(), e);
+                }
+                log.debug("{} API attempt {} failed, retrying: {}", api, attempt, e.getMessage());
+                sleep(backoffNanos(attempt), api);
+            }
+        }
+    }
+
+    /**
+     * Non-blocking {@link #call}: the request is subscribed once per attempt.
+     * Errors are the same as for {@link #call}.
+     */
+    public <T> Mono<T> callAsync(String api, Supplier<Mono<T>> request) {
+        Mono<T> attempt = Mono.defer(() -> {
+            if (!circuitBreaker.tryAcquire()) {
+                return Mono.error(new GoogleApiUnavailableException(api + " API unavailable: circuit open after repeated failures"));
+            }
+            long waitNanos = rateLimiter.reserve(rateLimitWait.toNanos());
+            if (waitNanos < 0) {
+                circuitBreaker.release();
+                return Mono.error(new GoogleApiUnavailableException(api + " API rate limit reached"));
+            }
+            Mono<T> call = waitNanos > 0
+                    ? Mono.delay(Duration.ofNanos(waitNanos)).then(Mono.defer(request))
+                    : Mono.defer(request);
+            return call
+                    .doOnSuccess(result -> circuitBreaker.onSuccess())
+                    .doOnError(e -> {
+                        if (isTransient(e)) circuitBreaker.onFailure();
+                        else circuitBreaker.onSuccess(); // Google answered, so the circuit stays closed
+                    })
+                    .doOnCancel(circuitBreaker::release);
+        });
+
+        return attempt.retryWhen(Retry.from(signals -> signals.concatMap(signal -> {
+            Throwable e = signal.failure();
+            int attempts = (int) signal.totalRetries() + 1;
+            if (e instanceof GoogleApiUnavailableException || !isTransient(e)) {
+                return Mono.error(e);
+            }
+            if (attempts >= maxAttempts) {
+                return Mono.error(new GoogleApiException(api + " API failed after " + attempts + " attempts: " + e.getMessage(), e));
+            }
+            log.debug("{} API attempt {} failed, retrying: {}", api, attempts, e.getMessage());
+            return Mono.delay(Duration.ofNanos(backoffNanos(attempts)));
+        }))).onErrorMap(e -> !(e instanceof GoogleApiException),
+                e -> new GoogleApiException(api + " API request failed: " + e.getMessage(), e));
+    }
+
+    public CircuitBreaker.State circuitState() {
+        return circuitBreaker.state();
+    }
+
+    private void acquire(String api) {
+        if (!circuitBreaker.tryAcquire()) {
+            throw new GoogleApiUnavailableException(api + " API unavailable: circuit open after repeated failures");
+        }
+        boolean permitted = false;
+        try {
+            permitted = rateLimiter.tryAcquire(rateLimitWait);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new GoogleApiUnavailableException(api + " API call interrupted");
+        } finally {
+            if (!permitted) circuitBreaker.release();
+        }
+        if (!permitted) {
+            throw new GoogleApiUnavailableException(api + " API rate limit reached");
+        }
+    }
+
+    /** Full jitter: uniform in [0, min(max, initial * 2^(attempt-1))]. */
+    private long backoffNanos(int attempt) {
+        long ceiling = initialBackoffNanos << Math.min(attempt - 1, 20);
+        ceiling = Math.min(maxBackoffNanos, ceiling);
+        return ceiling <= 0 ? 0 : ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    private static void sleep(long nanos, String api) {
+        try {
+            Thread.sleep(Duration.ofNanos(nanos));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new GoogleApiUnavailableException(api + " API call interrupted");
+        }
+    }
+
+    private static boolean isTransient(Throwable e) {
+        if (e instanceof GoogleApiException g) return g.isRetryable();
+        if (e instanceof ResourceAccessException || e instanceof WebClientRequestException
+                || e instanceof TimeoutException) return true;
+        if (e instanceof HttpStatusCodeException h) {
+            return h.getStatusCode().is5xxServerError() || h.getStatusCode().isSameCodeAs(HttpStatus.TOO_MANY_REQUESTS);
+        }
+        if (e instanceof WebClientResponseException w) {
+            return w.getStatusCode().is5xxServerError() || w.getStatusCode().isSameCodeAs(HttpStatus.TOO_MANY_REQUESTS);
+        }
+        return false;
+    }
+}
@@ -0,0 +1,12 @@
+package com.som.toll.client;
+
+/**
+ * A Google Maps API call was not attempted: the circuit breaker is open or the client-side rate
+ * limit had no permit within the allowed wait. Reported to clients as 503 Service Unavailable.
+ */
+public class GoogleApiUnavailableException extends GoogleApiException {
+
+    public GoogleApiUnavailableException(String message) {
+        super(message, false);
+    }
+}
@@ -0,0 +1,58 @@
+package com.som.toll.client;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.util.List;
+
+/**
+ * Request URLs (API key included) for the Google Maps APIs, shared by the blocking and the reactive client.
+ */
+@Component
+public class GoogleApiUrls {
+
+    @Value("${google.api.key}")
+    private String apiKey;
+
+    @Value("${google.api.distance-matrix-url:https://maps.googleapis.com/maps/api/distancematrix/json}")
+    private String distanceMatrixUrl;
+
+    @Value("${google.api.geocode-url:https://maps.googleapis.com/maps/api/geocode/json}")
+    private String geocodeUrl;
+
+    @Value("${google.api.directions-url:https://maps.googleapis.com/maps/api/directions/json}")
+    private String directionsUrl;
+
+    public String distanceMatrix(List<String> origins, List<String> destinations) {
+        return UriComponentsBuilder.fromUriString(distanceMatrixUrl)
+                .queryParam("origins", String.join("|", origins))
+                .queryParam("destinations", String.join("|", destinations))
+                .queryParam("key", apiKey)
+                .toUriString();
+    }
+
+    public String directions(String fromPincode, String toPincode) {
+        return UriComponentsBuilder.fromUriString(directionsUrl)
+                .queryParam("origin", fromPincode)
+                .queryParam("destination", toPincode)
+                .queryParam("key", apiKey)
+                .toUriString();
+    }
+
+    /** Geocode by free-text address; tried first. */
+    public String geocodeByAddress(String pincode) {
+        return UriComponentsBuilder.fromUriString(geocodeUrl)
+                .queryParam("address", pincode + ", India")
+                .queryParam("key", apiKey)
+                .toUriString();
+    }
+
+    /** Geocode by postal code component; the fallback when the address query finds nothing. */
+    public String geocodeByComponents(String pincode) {
+        return UriComponentsBuilder.fromUriString(geocodeUrl)
+                .queryParam("components", "country:IN|postal_code:" + pincode)
+                .queryParam("key", apiKey)
+                .toUriString();
+    }
+}
@@ -2,115 +2,86 @@ package com.som.toll.client;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.ResponseEntity;
+import com.som.toll.provider.Directions;
+import com.som.toll.provider.LatLng;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestTemplate;
-import org.springframework.web.util.UriComponentsBuilder;
 
+import java.util.List;
+
+/**
+ * Google Distance Matrix, Directions and Geocoding API calls. Every request goes through
+ * {@link GoogleApiGuard} (rate limit, circuit breaker, retries). Google-side failures surface as
+ * {@link GoogleApiException}; a pincode Google cannot resolve or route surfaces as
+ * IllegalArgumentException. {@link ReactiveGoogleMapsClient} is the non-blocking counterpart.
+ */
 @Component
 public class GoogleMapsClient {
 
-    private final RestTemplate restTemplate = new RestTemplate();
-    private final ObjectMapper mapper = new ObjectMapper();
-
-    @Value("${google.api.key}")
-    private String apiKey;
+    private static final Logger log = LoggerFactory.getLogger(GoogleMapsClient.class);
 
-    @Value("${google.api.distance-matrix-url:https://maps.googleapis.com/maps/api/distancematrix/json}")
-    private String distanceMatrixUrl;
+    private final RestTemplate restTemplate;
+    private final GoogleApiGuard guard;
+    private final GoogleApiUrls urls;
+    private final ObjectMapper mapper = new ObjectMapper();
 
-    @Value("${google.api.geocode-url:https://maps.googleapis.com/maps/api/geocode/json}")
-    private String geocodeUrl;
+    public GoogleMapsClient(@Qualifier("googleRestTemplate") RestTemplate restTemplate,
+                            GoogleApiGuard guard,
+                            GoogleApiUrls urls) {
+        this.restTemplate = restTemplate;
+        this.guard = guard;
+        this.urls = urls;
+    }
 
     /**
      * Fetch distance (km) between two pincodes using Google Distance Matrix API.
      */
     public double fetchDistanceKm(String fromPincode, String toPincode) {
-        try {
-            String url = UriComponentsBuilder.fromHttpUrl(distanceMatrixUrl)
-                    .queryParam("origins", fromPincode)
-                    .queryParam("destinations", toPincode)
-                    .queryParam("key", apiKey)
-                    .toUriString();
-
-            ResponseEntity<String> resp = restTemplate.getForEntity(url, String.class);
-            JsonNode root = mapper.readTree(resp.getBody());
-
-            String status = root.path("status").asText();
-            if (!"OK".equalsIgnoreCase(status)) {
-                throw new RuntimeException("Distance Matrix API error: " + status);
-            }
+        JsonNode root = getJson("Distance Matrix", urls.distanceMatrix(List.of(fromPincode), List.of(toPincode)));
+        return GoogleResponses.distanceKm(root, fromPincode, toPincode);
+    }
 
-            JsonNode element = root.path("rows").get(0).path("elements").get(0);
-            String elemStatus = element.path("status").asText();
-            if (!"OK".equalsIgnoreCase(elemStatus)) {
-                throw new RuntimeException("Distance Matrix element error: " + elemStatus);
-            }
+    /**
+     * Fetch distances (km) for several origins and destinations in one Distance Matrix call.
+     * Google allows at most 25 origins, 25 destinations and 100 elements per request.
+     * Result is indexed [origin][destination]; NaN where Google has no route for the element.
+     */
+    public double[][] fetchDistanceMatrixKm(List<String> origins, List<String> destinations) {
+        JsonNode root = getJson("Distance Matrix", urls.distanceMatrix(origins, destinations));
+        return GoogleResponses.distanceMatrixKm(root, origins.size(), destinations.size());
+    }
 
-            double distanceMeters = element.path("distance").path("value").asDouble();
-            return distanceMeters / 1000.0;
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to get distance from Google", e);
-        }
+    /**
+     * Fetch the driving route between two pincodes using Google Directions API:
+     * the encoded overview polyline and the total distance (km).
+     */
+    public Directions fetchDirections(String fromPincode, String toPincode) {
+        JsonNode root = getJson("Directions", urls.directions(fromPincode, toPincode));
+        return GoogleResponses.directions(root, fromPincode, toPincode);
     }
 
     /**
      * Geocode a pincode to lat/lng using Google Geocoding API.
      */
     public LatLng geocodePincode(String pincode) {
-    try {
-        // 1️⃣ First try with address
-        String url = UriComponentsBuilder.fromHttpUrl(geocodeUrl)
-                .queryParam("address", pincode + ", India")
-                .queryParam("key", apiKey)
-                .toUriString();
-
-        ResponseEntity<String> resp = restTemplate.getForEntity(url, String.class);
-        LatLng result = parseLatLngFromResponse(resp.getBody(), pincode);
+        // First try with address
+        LatLng result = GoogleResponses.latLng(getJson("Geocoding", urls.geocodeByAddress(pincode)));
         if (result != null) return result;
 
-        // 2️⃣ Fallback to components if address fails
-        String url2 = UriComponentsBuilder.fromHttpUrl(geocodeUrl)
-                .queryParam("components", "country:IN|postal_code:" + pincode)
-                .queryParam("key", apiKey)
-                .toUriString();
-
-        resp = restTemplate.getForEntity(url2, String.class);
-        result = parseLatLngFromResponse(resp.getBody(), pincode);
+        // Fallback to components if address fails
+        log.debug("No geocode by address for {}, trying postal code", pincode);
+        result = GoogleResponses.latLng(getJson("Geocoding", urls.geocodeByComponents(pincode)));
         if (result != null) return result;
 
-        throw new IllegalArgumentException("No geocoding result for: " + pincode);
-
-    } catch (Exception e) {
-        throw new IllegalArgumentException("Invalid pincode or geocoding failed for: " + pincode, e);
-    }
-}
-
-private LatLng parseLatLngFromResponse(String body, String pincode) throws Exception {
-    System.out.println("Geocode response for " + pincode + ":\n" + body);
-
-    JsonNode root = mapper.readTree(body);
-    String status = root.path("status").asText();
-
-    if (!"OK".equalsIgnoreCase(status)) {
-        return null; // let caller try fallback
+        throw GoogleResponses.noGeocode(pincode);
     }
 
-    JsonNode results = root.path("results");
-    if (!results.isArray() || results.isEmpty()) {
-        return null;
+    /** GET through the guard; transient error statuses in the body are retried like a 5xx. */
+    private JsonNode getJson(String api, String url) {
+        return guard.call(api, () -> GoogleResponses.checkRetryable(api,
+                mapper.readTree(restTemplate.getForObject(url, String.class))));
     }
-
-    JsonNode geometry = results.get(0).path("geometry").path("location");
-    double lat = geometry.path("lat").asDouble();
-    double lng = geometry.path("lng").asDouble();
-
-    return new LatLng(lat, lng);
-}
-
-    /**
-     * Simple record to hold lat/lng pair.
-     */
-    public record LatLng(double lat, double lng) {}
 }
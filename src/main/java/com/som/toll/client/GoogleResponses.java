@@ -0,0 +1,109 @@
+package com.som.toll.client;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.som.toll.provider.Directions;
+import com.som.toll.provider.LatLng;
+
+import java.util.Set;
+
+/**
+ * Parsing of Google Maps API response bodies, shared by the blocking and the reactive client.
+ * Google-side errors become {@link GoogleApiException}; a pincode Google cannot resolve or route
+ * becomes IllegalArgumentException.
+ */
+final class GoogleResponses {
+
+    // Transient statuses reported in a 200 body; retried like a 5xx
+    private static final Set<String> RETRYABLE_STATUSES = Set.of("OVER_QUERY_LIMIT", "UNKNOWN_ERROR");
+
+    private GoogleResponses() {}
+
+    /** Throws a retryable {@link GoogleApiException} for a transient status in the body. */
+    static JsonNode checkRetryable(String api, JsonNode root) {
+        String status = root.path("status").asText();
+        if (RETRYABLE_STATUSES.contains(status)) {
+            throw new GoogleApiException(api + " API returned " + status, true);
+        }
+        return root;
+    }
+
+    static double distanceKm(JsonNode root, String fromPincode, String toPincode) {
+        String status = root.path("status").asText();
+        if (!"OK".equalsIgnoreCase(status)) {
+            throw new GoogleApiException("Distance Matrix API error: " + status, false);
+        }
+
+        JsonNode element = root.path("rows").path(0).path("elements").path(0);
+        String elemStatus = element.path("status").asText();
+        if (!"OK".equalsIgnoreCase(elemStatus)) {
+            throw new IllegalArgumentException("No route between " + fromPincode + " and " + toPincode + ": " + elemStatus);
+        }
+
+        double distanceMeters = element.path("distance").path("value").asDouble();
+        return distanceMeters / 1000.0;
+    }
+
+    /** Indexed [origin][destination]; NaN where Google has no route for the element. */
+    static double[][] distanceMatrixKm(JsonNode root, int origins, int destinations) {
+        String status = root.path("status").asText();
+        if (!"OK".equalsIgnoreCase(status)) {
+            throw new GoogleApiException("Distance Matrix API error: " + status, false);
+        }
+
+        double[][] km = new double[origins][destinations];
+        for (int i = 0; i < origins; i++) {
+            JsonNode elements = root.path("rows").path(i).path("elements");
+            for (int j = 0; j < destinations; j++) {
+                JsonNode element = elements.path(j);
+                km[i][j] = "OK".equalsIgnoreCase(element.path("status").asText())
+                        ? element.path("distance").path("value").asDouble() / 1000.0
+                        : Double.NaN;
+            }
+        }
+        return km;
+    }
+
+    static Directions directions(JsonNode root, String fromPincode, String toPincode) {
+        String status = root.path("status").asText();
+        if ("ZERO_RESULTS".equalsIgnoreCase(status) || "NOT_FOUND".equalsIgnoreCase(status)) {
+            throw new IllegalArgumentException("No route between " + fromPincode + " and " + toPincode + ": " + status);
+        }
+        if (!"OK".equalsIgnoreCase(status)) {
+            throw new GoogleApiException("Directions API error: " + status, false);
+        }
+
+        JsonNode route = root.path("routes").path(0);
+        String polyline = route.path("overview_polyline").path("points").asText();
+        if (polyline.isEmpty()) {
+            throw new GoogleApiException("Directions API returned no polyline", false);
+        }
+        double distanceMeters = 0;
+        for (JsonNode leg : route.path("legs")) {
+            distanceMeters += leg.path("distance").path("value").asDouble();
+        }
+        return new Directions(polyline, distanceMeters / 1000.0);
+    }
+
+    /** The first result's location, or null when Google found nothing (the caller may try another query). */
+    static LatLng latLng(JsonNode root) {
+        String status = root.path("status").asText();
+        if ("ZERO_RESULTS".equalsIgnoreCase(status)) {
+            return null;
+        }
+        if (!"OK".equalsIgnoreCase(status)) {
+            throw new GoogleApiException("Geocoding API error: " + status, false);
+        }
+
+        JsonNode results = root.path("results");
+        if (!results.isArray() || results.isEmpty()) {
+            return null;
+        }
+
+        JsonNode geometry = results.get(0).path("geometry").path("location");
+        return new LatLng(geometry.path("lat").asDouble(), geometry.path("lng").asDouble());
+    }
+
+    static IllegalArgumentException noGeocode(String pincode) {
+        return new IllegalArgumentException("Invalid pincode, no geocoding result for: " + pincode);
+    }
+}
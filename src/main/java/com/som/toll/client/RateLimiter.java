@@ -0,0 +1,56 @@
+package com.som.toll.client;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket: permitsPerSecond sustained, up to burst at once after a quiet period.
+ * A caller that finds the bucket empty reserves the next token and sleeps until it is due,
+ * unless that is further away than its maximum wait.
+ */
+public final class RateLimiter {
+
+    private final double permitsPerNano;
+    private final double burst;
+    private final LongSupplier clock;
+
+    private double tokens;
+    private long refilledAt;
+
+    public RateLimiter(double permitsPerSecond, int burst) {
+        this(permitsPerSecond, burst, System::nanoTime);
+    }
+
+    RateLimiter(double permitsPerSecond, int burst, LongSupplier clock) {
+        if (permitsPerSecond <= 0 || burst < 1) throw new IllegalArgumentException("Rate and burst must be positive");
+        this.permitsPerNano = permitsPerSecond / 1e9;
+        this.burst = burst;
+        this.clock = clock;
+        this.tokens = burst;
+        this.refilledAt = clock.getAsLong();
+    }
+
+    /**
+     * Takes a permit, sleeping for it if needed.
+     *
+     * @return false, without taking a permit, when none is available within maxWait
+     */
+    public boolean tryAcquire(Duration maxWait) throws InterruptedException {
+        long waitNanos = reserve(maxWait.toNanos());
+        if (waitNanos < 0) return false;
+        if (waitNanos > 0) Thread.sleep(Duration.ofNanos(waitNanos));
+        return true;
+    }
+
+    /** Nanoseconds until the reserved permit is due, or -1 when that exceeds maxWaitNanos. */
+    synchronized long reserve(long maxWaitNanos) {
+        long now = clock.getAsLong();
+        tokens = Math.min(burst, tokens + (now - refilledAt) * permitsPerNano);
+        refilledAt = now;
+        // tokens may go negative: each reservation queues behind the ones before it
+        long waitNanos = tokens >= 1 ? 0 : (long) Math.ceil((1 - tokens) / permitsPerNano);
+        if (waitNanos > maxWaitNanos) return -1;
+        tokens -= 1;
+        return waitNanos;
+    }
+}
@@ -0,0 +1,73 @@
+package com.som.toll.client;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.som.toll.provider.Directions;
+import com.som.toll.provider.LatLng;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.util.List;
+
+/**
+ * Non-blocking {@link GoogleMapsClient} on WebClient, for the reactive request path: same
+ * requests, same response handling and the same {@link GoogleApiGuard} (one rate limit and one
+ * circuit breaker whichever client makes the call).
+ */
+@Component
+@Profile("reactive")
+public class ReactiveGoogleMapsClient {
+
+    private final WebClient webClient;
+    private final GoogleApiGuard guard;
+    private final GoogleApiUrls urls;
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    public ReactiveGoogleMapsClient(@Qualifier("googleWebClient") WebClient webClient,
+                                    GoogleApiGuard guard,
+                                    GoogleApiUrls urls) {
+        this.webClient = webClient;
+        this.guard = guard;
+        this.urls = urls;
+    }
+
+    public Mono<Double> fetchDistanceKm(String fromPincode, String toPincode) {
+        return getJson("Distance Matrix", urls.distanceMatrix(List.of(fromPincode), List.of(toPincode)))
+                .map(root -> GoogleResponses.distanceKm(root, fromPincode, toPincode));
+    }
+
+    public Mono<Directions> fetchDirections(String fromPincode, String toPincode) {
+        return getJson("Directions", urls.directions(fromPincode, toPincode))
+                .map(root -> GoogleResponses.directions(root, fromPincode, toPincode));
+    }
+
+    /** Address query first, then the postal code query when the address finds nothing. */
+    public Mono<LatLng> geocodePincode(String pincode) {
+        return getJson("Geocoding", urls.geocodeByAddress(pincode))
+                .flatMap(root -> Mono.justOrEmpty(GoogleResponses.latLng(root)))
+                .switchIfEmpty(Mono.defer(() -> getJson("Geocoding", urls.geocodeByComponents(pincode))
+                        .flatMap(root -> Mono.justOrEmpty(GoogleResponses.latLng(root)))))
+                .switchIfEmpty(Mono.error(() -> GoogleResponses.noGeocode(pincode)));
+    }
+
+    /** GET through the guard; transient error statuses in the body are retried like a 5xx. */
+    private Mono<JsonNode> getJson(String api, String url) {
+        // the URL is already encoded
+        URI uri = URI.create(url);
+        return guard.callAsync(api, () -> webClient.get().uri(uri)
+                .retrieve()
+                .bodyToMono(String.class)
+                .map(body -> {
+                    try {
+                        return GoogleResponses.checkRetryable(api, mapper.readTree(body));
+                    } catch (JsonProcessingException e) {
+                        throw new GoogleApiException(api + " API returned malformed JSON: " + e.getOriginalMessage(), e);
+                    }
+                }));
+    }
+}
@@ -0,0 +1,70 @@
+package com.som.toll.config;
+
+import com.som.toll.observability.MdcPropagatingExecutorService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.task.ThreadPoolTaskExecutorBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.scheduling.annotation.AsyncAnnotationBeanPostProcessor;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Executors for lookups, plus @Async (applicationTaskExecutor) for startup jobs such as the CSV loaders
+ * and @Scheduled for periodic jobs such as the toll CSV reload poll.
+ * Tasks on all of them run with the submitter's MDC, so the request's correlation ID follows its lookups.
+ */
+@EnableAsync
+@EnableScheduling
+@Configuration
+public class ConcurrencyConfig {
+
+    /**
+     * Virtual threads for blocking external lookups (Google, MySQL); one thread per task.
+     */
+    @Bean(destroyMethod = "close")
+    public ExecutorService lookupExecutor() {
+        return new MdcPropagatingExecutorService(Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    /**
+     * Background route cache refreshes: a few platform threads and a bounded queue, so revalidation
+     * never competes with request traffic for more than those threads. Submissions beyond the queue
+     * are rejected and the caller drops them.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService refreshExecutor(@Value("${toll.cache.refresh.threads:2}") int threads,
+                                           @Value("${toll.cache.refresh.queue-capacity:1000}") int queueCapacity) {
+        return new MdcPropagatingExecutorService(new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(queueCapacity),
+                Thread.ofPlatform().name("route-refresh-", 0).daemon(true).factory(),
+                new ThreadPoolExecutor.AbortPolicy()));
+    }
+
+    /**
+     * Runs @Async methods and async MVC responses such as the streaming batch endpoint. Declared
+     * here because Boot only auto-configures it when no other Executor bean exists, and the lookup
+     * and refresh executors above are Executor beans. Built from Boot's builder, so the
+     * spring.task.execution.* properties and {@link #mdcTaskDecorator()} still apply.
+     */
+    @Bean(name = {TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME,
+            AsyncAnnotationBeanPostProcessor.DEFAULT_TASK_EXECUTOR_BEAN_NAME})
+    public ThreadPoolTaskExecutor applicationTaskExecutor(ThreadPoolTaskExecutorBuilder builder) {
+        return builder.build();
+    }
+
+    /** Applied by the builder to applicationTaskExecutor. */
+    @Bean
+    public TaskDecorator mdcTaskDecorator() {
+        return MdcPropagatingExecutorService::wrap;
+    }
+}
@@ -0,0 +1,48 @@
+package com.som.toll.config;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+
+/**
+ * HTTP client for the Google Maps APIs: one shared JDK HttpClient (keep-alive connection pool,
+ * HTTP/2 where Google offers it) with connect and read timeouts, so a slow Google response
+ * holds a request thread for at most the read timeout per attempt.
+ * The reactive profile adds a WebClient on Reactor Netty with the same timeouts.
+ */
+@Configuration
+public class GoogleClientConfig {
+
+    @Bean
+    public RestTemplate googleRestTemplate(@Value("${google.http.connect-timeout:2s}") Duration connectTimeout,
+                                           @Value("${google.http.read-timeout:4s}") Duration readTimeout) {
+        HttpClient httpClient = HttpClient.newBuilder()
+                .connectTimeout(connectTimeout)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+        var requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(readTimeout);
+        return new RestTemplate(requestFactory);
+    }
+
+    @Bean
+    @Profile("reactive")
+    public WebClient googleWebClient(WebClient.Builder builder,
+                                     @Value("${google.http.connect-timeout:2s}") Duration connectTimeout,
+                                     @Value("${google.http.read-timeout:4s}") Duration readTimeout) {
+        var httpClient = reactor.netty.http.client.HttpClient.create()
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+                .responseTimeout(readTimeout)
+                .followRedirect(true);
+        return builder.clientConnector(new ReactorClientHttpConnector(httpClient)).build();
+    }
+}
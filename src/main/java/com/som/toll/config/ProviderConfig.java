@@ -0,0 +1,52 @@
+package com.som.toll.config;
+
+import com.som.toll.client.GoogleMapsClient;
+import com.som.toll.provider.*;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.core.io.Resource;
+
+/**
+ * Geocoding and distance providers. toll.provider selects the primary one (google or offline);
+ * toll.provider.fallback=offline adds the offline provider as a fallback for when Google fails
+ * (circuit open, quota exhausted, outage).
+ */
+@Configuration
+public class ProviderConfig {
+
+    /** One centroid table for every bean that uses it; lazy, so it is only read when configured. */
+    @Bean
+    @Lazy
+    public OfflineProvider offlineProvider(@Value("${toll.pincode.csv.path:classpath:pincode_centroids.csv}") Resource centroids,
+                                           @Value("${toll.provider.offline.road-factor:1.3}") double roadFactor) {
+        return OfflineProvider.fromCsv(centroids, roadFactor);
+    }
+
+    @Bean
+    public GeoProvider geoProvider(@Value("${toll.provider:google}") ProviderType type, GoogleMapsClient mapsClient,
+                                   ObjectProvider<OfflineProvider> offline) {
+        return type == ProviderType.OFFLINE ? offline.getObject() : new GoogleMapsProvider(mapsClient);
+    }
+
+    @Bean
+    public DistanceProvider distanceProvider(@Value("${toll.provider:google}") ProviderType type, GoogleMapsClient mapsClient,
+                                             ObjectProvider<OfflineProvider> offline) {
+        return type == ProviderType.OFFLINE ? offline.getObject() : new GoogleMapsProvider(mapsClient);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "toll.provider.fallback", havingValue = "offline")
+    public GeoProvider fallbackGeoProvider(OfflineProvider offline) {
+        return offline;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "toll.provider.fallback", havingValue = "offline")
+    public DistanceProvider fallbackDistanceProvider(OfflineProvider offline) {
+        return offline;
+    }
+}
@@ -0,0 +1,37 @@
+package com.som.toll.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Reactive profile infrastructure (application-reactive.properties switches the application to WebFlux).
+ */
+@Configuration
+@Profile("reactive")
+public class ReactiveConfig {
+
+    /**
+     * Netty rather than the reactive adapter for Tomcat, which Boot would pick first because
+     * the servlet stack is on the classpath as well.
+     */
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    /**
+     * The CPU-bound corridor computation runs here, a fixed set of threads (0 = number of CPU
+     * cores), so it neither blocks event loop threads nor competes with the blocking database
+     * calls on Reactor's boundedElastic scheduler.
+     */
+    @Bean(destroyMethod = "dispose")
+    public Scheduler computeScheduler(@Value("${toll.reactive.compute-parallelism:0}") int parallelism) {
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        return Schedulers.newParallel("toll-compute", threads, true);
+    }
+}
@@ -0,0 +1,86 @@
+package com.som.toll.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.som.toll.dto.BatchItemResult;
+import com.som.toll.dto.TollPlazaDto;
+import com.som.toll.dto.TollPlazaResponse;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Locale;
+
+/**
+ * Wire formats of the streaming batch endpoint. Each item is written as soon as it is ready.
+ */
+enum BatchStreamFormat {
+
+    /** One BatchItemResult JSON object per line. */
+    NDJSON("application/x-ndjson") {
+        @Override
+        void writeHeader(Writer out) {
+        }
+
+        @Override
+        void write(BatchItemResult item, Writer out, ObjectMapper mapper) throws IOException {
+            out.write(mapper.writeValueAsString(item));
+            out.write('\n');
+        }
+    },
+
+    /** One row per toll plaza (fee blank when unknown); a pair without plazas, or a failed pair, gets a single row. */
+    CSV("text/csv") {
+        @Override
+        void writeHeader(Writer out) throws IOException {
+            out.write("sourcePincode,destinationPincode,distanceInKm,plazaName,latitude,longitude,"
+                    + "distanceFromSource,geoState,fee,error\n");
+        }
+
+        @Override
+        void write(BatchItemResult item, Writer out, ObjectMapper mapper) throws IOException {
+            String pair = field(item.getSourcePincode()) + "," + field(item.getDestinationPincode()) + ",";
+            TollPlazaResponse result = item.getResult();
+            if (result == null) {
+                out.write(pair + ",,,,,,," + field(item.getError()) + "\n");
+                return;
+            }
+            String distance = String.valueOf(result.getRoute().getDistanceInKm());
+            if (result.getTollPlazas().isEmpty()) {
+                out.write(pair + distance + ",,,,,,,\n");
+                return;
+            }
+            for (TollPlazaDto p : result.getTollPlazas()) {
+                out.write(pair + distance + "," + field(p.getName()) + "," + p.getLatitude() + ","
+                        + p.getLongitude() + "," + p.getDistanceFromSource() + "," + field(p.getGeoState()) + ","
+                        + (p.getFee() == null ? "" : p.getFee()) + ",\n");
+            }
+        }
+    };
+
+    private final String contentType;
+
+    BatchStreamFormat(String contentType) {
+        this.contentType = contentType;
+    }
+
+    String contentType() {
+        return contentType;
+    }
+
+    abstract void writeHeader(Writer out) throws IOException;
+
+    abstract void write(BatchItemResult item, Writer out, ObjectMapper mapper) throws IOException;
+
+    static BatchStreamFormat of(String name) {
+        try {
+            return valueOf(name.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unsupported format: " + name + " (use ndjson or csv)");
+        }
+    }
+
+    private static String field(String value) {
+        if (value == null) return "";
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) return value;
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,114 @@
+package com.som.toll.controller;
+
+import com.som.toll.client.GoogleApiException;
+import com.som.toll.client.GoogleApiUnavailableException;
+import com.som.toll.dto.TollPlazaRequest;
+import com.som.toll.service.ReactiveTollPlazaService;
+import com.som.toll.service.RouteLookupTimeoutException;
+import com.som.toll.service.TollCostService;
+import com.som.toll.service.TollPlazaBatchService;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ServerWebInputException;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+import static com.som.toll.observability.ReactiveCorrelationIdFilter.withMdc;
+
+/**
+ * Reactive handlers for the /api/v1/toll-plazas contract (see {@link ReactiveTollPlazaRouter}):
+ * same requests, responses and error bodies as {@link TollPlazaController} and the global exception handler.
+ */
+@Component
+@Profile("reactive")
+public class ReactiveTollPlazaHandler {
+
+    private static final Logger log = LoggerFactory.getLogger(ReactiveTollPlazaHandler.class);
+
+    private final ReactiveTollPlazaService tollPlazaService;
+    private final TollPlazaBatchService batchService;
+    private final TollCostService costService;
+    private final Validator validator;
+
+    public ReactiveTollPlazaHandler(ReactiveTollPlazaService tollPlazaService,
+                                    TollPlazaBatchService batchService,
+                                    TollCostService costService,
+                                    Validator validator) {
+        this.tollPlazaService = tollPlazaService;
+        this.batchService = batchService;
+        this.costService = costService;
+        this.validator = validator;
+    }
+
+    public Mono<ServerResponse> getTollPlazas(ServerRequest request) {
+        boolean refresh = request.queryParam("refresh").map(Boolean::parseBoolean).orElse(false);
+        return request.bodyToMono(TollPlazaRequest.class)
+                .switchIfEmpty(Mono.error(() -> new IllegalArgumentException("Request body is required")))
+                .flatMap(body -> {
+                    String invalid = firstViolation(body);
+                    if (invalid != null) return error(HttpStatus.BAD_REQUEST, invalid);
+                    String src = body.getSourcePincode();
+                    String dst = body.getDestinationPincode();
+                    if (src.equals(dst)) {
+                        return error(HttpStatus.BAD_REQUEST, "Source and destination pincodes cannot be the same");
+                    }
+                    return tollPlazaService.findTollsOnRoute(src, dst, refresh)
+                            .map(response -> costService.price(response, body))
+                            .flatMap(response -> ServerResponse.ok().bodyValue(response));
+                })
+                .onErrorResume(this::handleError);
+    }
+
+    /** Runs the blocking batch service on boundedElastic; it parallelises on its own executor. */
+    public Mono<ServerResponse> getTollPlazasBatch(ServerRequest request) {
+        return request.bodyToMono(new ParameterizedTypeReference<List<TollPlazaRequest>>() {})
+                .defaultIfEmpty(List.of())
+                .flatMap(requests -> withMdc(() -> batchService.process(requests))
+                        .subscribeOn(Schedulers.boundedElastic()))
+                .flatMap(response -> ServerResponse.ok().bodyValue(response))
+                .onErrorResume(this::handleError);
+    }
+
+    private String firstViolation(TollPlazaRequest body) {
+        return validator.validate(body).stream()
+                .min(Comparator.comparing(v -> v.getPropertyPath().toString()))
+                .map(ConstraintViolation::getMessage)
+                .orElse(null);
+    }
+
+    private Mono<ServerResponse> handleError(Throwable e) {
+        if (e instanceof IllegalArgumentException || e instanceof ServerWebInputException) {
+            return error(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+        if (e instanceof GoogleApiUnavailableException) {
+            log.warn("Google Maps API unavailable: {}", e.getMessage());
+            return error(HttpStatus.SERVICE_UNAVAILABLE, "Route service temporarily unavailable, please retry");
+        }
+        if (e instanceof RouteLookupTimeoutException) {
+            log.warn("Route lookups timed out: {}", e.getMessage());
+            return error(HttpStatus.GATEWAY_TIMEOUT, "Route service timed out, please retry");
+        }
+        if (e instanceof GoogleApiException) {
+            log.warn("Google Maps API failure: {}", e.getMessage());
+            return error(HttpStatus.BAD_GATEWAY, "Route service error");
+        }
+        log.error("Toll plaza lookup failed", e);
+        return error(HttpStatus.INTERNAL_SERVER_ERROR, "Internal server error");
+    }
+
+    private static Mono<ServerResponse> error(HttpStatus status, String message) {
+        return ServerResponse.status(status).bodyValue(Map.of("error", message));
+    }
+}
@@ -0,0 +1,27 @@
+package com.som.toll.controller;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import static org.springframework.web.reactive.function.server.RouterFunctions.route;
+
+/**
+ * Routes of the reactive profile (WebFlux on Netty). The streaming batch endpoint is only
+ * served by the servlet stack.
+ */
+@Configuration
+@Profile("reactive")
+public class ReactiveTollPlazaRouter {
+
+    @Bean
+    public RouterFunction<ServerResponse> tollPlazaRoutes(ReactiveTollPlazaHandler handler) {
+        return route()
+                .path("/api/v1/toll-plazas", builder -> builder
+                        .POST("", handler::getTollPlazas)
+                        .POST("/batch", handler::getTollPlazasBatch))
+                .build();
+    }
+}
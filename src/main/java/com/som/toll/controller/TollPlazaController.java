@@ -1,31 +1,52 @@
 package com.som.toll.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.som.toll.dto.*;
-import com.som.toll.service.GeocodingService;
-import com.som.toll.service.RouteService;
+import com.som.toll.service.RouteInputResolver;
+import com.som.toll.service.TollCostService;
+import com.som.toll.service.TollPlazaBatchService;
 import com.som.toll.service.TollPlazaService;
 import jakarta.validation.Valid;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Servlet (Spring MVC) endpoints; the reactive profile serves the same contract through
+ * {@link ReactiveTollPlazaRouter}.
+ */
 @RestController
+@Profile("!reactive")
 @RequestMapping("/api/v1/toll-plazas")
 public class TollPlazaController {
 
-    private final GeocodingService geocodingService;
-    private final RouteService routeService;
+    private final RouteInputResolver inputResolver;
     private final TollPlazaService tollPlazaService;
+    private final TollPlazaBatchService batchService;
+    private final TollCostService costService;
+    private final ObjectMapper mapper;
 
-    public TollPlazaController(GeocodingService geocodingService,
-                               RouteService routeService,
-                               TollPlazaService tollPlazaService) {
-        this.geocodingService = geocodingService;
-        this.routeService = routeService;
+    public TollPlazaController(RouteInputResolver inputResolver,
+                               TollPlazaService tollPlazaService,
+                               TollPlazaBatchService batchService,
+                               TollCostService costService,
+                               ObjectMapper mapper) {
+        this.inputResolver = inputResolver;
         this.tollPlazaService = tollPlazaService;
+        this.batchService = batchService;
+        this.costService = costService;
+        this.mapper = mapper;
     }
 
     @PostMapping
-    public ResponseEntity<?> getTollPlazas(@Valid @RequestBody TollPlazaRequest request) {
+    public ResponseEntity<?> getTollPlazas(@Valid @RequestBody TollPlazaRequest request,
+                                           @RequestParam(defaultValue = "false") boolean refresh) {
         String src = request.getSourcePincode();
         String dst = request.getDestinationPincode();
 
@@ -33,19 +54,46 @@ public class TollPlazaController {
             return ResponseEntity.badRequest().body(new ErrorDto("Source and destination pincodes cannot be the same"));
         }
 
-        // Geocode
-        double[] srcLatLng = geocodingService.geocode(src);
-        double[] dstLatLng = geocodingService.geocode(dst);
-
-        // Route distance (km)
-        double distanceKm = routeService.distanceKm(src, dst);
+        // Cached pairs return straight away; geocoding and distance only run on a miss or refresh
+        TollPlazaResponse response = tollPlazaService.findTollsOnRoute(src, dst,
+                () -> inputResolver.resolve(src, dst), refresh);
 
-        RouteDto route = new RouteDto(src, dst, distanceKm);
+        return ResponseEntity.ok(costService.price(response, request));
+    }
 
-        // Compute (with DB cache)
-        TollPlazaResponse response = tollPlazaService.findTollsOnRouteCached(route, srcLatLng, dstLatLng);
+    /**
+     * Many pincode pairs in one request. Invalid or failing pairs are reported per item.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<BatchTollPlazaResponse> getTollPlazasBatch(@RequestBody List<TollPlazaRequest> requests) {
+        return ResponseEntity.ok(batchService.process(requests));
+    }
 
-        return ResponseEntity.ok(response);
+    /**
+     * Streaming variant of the batch endpoint for large jobs: results are written as NDJSON or CSV
+     * while they are computed, and a slow client slows down computation rather than growing the heap.
+     */
+    @PostMapping("/batch/stream")
+    public ResponseEntity<StreamingResponseBody> streamTollPlazasBatch(@RequestBody List<TollPlazaRequest> requests,
+                                                                       @RequestParam(defaultValue = "ndjson") String format) {
+        BatchStreamFormat streamFormat = BatchStreamFormat.of(format);
+        batchService.checkStreamSize(requests); // before the body: a failure inside it would follow a 200
+        StreamingResponseBody body = output -> {
+            Writer out = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+            streamFormat.writeHeader(out);
+            batchService.stream(requests, item -> {
+                try {
+                    streamFormat.write(item, out, mapper);
+                    out.flush(); // blocks while the client is not reading
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            out.flush();
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(streamFormat.contentType()))
+                .body(body);
     }
 
     // Small inline DTO for errors to match assignment examples
@@ -0,0 +1,17 @@
+package com.som.toll.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchItemResult {
+    private String sourcePincode;
+    private String destinationPincode;
+    private TollPlazaResponse result;  // null when the pair failed
+    private String error;              // null when the pair succeeded
+}
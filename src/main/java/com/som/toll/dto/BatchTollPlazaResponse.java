@@ -0,0 +1,16 @@
+package com.som.toll.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchTollPlazaResponse {
+    private int succeeded;
+    private int failed;
+    private List<BatchItemResult> results; // same order as the request
+}
@@ -0,0 +1,20 @@
+package com.som.toll.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Route toll cost for one vehicle class and journey type. The total covers the plazas with a
+ * known fee; unpricedPlazas counts the others.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TollCostDto {
+    private String vehicleClass;
+    private String journeyType;
+    private String currency;
+    private int total;
+    private int unpricedPlazas;
+}
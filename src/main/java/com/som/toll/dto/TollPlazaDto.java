@@ -1,5 +1,6 @@
 package com.som.toll.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -13,4 +14,10 @@ public class TollPlazaDto {
     private double longitude;
     private double distanceFromSource; // km
     private String geoState;           // NEW field
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Integer fee;               // INR for the requested vehicle class and journey; null when no rate is known
+
+    public TollPlazaDto(String name, double latitude, double longitude, double distanceFromSource, String geoState) {
+        this(name, latitude, longitude, distanceFromSource, geoState, null);
+    }
 }
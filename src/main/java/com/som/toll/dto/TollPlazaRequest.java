@@ -1,6 +1,7 @@
 package com.som.toll.dto;
 
-
+import com.som.toll.rate.JourneyType;
+import com.som.toll.rate.VehicleClass;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Pattern;
 import lombok.Data;
@@ -15,5 +16,12 @@ public class TollPlazaRequest {
     @NotBlank(message = "destinationPincode is required")
     @Pattern(regexp = "^[1-9][0-9]{5}$", message = "destinationPincode must be a valid 6-digit Indian pincode")
     private String destinationPincode;
+
+    // optional; the response is priced for a car's single journey when absent
+    @Pattern(regexp = VehicleClass.PATTERN, message = "vehicleClass must be one of car, lcv, bus, truck, multi-axle")
+    private String vehicleClass;
+
+    @Pattern(regexp = JourneyType.PATTERN, message = "journeyType must be one of single, return, monthly")
+    private String journeyType;
 }
 
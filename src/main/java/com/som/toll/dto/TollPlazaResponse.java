@@ -1,8 +1,13 @@
 package com.som.toll.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.som.toll.rate.RouteCosts;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 import java.util.List;
 
@@ -12,5 +17,14 @@ import java.util.List;
 public class TollPlazaResponse {
     private RouteDto route;
     private List<TollPlazaDto> tollPlazas;
-}
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private TollCostDto cost;          // set when the response is priced for a request
+    @JsonIgnore
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private RouteCosts routeCosts;     // fees of every vehicle class and journey, cached with the route
 
+    public TollPlazaResponse(RouteDto route, List<TollPlazaDto> tollPlazas) {
+        this(route, tollPlazas, null, null);
+    }
+}
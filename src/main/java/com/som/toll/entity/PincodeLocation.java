@@ -0,0 +1,30 @@
+package com.som.toll.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "pincode_location")
+@Getter @Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PincodeLocation {
+
+    @Id
+    @Column(length = 6)
+    private String pincode;
+
+    @Column(nullable = false)
+    private Double latitude;
+
+    @Column(nullable = false)
+    private Double longitude;
+
+    @Column(nullable = false, length = 16)
+    private String source;     // CSV or GOOGLE
+
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,38 @@
+package com.som.toll.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Fees at one plaza for one vehicle class, in whole rupees. Return-journey and monthly-pass
+ * fees are optional; when absent they are derived from the single-journey fee (see RateTable).
+ */
+@Entity
+@Table(name = "toll_rate",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"plaza_name", "geo_state", "vehicle_class"}))
+@Getter @Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TollRate {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String plazaName;
+
+    @Column(nullable = false)
+    private String geoState;
+
+    @Column(nullable = false, length = 16)
+    private String vehicleClass;   // VehicleClass code
+
+    @Column(nullable = false)
+    private Integer singleJourney;
+
+    private Integer returnJourney;
+
+    private Integer monthlyPass;
+}
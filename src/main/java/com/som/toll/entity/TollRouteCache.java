@@ -6,7 +6,10 @@ import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "toll_route_cache")
+@Table(name = "toll_route_cache", indexes = {
+        @Index(name = "uk_route_cache_pair", columnList = "sourcePincode, destinationPincode", unique = true),
+        @Index(name = "idx_route_cache_created", columnList = "createdAt")
+})
 @Builder
 @Data
 @NoArgsConstructor
@@ -17,12 +20,35 @@ public class TollRouteCache {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    @Column(length = 6)
     private String sourcePincode;
+    @Column(length = 6)
     private String destinationPincode;
 
+    // Legacy JSON form; new rows only fill responseBlob
     @Lob
     @Column(columnDefinition = "LONGTEXT")  // <-- important
     private String responseJson;
 
+    // RouteResponseCodec form: plaza ids and distances, rehydrated from the plaza table
+    @Lob
+    @Column(columnDefinition = "MEDIUMBLOB")
+    private byte[] responseBlob;
+
     private LocalDateTime createdAt;
+
+    // Route endpoints and the corridor's bounding box, so a plaza data change can find the
+    // entries it affects. Null on rows written before these columns existed.
+    private Double sourceLat;
+    private Double sourceLng;
+    private Double destinationLat;
+    private Double destinationLng;
+    private Double minLat;
+    private Double maxLat;
+    private Double minLng;
+    private Double maxLng;
+    // GREAT_CIRCLE or POLYLINE: only great-circle corridors can be rebuilt from the endpoints
+    private String corridorMode;
+    // Length of the polyline the distances were measured along (POLYLINE only)
+    private Double pathLengthKm;
 }
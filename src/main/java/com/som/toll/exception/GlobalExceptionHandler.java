@@ -1,5 +1,10 @@
 package com.som.toll.exception;
 
+import com.som.toll.client.GoogleApiException;
+import com.som.toll.client.GoogleApiUnavailableException;
+import com.som.toll.service.RouteLookupTimeoutException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -12,6 +17,8 @@ import java.util.Map;
 @ControllerAdvice
 public class GlobalExceptionHandler {
 
+    private static final Logger log = LoggerFactory.getLogger(GlobalExceptionHandler.class);
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<?> handleValidation(MethodArgumentNotValidException ex) {
         FieldError fe = ex.getBindingResult().getFieldError();
@@ -25,6 +32,27 @@ public class GlobalExceptionHandler {
                 .body(Map.of("error", ex.getMessage()));
     }
 
+    @ExceptionHandler(GoogleApiUnavailableException.class)
+    public ResponseEntity<?> handleGoogleUnavailable(GoogleApiUnavailableException ex) {
+        log.warn("Google Maps API unavailable: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(Map.of("error", "Route service temporarily unavailable, please retry"));
+    }
+
+    @ExceptionHandler(RouteLookupTimeoutException.class)
+    public ResponseEntity<?> handleLookupTimeout(RouteLookupTimeoutException ex) {
+        log.warn("Route lookups timed out: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT)
+                .body(Map.of("error", "Route service timed out, please retry"));
+    }
+
+    @ExceptionHandler(GoogleApiException.class)
+    public ResponseEntity<?> handleGoogle(GoogleApiException ex) {
+        log.warn("Google Maps API failure: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.BAD_GATEWAY)
+                .body(Map.of("error", "Route service error"));
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<?> handleGeneric(Exception ex) {
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
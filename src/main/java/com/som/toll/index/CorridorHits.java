@@ -0,0 +1,51 @@
+package com.som.toll.index;
+
+import java.util.Arrays;
+
+/**
+ * Growable primitive buffer of (plaza slot, distance from source) pairs produced by a corridor scan.
+ */
+public final class CorridorHits {
+
+    private int[] slots = new int[32];
+    private double[] distances = new double[32];
+    private int size;
+    private int candidates;
+
+    public void add(int slot, double distanceKm) {
+        if (size == slots.length) {
+            slots = Arrays.copyOf(slots, size * 2);
+            distances = Arrays.copyOf(distances, size * 2);
+        }
+        slots[size] = slot;
+        distances[size] = distanceKm;
+        size++;
+    }
+
+    public int size() { return size; }
+
+    /** Plazas the scan tested against the corridor (inside its bounding box), hits included. */
+    public int candidates() { return candidates; }
+
+    void candidates(int count) { candidates = count; }
+
+    public int slot(int i) { return slots[i]; }
+
+    public double distanceKm(int i) { return distances[i]; }
+
+    /** Insertion sort by distance; hit lists are a few dozen entries at most. */
+    public void sortByDistance() {
+        for (int i = 1; i < size; i++) {
+            int s = slots[i];
+            double d = distances[i];
+            int j = i - 1;
+            while (j >= 0 && distances[j] > d) {
+                slots[j + 1] = slots[j];
+                distances[j + 1] = distances[j];
+                j--;
+            }
+            slots[j + 1] = s;
+            distances[j + 1] = d;
+        }
+    }
+}
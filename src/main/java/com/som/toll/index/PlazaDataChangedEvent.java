@@ -0,0 +1,6 @@
+package com.som.toll.index;
+
+/**
+ * Published whenever the toll_plaza table has been written, so the in-memory index is rebuilt.
+ */
+public record PlazaDataChangedEvent(String reason) {}
@@ -0,0 +1,66 @@
+package com.som.toll.index;
+
+import com.som.toll.entity.TollPlaza;
+import com.som.toll.util.GeoUtils;
+import com.som.toll.util.PlazaNames;
+
+import java.util.*;
+
+/**
+ * Collapses duplicate rows of the plaza table into one canonical plaza each: same normalized
+ * name within 100m (which includes exact repeats). Rows are visited in id order, so the
+ * canonical plaza of a group is its lowest id and stays stable across rebuilds.
+ */
+public final class PlazaDeduplicator {
+
+    static final double SAME_PLAZA_METERS = 100.0;
+
+    private PlazaDeduplicator() {}
+
+    /** One row folded into a canonical plaza. */
+    public record MergedDuplicate(long canonicalId,
+                                  long duplicateId,
+                                  String canonicalName,
+                                  String duplicateName,
+                                  double distanceMeters) {}
+
+    public record Result(List<TollPlaza> canonical, List<MergedDuplicate> merged) {}
+
+    public static Result deduplicate(List<TollPlaza> plazas) {
+        List<TollPlaza> ordered = plazas.stream()
+                .filter(p -> p.getLatitude() != null && p.getLongitude() != null)
+                .sorted(Comparator.comparing(TollPlaza::getId, Comparator.nullsLast(Comparator.naturalOrder())))
+                .toList();
+
+        // Normalized once per distinct raw name; canonical plazas are grouped by it
+        Map<String, String> normalized = new HashMap<>();
+        Map<String, List<TollPlaza>> canonicalByName = new HashMap<>();
+        List<TollPlaza> canonical = new ArrayList<>();
+        List<MergedDuplicate> merged = new ArrayList<>();
+
+        for (TollPlaza p : ordered) {
+            String name = normalized.computeIfAbsent(p.getName(), PlazaNames::normalize);
+            List<TollPlaza> sameName = canonicalByName.computeIfAbsent(name, k -> new ArrayList<>(1));
+            MergedDuplicate duplicate = null;
+            for (TollPlaza c : sameName) {
+                double meters = GeoUtils.haversineKm(c.getLatitude(), c.getLongitude(),
+                        p.getLatitude(), p.getLongitude()) * 1000.0;
+                if (meters <= SAME_PLAZA_METERS) {
+                    duplicate = new MergedDuplicate(idOf(c), idOf(p), c.getName(), p.getName(), meters);
+                    break;
+                }
+            }
+            if (duplicate != null) {
+                merged.add(duplicate);
+            } else {
+                sameName.add(p);
+                canonical.add(p);
+            }
+        }
+        return new Result(canonical, merged);
+    }
+
+    private static long idOf(TollPlaza p) {
+        return p.getId() != null ? p.getId() : -1;
+    }
+}
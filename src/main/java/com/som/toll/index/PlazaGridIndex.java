@@ -0,0 +1,155 @@
+package com.som.toll.index;
+
+import com.som.toll.rate.RateTable;
+import com.som.toll.util.BoundingBox;
+import com.som.toll.util.Corridor;
+
+import java.util.function.IntConsumer;
+
+/**
+ * Immutable uniform lat/lng grid over a {@link PlazaStore}, with the {@link RateTable} of the same plazas.
+ * Cells are stored in CSR form: the slots of cell c are items[cellStart[c] .. cellStart[c + 1]).
+ */
+public final class PlazaGridIndex {
+
+    static final double CELL_DEGREES = 0.25; // ~28 km, about one corridor width
+
+    private final PlazaStore store;
+    private final RateTable rates;
+    private final double originLat;
+    private final double originLon;
+    private final int rows;
+    private final int cols;
+    private final int[] cellStart;
+    private final int[] items;
+
+    private PlazaGridIndex(PlazaStore store, RateTable rates, double originLat, double originLon,
+                           int rows, int cols, int[] cellStart, int[] items) {
+        this.store = store;
+        this.rates = rates;
+        this.originLat = originLat;
+        this.originLon = originLon;
+        this.rows = rows;
+        this.cols = cols;
+        this.cellStart = cellStart;
+        this.items = items;
+    }
+
+    public static PlazaGridIndex build(PlazaStore store) {
+        return build(store, RateTable.empty(store));
+    }
+
+    public static PlazaGridIndex build(PlazaStore store, RateTable rates) {
+        if (rates.store() != store) {
+            throw new IllegalArgumentException("Rate table belongs to another plaza store");
+        }
+        int n = store.size();
+        if (n == 0) {
+            return new PlazaGridIndex(store, rates, 0, 0, 0, 0, new int[]{0}, new int[0]);
+        }
+
+        double minLat = Double.MAX_VALUE, minLon = Double.MAX_VALUE;
+        double maxLat = -Double.MAX_VALUE, maxLon = -Double.MAX_VALUE;
+        for (int i = 0; i < n; i++) {
+            minLat = Math.min(minLat, store.lat(i));
+            maxLat = Math.max(maxLat, store.lat(i));
+            minLon = Math.min(minLon, store.lon(i));
+            maxLon = Math.max(maxLon, store.lon(i));
+        }
+        int rows = (int) Math.floor((maxLat - minLat) / CELL_DEGREES) + 1;
+        int cols = (int) Math.floor((maxLon - minLon) / CELL_DEGREES) + 1;
+
+        // counting sort of slots into cells
+        int[] cellOf = new int[n];
+        int[] cellStart = new int[rows * cols + 1];
+        for (int i = 0; i < n; i++) {
+            int r = (int) ((store.lat(i) - minLat) / CELL_DEGREES);
+            int c = (int) ((store.lon(i) - minLon) / CELL_DEGREES);
+            cellOf[i] = r * cols + c;
+            cellStart[cellOf[i] + 1]++;
+        }
+        for (int c = 0; c < rows * cols; c++) {
+            cellStart[c + 1] += cellStart[c];
+        }
+        int[] fill = new int[rows * cols];
+        int[] items = new int[n];
+        for (int i = 0; i < n; i++) {
+            int cell = cellOf[i];
+            items[cellStart[cell] + fill[cell]++] = i;
+        }
+
+        return new PlazaGridIndex(store, rates, minLat, minLon, rows, cols, cellStart, items);
+    }
+
+    public PlazaStore store() {
+        return store;
+    }
+
+    public RateTable rates() {
+        return rates;
+    }
+
+    public int size() {
+        return store.size();
+    }
+
+    /**
+     * Visits the slots in every cell the box touches. Callers still apply their own exact test,
+     * since cells at the edge of the box can hold plazas just outside it.
+     */
+    public void forEachCandidate(BoundingBox box, IntConsumer visitor) {
+        if (!overlaps(box)) return;
+        int r0 = row(box.minLat()), r1 = row(box.maxLat());
+        int c0 = col(box.minLon()), c1 = col(box.maxLon());
+        for (int r = r0; r <= r1; r++) {
+            for (int c = c0; c <= c1; c++) {
+                int cell = r * cols + c;
+                for (int k = cellStart[cell]; k < cellStart[cell + 1]; k++) {
+                    visitor.accept(items[k]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Plazas inside the corridor, with their distance from the source. Works on the store's
+     * precomputed unit vectors, so nothing is allocated per plaza.
+     */
+    public CorridorHits scanCorridor(Corridor corridor) {
+        CorridorHits hits = new CorridorHits();
+        BoundingBox box = corridor.bounds();
+        if (!overlaps(box)) return hits;
+
+        int r0 = row(box.minLat()), r1 = row(box.maxLat());
+        int c0 = col(box.minLon()), c1 = col(box.maxLon());
+        int candidates = 0;
+        for (int r = r0; r <= r1; r++) {
+            for (int c = c0; c <= c1; c++) {
+                int cell = r * cols + c;
+                for (int k = cellStart[cell]; k < cellStart[cell + 1]; k++) {
+                    int s = items[k];
+                    if (!box.contains(store.lat(s), store.lon(s))) continue;
+                    candidates++;
+                    double fromKm = corridor.matchKm(store.lat(s), store.lon(s), store.x(s), store.y(s), store.z(s));
+                    if (!Double.isNaN(fromKm)) hits.add(s, fromKm);
+                }
+            }
+        }
+        hits.candidates(candidates);
+        return hits;
+    }
+
+    private boolean overlaps(BoundingBox box) {
+        return store.size() > 0
+                && box.maxLat() >= originLat && box.minLat() <= originLat + rows * CELL_DEGREES
+                && box.maxLon() >= originLon && box.minLon() <= originLon + cols * CELL_DEGREES;
+    }
+
+    private int row(double lat) {
+        return Math.max(0, Math.min(rows - 1, (int) Math.floor((lat - originLat) / CELL_DEGREES)));
+    }
+
+    private int col(double lon) {
+        return Math.max(0, Math.min(cols - 1, (int) Math.floor((lon - originLon) / CELL_DEGREES)));
+    }
+}
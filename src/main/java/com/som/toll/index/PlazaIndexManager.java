@@ -0,0 +1,97 @@
+package com.som.toll.index;
+
+import com.som.toll.entity.TollPlaza;
+import com.som.toll.index.PlazaDeduplicator.MergedDuplicate;
+import com.som.toll.observability.PipelineMetrics;
+import com.som.toll.rate.RateTable;
+import com.som.toll.repository.TollPlazaRepository;
+import com.som.toll.repository.TollRateRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Holds the current {@link PlazaGridIndex}. The index is built lazily on first use and
+ * replaced as a whole on {@link PlazaDataChangedEvent}, so readers always see one consistent snapshot.
+ * Duplicate rows are merged while building (see {@link PlazaDeduplicator}), so the index only
+ * holds canonical plazas and per-route lookups need no de-duplication. The toll_rate rows are
+ * matched to the canonical plazas in the same build, so a snapshot's rates always fit its plazas.
+ */
+@Slf4j
+@Component
+public class PlazaIndexManager {
+
+    private final TollPlazaRepository plazaRepository;
+    private final TollRateRepository rateRepository;
+    private final PipelineMetrics metrics;
+    private volatile PlazaGridIndex index;
+    private volatile List<MergedDuplicate> mergedDuplicates = List.of();
+
+    public PlazaIndexManager(TollPlazaRepository plazaRepository,
+                             TollRateRepository rateRepository,
+                             MeterRegistry meterRegistry) {
+        this.plazaRepository = plazaRepository;
+        this.rateRepository = rateRepository;
+        this.metrics = new PipelineMetrics(meterRegistry);
+    }
+
+    public PlazaGridIndex current() {
+        PlazaGridIndex snapshot = index;
+        if (snapshot == null) {
+            synchronized (this) {
+                snapshot = index;
+                if (snapshot == null) {
+                    snapshot = load();
+                    index = snapshot;
+                }
+            }
+        }
+        return snapshot;
+    }
+
+    @EventListener
+    public void onPlazaDataChanged(PlazaDataChangedEvent event) {
+        log.info("Rebuilding toll plaza index: {}", event.reason());
+        rebuild();
+    }
+
+    /** Rows folded into a canonical plaza by the last build. */
+    public List<MergedDuplicate> mergedDuplicates() {
+        current();
+        return mergedDuplicates;
+    }
+
+    public synchronized void rebuild() {
+        index = load();
+    }
+
+    private PlazaGridIndex load() {
+        long start = System.nanoTime();
+        List<TollPlaza> rows = metrics.time("plaza.load", plazaRepository::findAll);
+        PlazaDeduplicator.Result dedup = metrics.time("plaza.dedup", () -> PlazaDeduplicator.deduplicate(rows));
+        PlazaStore store = PlazaStore.from(dedup.canonical());
+        RateTable rates = metrics.time("plaza.rates.build",
+                () -> RateTable.build(store, rateRepository.findAll()));
+        PlazaGridIndex built = metrics.time("plaza.index.build", () -> PlazaGridIndex.build(store, rates));
+        mergedDuplicates = List.copyOf(dedup.merged());
+
+        if (!dedup.merged().isEmpty()) {
+            log.info("Merged {} duplicate toll plaza rows into canonical plazas (details at /actuator/plazas)",
+                    dedup.merged().size());
+            dedup.merged().forEach(d -> log.debug("Duplicate plaza id={} '{}' -> id={} '{}' ({}m apart)",
+                    d.duplicateId(), d.duplicateName(), d.canonicalId(), d.canonicalName(),
+                    Math.round(d.distanceMeters())));
+        }
+        if (built.size() == 0) {
+            log.warn("Toll plaza index is empty; computed routes are not cached until toll plazas are loaded");
+        } else if (rates.pricedPlazas() == 0) {
+            log.warn("No toll rates are loaded; responses carry no cost until toll_rate is filled");
+        }
+        log.debug("Toll plaza index built: plazas={}, priced={}, took={}ms",
+                built.size(), rates.pricedPlazas(), (System.nanoTime() - start) / 1_000_000);
+        return built;
+    }
+}
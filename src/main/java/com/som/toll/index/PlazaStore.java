@@ -0,0 +1,115 @@
+package com.som.toll.index;
+
+import com.som.toll.entity.TollPlaza;
+import com.som.toll.util.GeoUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable struct-of-arrays copy of the toll plaza table, addressed by slot (0..size-1).
+ * Besides degrees it keeps the unit vector of each plaza (cosφ·cosλ, cosφ·sinλ, sinφ),
+ * so corridor tests need no per-plaza trig. Names and states are interned into small tables.
+ * Slots are in id order, so a plaza id maps back to its slot by binary search.
+ */
+public final class PlazaStore {
+
+    private final long[] ids;
+    private final double[] lat;
+    private final double[] lon;
+    private final double[] x;
+    private final double[] y;
+    private final double[] z;
+    private final int[] nameId;
+    private final int[] stateId;
+    private final String[] names;
+    private final String[] states;
+
+    private PlazaStore(long[] ids, double[] lat, double[] lon,
+                       double[] x, double[] y, double[] z,
+                       int[] nameId, int[] stateId, String[] names, String[] states) {
+        this.ids = ids;
+        this.lat = lat;
+        this.lon = lon;
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        this.nameId = nameId;
+        this.stateId = stateId;
+        this.names = names;
+        this.states = states;
+    }
+
+    public static PlazaStore from(List<TollPlaza> plazas) {
+        List<TollPlaza> valid = plazas.stream()
+                .filter(p -> p.getLatitude() != null && p.getLongitude() != null)
+                .sorted(Comparator.comparingLong(PlazaStore::idOf))
+                .toList();
+        int n = valid.size();
+        long[] ids = new long[n];
+        double[] lat = new double[n], lon = new double[n];
+        double[] x = new double[n], y = new double[n], z = new double[n];
+        int[] nameId = new int[n], stateId = new int[n];
+        Map<String, Integer> nameTable = new HashMap<>();
+        Map<String, Integer> stateTable = new HashMap<>();
+        List<String> names = new ArrayList<>();
+        List<String> states = new ArrayList<>();
+
+        for (int i = 0; i < n; i++) {
+            TollPlaza p = valid.get(i);
+            ids[i] = idOf(p);
+            lat[i] = p.getLatitude();
+            lon[i] = p.getLongitude();
+            double[] v = GeoUtils.unitVector(lat[i], lon[i]);
+            x[i] = v[0];
+            y[i] = v[1];
+            z[i] = v[2];
+            nameId[i] = intern(p.getName(), nameTable, names);
+            stateId[i] = intern(p.getGeoState(), stateTable, states);
+        }
+
+        return new PlazaStore(ids, lat, lon, x, y, z, nameId, stateId,
+                names.toArray(String[]::new), states.toArray(String[]::new));
+    }
+
+    private static long idOf(TollPlaza p) {
+        return p.getId() != null ? p.getId() : -1;
+    }
+
+    private static int intern(String value, Map<String, Integer> table, List<String> values) {
+        return table.computeIfAbsent(value, v -> {
+            values.add(v);
+            return values.size() - 1;
+        });
+    }
+
+    public int size() { return ids.length; }
+
+    public long id(int slot) { return ids[slot]; }
+
+    /** Slot of the plaza with the given id, or -1 when it is not in the store. */
+    public int slotOf(long id) {
+        int slot = Arrays.binarySearch(ids, id);
+        return slot >= 0 ? slot : -1;
+    }
+
+    public double lat(int slot) { return lat[slot]; }
+
+    public double lon(int slot) { return lon[slot]; }
+
+    public double x(int slot) { return x[slot]; }
+
+    public double y(int slot) { return y[slot]; }
+
+    public double z(int slot) { return z[slot]; }
+
+    public int nameId(int slot) { return nameId[slot]; }
+
+    public String name(int slot) { return names[nameId[slot]]; }
+
+    public String geoState(int slot) { return states[stateId[slot]]; }
+}
@@ -0,0 +1,89 @@
+package com.som.toll.loader;
+
+import com.som.toll.repository.PincodeLocationRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.Resource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Pre-loads pincode centroids (pincode,latitude,longitude) so geocoding rarely reaches Google.
+ * Rows already in the table, including ones written back from Google, are left untouched.
+ * Runs after startup with JDBC batch inserts, like {@link TollPlazaCsvLoader}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PincodeCsvLoader {
+
+    private static final String INSERT_SQL =
+            "INSERT IGNORE INTO pincode_location (pincode, latitude, longitude, source, updated_at) VALUES (?, ?, ?, ?, ?)";
+
+    private final PincodeLocationRepository pincodeRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${toll.pincode.csv.path:classpath:pincode_centroids.csv}")
+    private Resource pincodeCsv;
+
+    @Value("${toll.csv.batch-size:1000}")
+    private int batchSize;
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadCsv() {
+        try {
+            if (!pincodeCsv.exists()) {
+                log.info("No pincode centroid CSV at [{}]. Geocoding will use Google only.", pincodeCsv);
+                return;
+            }
+
+            long start = System.nanoTime();
+            Set<String> known = new HashSet<>(pincodeRepository.findAllPincodes());
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                    pincodeCsv.getInputStream(), StandardCharsets.UTF_8))) {
+
+                // skip header
+                List<String[]> fresh = reader.lines()
+                        .skip(1)
+                        .filter(line -> !line.isBlank())
+                        .map(line -> line.split(",", -1))
+                        .filter(parts -> !known.contains(parts[0].trim()))
+                        .toList();
+
+                transactionTemplate.executeWithoutResult(tx ->
+                        jdbcTemplate.batchUpdate(INSERT_SQL, fresh, batchSize, (ps, parts) -> {
+                            ps.setString(1, parts[0].trim());
+                            ps.setDouble(2, Double.parseDouble(parts[1].trim()));
+                            ps.setDouble(3, Double.parseDouble(parts[2].trim()));
+                            ps.setString(4, "CSV");
+                            ps.setTimestamp(5, now);
+                        }));
+
+                double seconds = (System.nanoTime() - start) / 1e9;
+                log.info(" Pincode centroids loaded from CSV: {} (new={}, already known={}, {} rows/sec)",
+                        pincodeCsv.getFilename(), fresh.size(), known.size(),
+                        Math.round(fresh.size() / Math.max(seconds, 1e-9)));
+            }
+        } catch (Exception e) {
+            log.error(" Failed to load pincode CSV from path [{}]", pincodeCsv, e);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.som.toll.loader;
+
+import com.som.toll.index.PlazaIndexManager;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * /actuator/plazas: GET shows the indexed plaza count, the duplicate rows merged into canonical
+ * plazas and the last reload; POST re-reads the toll CSV and applies the differences ({"force": true} ignores the checksum).
+ */
+@Component
+@Endpoint(id = "plazas")
+public class PlazaReloadEndpoint {
+
+    private final TollPlazaCsvReloader reloader;
+    private final PlazaIndexManager plazaIndex;
+
+    public PlazaReloadEndpoint(TollPlazaCsvReloader reloader, PlazaIndexManager plazaIndex) {
+        this.reloader = reloader;
+        this.plazaIndex = plazaIndex;
+    }
+
+    @ReadOperation
+    public Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("indexedPlazas", plazaIndex.current().size());
+        status.put("mergedDuplicates", plazaIndex.mergedDuplicates());
+        reloader.lastResult().ifPresent(r -> status.put("lastReload", r));
+        return status;
+    }
+
+    @WriteOperation
+    public TollPlazaCsvReloader.ReloadResult reload(@Nullable Boolean force) throws IOException {
+        return reloader.reload(Boolean.TRUE.equals(force));
+    }
+}
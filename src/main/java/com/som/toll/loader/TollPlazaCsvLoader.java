@@ -1,29 +1,53 @@
 package com.som.toll.loader;
 
-import com.som.toll.entity.TollPlaza;
+import com.som.toll.index.PlazaDataChangedEvent;
 import com.som.toll.repository.TollPlazaRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
 import org.springframework.core.io.Resource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import jakarta.annotation.PostConstruct;
 import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Objects;
 
+/**
+ * Loads toll_plaza_india.csv into an empty toll_plaza table once the application is up.
+ * Lines are parsed in parallel and inserted with JDBC batches in one transaction; with
+ * rewriteBatchedStatements=true on the MySQL URL each batch becomes a multi-row INSERT.
+ */
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class TollPlazaCsvLoader {
 
+    static final String INSERT_SQL =
+            "INSERT INTO toll_plaza (name, latitude, longitude, geo_state) VALUES (?, ?, ?, ?)";
+
     private final TollPlazaRepository plazaRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher events;
 
     @Value("${toll.csv.path:classpath:toll_plaza_india.csv}")
     private Resource tollCsv;
 
-    @PostConstruct
+    @Value("${toll.csv.batch-size:1000}")
+    private int batchSize;
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
     public void loadCsv() {
         try {
             if (plazaRepository.count() > 0) {
@@ -31,25 +55,69 @@ public class TollPlazaCsvLoader {
                 return;
             }
 
-            try (BufferedReader reader = new BufferedReader(new InputStreamReader(
-                    tollCsv.getInputStream(), StandardCharsets.UTF_8))) {
-
-                // skip header
-                reader.lines()
-                        .skip(1)
-                        .map(line -> line.split(",", -1))
-                        .map(parts -> TollPlaza.builder()
-                                .longitude(Double.parseDouble(parts[0].trim()))
-                                .latitude(Double.parseDouble(parts[1].trim()))
-                                .name(parts[2].trim())
-                                .geoState(parts[3].trim())
-                                .build())
-                        .forEach(plazaRepository::save);
-
-                log.info(" Toll plazas loaded successfully from CSV: {}", tollCsv.getFilename());
-            }
+            long start = System.nanoTime();
+            List<PlazaRow> rows = readRows(tollCsv);
+
+            transactionTemplate.executeWithoutResult(tx ->
+                    jdbcTemplate.batchUpdate(INSERT_SQL, rows, batchSize, (ps, row) -> {
+                        ps.setString(1, row.name());
+                        ps.setDouble(2, row.latitude());
+                        ps.setDouble(3, row.longitude());
+                        ps.setString(4, row.geoState());
+                    }));
+
+            double seconds = (System.nanoTime() - start) / 1e9;
+            log.info(" Toll plazas loaded successfully from CSV: {} (rows={}, {} rows/sec)",
+                    tollCsv.getFilename(), rows.size(), Math.round(rows.size() / Math.max(seconds, 1e-9)));
+            events.publishEvent(new PlazaDataChangedEvent("CSV load"));
         } catch (Exception e) {
             log.error(" Failed to load toll CSV from path [{}]", tollCsv, e);
         }
     }
+
+    /**
+     * Parses the plaza CSV (longitude,latitude,name,geoState with a header line) in parallel.
+     * Malformed lines are logged and skipped. Public for the benchmarks, which load the real CSV.
+     */
+    public static List<PlazaRow> readRows(Resource csv) throws IOException {
+        return readRows(csv.getInputStream());
+    }
+
+    static List<PlazaRow> readRows(InputStream in) throws IOException {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+
+            // skip header
+            List<String> lines = reader.lines().skip(1).filter(line -> !line.isBlank()).toList();
+            return lines.parallelStream()
+                    .map(TollPlazaCsvLoader::parse)
+                    .filter(Objects::nonNull)
+                    .toList();
+        }
+    }
+
+    static PlazaRow parse(String line) {
+        try {
+            // Some names are quoted and contain commas, so the name is whatever sits
+            // between the coordinates and the last field
+            int lonEnd = line.indexOf(',');
+            int latEnd = line.indexOf(',', lonEnd + 1);
+            int stateStart = line.lastIndexOf(',');
+            if (lonEnd < 0 || latEnd < 0 || stateStart <= latEnd) {
+                throw new IllegalArgumentException("expected 4 columns");
+            }
+            String name = line.substring(latEnd + 1, stateStart).trim();
+            if (name.length() >= 2 && name.startsWith("\"") && name.endsWith("\"")) {
+                name = name.substring(1, name.length() - 1).replace("\"\"", "\"").trim();
+            }
+            return new PlazaRow(name,
+                    Double.parseDouble(line.substring(lonEnd + 1, latEnd).trim()),
+                    Double.parseDouble(line.substring(0, lonEnd).trim()),
+                    line.substring(stateStart + 1).trim());
+        } catch (RuntimeException e) {
+            log.warn("Skipping malformed toll CSV line: {}", line);
+            return null;
+        }
+    }
+
+    public record PlazaRow(String name, double latitude, double longitude, String geoState) {}
 }
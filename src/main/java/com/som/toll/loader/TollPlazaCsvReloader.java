@@ -0,0 +1,215 @@
+package com.som.toll.loader;
+
+import com.som.toll.entity.TollPlaza;
+import com.som.toll.index.PlazaDataChangedEvent;
+import com.som.toll.loader.TollPlazaCsvLoader.PlazaRow;
+import com.som.toll.repository.TollPlazaRepository;
+import com.som.toll.service.TollPlazaService;
+import com.som.toll.util.PlazaNames;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.io.Resource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Applies an updated toll plaza CSV to a populated toll_plaza table without a restart.
+ * The CSV is diffed against the table by natural key (normalized name + rounded coordinates),
+ * so only changed rows are inserted, updated or deleted. The plaza index is then swapped in one
+ * step and only the cached routes whose corridor touches a changed plaza are dropped.
+ * A reload is skipped when the CSV checksum matches the last applied one.
+ */
+@Slf4j
+@Component
+public class TollPlazaCsvReloader {
+
+    private static final String UPDATE_SQL =
+            "UPDATE toll_plaza SET name = ?, latitude = ?, longitude = ?, geo_state = ? WHERE id = ?";
+    private static final String DELETE_SQL = "DELETE FROM toll_plaza WHERE id = ?";
+
+    private final TollPlazaRepository plazaRepository;
+    private final TollPlazaService tollPlazaService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher events;
+    private final Resource tollCsv;
+    private final int batchSize;
+    private final boolean pollEnabled;
+
+    private volatile String appliedChecksum;
+    private volatile ReloadResult lastResult;
+
+    public TollPlazaCsvReloader(TollPlazaRepository plazaRepository,
+                                TollPlazaService tollPlazaService,
+                                JdbcTemplate jdbcTemplate,
+                                TransactionTemplate transactionTemplate,
+                                ApplicationEventPublisher events,
+                                @Value("${toll.csv.path:classpath:toll_plaza_india.csv}") Resource tollCsv,
+                                @Value("${toll.csv.batch-size:1000}") int batchSize,
+                                @Value("${toll.csv.reload.poll-enabled:false}") boolean pollEnabled) {
+        this.plazaRepository = plazaRepository;
+        this.tollPlazaService = tollPlazaService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.events = events;
+        this.tollCsv = tollCsv;
+        this.batchSize = batchSize;
+        this.pollEnabled = pollEnabled;
+    }
+
+    /** Outcome of the last reload attempt. */
+    public record ReloadResult(String checksum,
+                               boolean applied,
+                               int inserted,
+                               int updated,
+                               int deleted,
+                               int unchanged,
+                               int routesInvalidated,
+                               LocalDateTime at) {}
+
+    public Optional<ReloadResult> lastResult() {
+        return Optional.ofNullable(lastResult);
+    }
+
+    /** Polls the CSV for changes when toll.csv.reload.poll-enabled is set. */
+    @Scheduled(fixedDelayString = "${toll.csv.reload.poll-interval:5m}",
+               initialDelayString = "${toll.csv.reload.poll-interval:5m}")
+    public void poll() {
+        if (!pollEnabled) return;
+        try {
+            reload(false);
+        } catch (Exception e) {
+            log.error(" Toll CSV reload from [{}] failed", tollCsv, e);
+        }
+    }
+
+    /**
+     * Diffs the CSV against the table and applies the changes. With force == false nothing is
+     * done when the file is unchanged since the last reload.
+     */
+    public synchronized ReloadResult reload(boolean force) throws IOException {
+        byte[] content;
+        try (InputStream in = tollCsv.getInputStream()) {
+            content = in.readAllBytes();
+        }
+        String checksum = sha256(content);
+        if (!force && checksum.equals(appliedChecksum)) {
+            log.debug("Toll CSV unchanged (sha256={}), skipping reload", checksum);
+            return record(new ReloadResult(checksum, false, 0, 0, 0, 0, 0, LocalDateTime.now()));
+        }
+
+        long start = System.nanoTime();
+        Diff diff = diff(TollPlazaCsvLoader.readRows(new ByteArrayInputStream(content)), plazaRepository.findAll());
+        if (diff.isEmpty()) {
+            appliedChecksum = checksum;
+            log.info("Toll CSV reload: no changes ({} plazas)", diff.unchanged);
+            return record(new ReloadResult(checksum, true, 0, 0, 0, diff.unchanged, 0, LocalDateTime.now()));
+        }
+
+        transactionTemplate.executeWithoutResult(tx -> {
+            jdbcTemplate.batchUpdate(TollPlazaCsvLoader.INSERT_SQL, diff.inserts, batchSize, (ps, row) -> {
+                ps.setString(1, row.name());
+                ps.setDouble(2, row.latitude());
+                ps.setDouble(3, row.longitude());
+                ps.setString(4, row.geoState());
+            });
+            jdbcTemplate.batchUpdate(UPDATE_SQL, diff.updates, batchSize, (ps, update) -> {
+                ps.setString(1, update.row().name());
+                ps.setDouble(2, update.row().latitude());
+                ps.setDouble(3, update.row().longitude());
+                ps.setString(4, update.row().geoState());
+                ps.setLong(5, update.id());
+            });
+            jdbcTemplate.batchUpdate(DELETE_SQL, diff.deletes, batchSize, (ps, plaza) -> ps.setLong(1, plaza.getId()));
+        });
+        appliedChecksum = checksum;
+
+        // The index is rebuilt synchronously by the listener before cached routes are dropped,
+        // so recomputations already see the new data
+        events.publishEvent(new PlazaDataChangedEvent("CSV reload"));
+        int invalidated = tollPlazaService.invalidateRoutesTouching(diff.changedPoints());
+
+        log.info(" Toll CSV reload applied in {}ms: inserted={}, updated={}, deleted={}, unchanged={}, routesInvalidated={}",
+                (System.nanoTime() - start) / 1_000_000, diff.inserts.size(), diff.updates.size(),
+                diff.deletes.size(), diff.unchanged, invalidated);
+        return record(new ReloadResult(checksum, true, diff.inserts.size(), diff.updates.size(),
+                diff.deletes.size(), diff.unchanged, invalidated, LocalDateTime.now()));
+    }
+
+    private ReloadResult record(ReloadResult result) {
+        lastResult = result;
+        return result;
+    }
+
+    /**
+     * Pairs CSV rows with table rows of the same natural key. Duplicates within a key are paired
+     * in order; leftovers on the CSV side are inserts and leftovers on the table side are deletes.
+     * A pair whose exact name, state or coordinates differ is an update.
+     */
+    static Diff diff(List<PlazaRow> rows, List<TollPlaza> existing) {
+        Map<String, Deque<TollPlaza>> byKey = new HashMap<>();
+        for (TollPlaza p : existing) {
+            byKey.computeIfAbsent(PlazaNames.naturalKey(p.getName(), p.getLatitude(), p.getLongitude()),
+                    k -> new ArrayDeque<>()).add(p);
+        }
+
+        Diff diff = new Diff();
+        for (PlazaRow row : rows) {
+            Deque<TollPlaza> matches = byKey.get(PlazaNames.naturalKey(row.name(), row.latitude(), row.longitude()));
+            TollPlaza match = matches == null ? null : matches.poll();
+            if (match == null) {
+                diff.inserts.add(row);
+            } else if (row.name().equals(match.getName())
+                    && row.geoState().equals(match.getGeoState())
+                    && row.latitude() == match.getLatitude()
+                    && row.longitude() == match.getLongitude()) {
+                diff.unchanged++;
+            } else {
+                diff.updates.add(new Update(match.getId(), row));
+            }
+        }
+        byKey.values().forEach(diff.deletes::addAll);
+        return diff;
+    }
+
+    static final class Diff {
+        final List<PlazaRow> inserts = new ArrayList<>();
+        final List<Update> updates = new ArrayList<>();
+        final List<TollPlaza> deletes = new ArrayList<>();
+        int unchanged;
+
+        boolean isEmpty() {
+            return inserts.isEmpty() && updates.isEmpty() && deletes.isEmpty();
+        }
+
+        /** Locations whose routes may now list different plazas. Updates keep their key, so the new position suffices. */
+        List<double[]> changedPoints() {
+            List<double[]> points = new ArrayList<>();
+            inserts.forEach(r -> points.add(new double[]{r.latitude(), r.longitude()}));
+            updates.forEach(u -> points.add(new double[]{u.row().latitude(), u.row().longitude()}));
+            deletes.forEach(p -> points.add(new double[]{p.getLatitude(), p.getLongitude()}));
+            return points;
+        }
+    }
+
+    record Update(long id, PlazaRow row) {}
+
+    private static String sha256(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
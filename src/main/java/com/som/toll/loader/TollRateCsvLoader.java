@@ -0,0 +1,147 @@
+package com.som.toll.loader;
+
+import com.som.toll.index.PlazaDataChangedEvent;
+import com.som.toll.rate.VehicleClass;
+import com.som.toll.repository.TollRateRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.Resource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Loads toll_rates_india.csv into an empty toll_rate table once the application is up, the same
+ * way {@link TollPlazaCsvLoader} loads plazas, then rebuilds the plaza index so the rates are used.
+ * Columns: toll_name,geo_state,vehicle_class,single_journey,return_journey,monthly_pass, fees in
+ * whole rupees; the return and monthly fees may be left empty to derive them from the single fee.
+ * Rows are matched to plazas by name and state.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TollRateCsvLoader {
+
+    static final String INSERT_SQL = "INSERT IGNORE INTO toll_rate "
+            + "(plaza_name, geo_state, vehicle_class, single_journey, return_journey, monthly_pass) VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final TollRateRepository rateRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher events;
+
+    @Value("${toll.rates.csv.path:classpath:toll_rates_india.csv}")
+    private Resource ratesCsv;
+
+    @Value("${toll.csv.batch-size:1000}")
+    private int batchSize;
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadCsv() {
+        try {
+            if (!ratesCsv.exists()) {
+                log.info("No toll rate CSV at [{}]. Routes will be returned without fees.", ratesCsv);
+                return;
+            }
+            if (rateRepository.count() > 0) {
+                log.info("Toll rates already loaded in DB. Skipping CSV load.");
+                return;
+            }
+
+            List<RateRow> rows = readRows(ratesCsv.getInputStream());
+            if (rows.isEmpty()) {
+                log.info("Toll rate CSV [{}] has no rows. Routes will be returned without fees.", ratesCsv.getFilename());
+                return;
+            }
+
+            transactionTemplate.executeWithoutResult(tx ->
+                    jdbcTemplate.batchUpdate(INSERT_SQL, rows, batchSize, (ps, row) -> {
+                        ps.setString(1, row.plazaName());
+                        ps.setString(2, row.geoState());
+                        ps.setString(3, row.vehicleClass().code());
+                        ps.setInt(4, row.singleJourney());
+                        setFee(ps, 5, row.returnJourney());
+                        setFee(ps, 6, row.monthlyPass());
+                    }));
+
+            log.info(" Toll rates loaded successfully from CSV: {} (rows={})", ratesCsv.getFilename(), rows.size());
+            events.publishEvent(new PlazaDataChangedEvent("Rate CSV load"));
+        } catch (Exception e) {
+            log.error(" Failed to load toll rate CSV from path [{}]", ratesCsv, e);
+        }
+    }
+
+    private static void setFee(PreparedStatement ps, int index, Integer fee) throws SQLException {
+        if (fee == null) ps.setNull(index, Types.INTEGER);
+        else ps.setInt(index, fee);
+    }
+
+    static List<RateRow> readRows(InputStream in) throws IOException {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+
+            // skip header
+            return reader.lines().skip(1)
+                    .filter(line -> !line.isBlank())
+                    .map(TollRateCsvLoader::parse)
+                    .filter(Objects::nonNull)
+                    .toList();
+        }
+    }
+
+    static RateRow parse(String line) {
+        try {
+            // Names may be quoted and contain commas, so the five other fields are taken from the end
+            int[] commas = new int[5];
+            int end = line.length();
+            for (int i = 4; i >= 0; i--) {
+                end = line.lastIndexOf(',', end - 1);
+                if (end < 0) throw new IllegalArgumentException("expected 6 columns");
+                commas[i] = end;
+            }
+            String name = line.substring(0, commas[0]).trim();
+            if (name.length() >= 2 && name.startsWith("\"") && name.endsWith("\"")) {
+                name = name.substring(1, name.length() - 1).replace("\"\"", "\"").trim();
+            }
+            String state = line.substring(commas[0] + 1, commas[1]).trim();
+            if (name.isEmpty() || state.isEmpty()) throw new IllegalArgumentException("name and state are required");
+            Integer single = fee(line.substring(commas[2] + 1, commas[3]));
+            if (single == null) throw new IllegalArgumentException("single_journey is required");
+            return new RateRow(name, state,
+                    VehicleClass.of(line.substring(commas[1] + 1, commas[2]).trim()),
+                    single,
+                    fee(line.substring(commas[3] + 1, commas[4])),
+                    fee(line.substring(commas[4] + 1)));
+        } catch (RuntimeException e) {
+            log.warn("Skipping malformed toll rate CSV line: {}", line);
+            return null;
+        }
+    }
+
+    private static Integer fee(String field) {
+        String value = field.trim();
+        if (value.isEmpty()) return null;
+        int fee = Integer.parseInt(value);
+        if (fee < 0) throw new IllegalArgumentException("negative fee");
+        return fee;
+    }
+
+    public record RateRow(String plazaName, String geoState, VehicleClass vehicleClass,
+                          int singleJourney, Integer returnJourney, Integer monthlyPass) {}
+}
@@ -0,0 +1,52 @@
+package com.som.toll.observability;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.MDC;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * Gives every request a correlation ID: the caller's X-Correlation-Id when it is well formed,
+ * otherwise a new one. The ID is echoed in the response and kept in the MDC under
+ * {@value #MDC_KEY} for the request, so every log line of the lookup (including those written on
+ * the lookup and refresh executors, see {@link MdcPropagatingExecutorService}) carries it.
+ */
+@Component
+@Profile("!reactive")
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class CorrelationIdFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-Correlation-Id";
+    public static final String MDC_KEY = "correlationId";
+
+    // caller-supplied IDs end up in logs, so only short plain tokens are accepted
+    private static final Pattern VALID = Pattern.compile("[A-Za-z0-9._-]{1,64}");
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String id = correlationId(request.getHeader(HEADER));
+        response.setHeader(HEADER, id);
+        MDC.put(MDC_KEY, id);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            MDC.remove(MDC_KEY);
+        }
+    }
+
+    /** The caller's ID when it is well formed, otherwise a new one. */
+    static String correlationId(String header) {
+        return header != null && VALID.matcher(header).matches() ? header : UUID.randomUUID().toString();
+    }
+}
@@ -0,0 +1,74 @@
+package com.som.toll.observability;
+
+import org.slf4j.MDC;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs tasks on the delegate with the submitting thread's MDC (e.g. the correlation ID), and
+ * restores the worker's own MDC afterwards. submit/invokeAll go through {@link #execute}, so they
+ * are covered too; rejections by the delegate are passed on unchanged.
+ */
+public final class MdcPropagatingExecutorService extends AbstractExecutorService {
+
+    private final ExecutorService delegate;
+
+    public MdcPropagatingExecutorService(ExecutorService delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        delegate.execute(wrap(task));
+    }
+
+    /** The task, run with the MDC of the calling thread as it is now. */
+    public static Runnable wrap(Runnable task) {
+        Map<String, String> context = MDC.getCopyOfContextMap();
+        return () -> {
+            Map<String, String> previous = MDC.getCopyOfContextMap();
+            if (context == null) MDC.clear();
+            else MDC.setContextMap(context);
+            try {
+                task.run();
+            } finally {
+                if (previous == null) MDC.clear();
+                else MDC.setContextMap(previous);
+            }
+        };
+    }
+
+    @Override
+    public void shutdown() {
+        delegate.shutdown();
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        return delegate.shutdownNow();
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return delegate.isShutdown();
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return delegate.isTerminated();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return delegate.awaitTermination(timeout, unit);
+    }
+
+    @Override
+    public void close() {
+        delegate.close();
+    }
+}
@@ -0,0 +1,105 @@
+package com.som.toll.observability;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import reactor.core.publisher.Mono;
+
+import java.util.function.Supplier;
+
+/**
+ * Timers for the stages of a toll lookup, published as toll.stage{stage=...} with percentile
+ * histograms (p50/p95/p99 are also computed in-process for /actuator/metrics), plus the
+ * corridor scan sizes as toll.corridor.candidates and toll.corridor.plazas.
+ * <p>
+ * Stages: geocode, distance, route.cache.lookup, route.cache.decode, route.cache.save,
+ * corridor.scan (index query and corridor filter, one pass), and at index build time
+ * plaza.load, plaza.dedup and plaza.index.build.
+ * Meters are registered on first use; the registry returns the same meter for the same tags.
+ */
+public final class PipelineMetrics {
+
+    public static final String STAGE_TIMER = "toll.stage";
+
+    private final MeterRegistry registry;
+    private final DistributionSummary candidates;
+    private final DistributionSummary matched;
+
+    public PipelineMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.candidates = DistributionSummary.builder("toll.corridor.candidates")
+                .description("Plazas inside the corridor bounding box that were tested against the corridor")
+                .publishPercentileHistogram()
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(registry);
+        this.matched = DistributionSummary.builder("toll.corridor.plazas")
+                .description("Plazas on the route corridor")
+                .publishPercentileHistogram()
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(registry);
+    }
+
+    /** Timer for a stage; tags are key/value pairs, e.g. "provider", "GOOGLE". */
+    public Timer timer(String stage, String... tags) {
+        return Timer.builder(STAGE_TIMER)
+                .description("Time spent in one stage of a toll lookup")
+                .tag("stage", stage)
+                .tags(tags)
+                .publishPercentileHistogram()
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(registry);
+    }
+
+    public Timer.Sample start() {
+        return Timer.start(registry);
+    }
+
+    /** Stops the sample on the stage timer. */
+    public void stop(Timer.Sample sample, String stage, String... tags) {
+        sample.stop(timer(stage, tags));
+    }
+
+    /** Runs the body under the stage timer, tagged outcome=success or outcome=error. */
+    public <T> T time(String stage, Supplier<T> body, String... tags) {
+        Timer.Sample sample = start();
+        String outcome = "error";
+        try {
+            T result = body.get();
+            outcome = "success";
+            return result;
+        } finally {
+            sample.stop(timer(stage, withOutcome(tags, outcome)));
+        }
+    }
+
+    /** {@link #time} for a body without a result. */
+    public void run(String stage, Runnable body, String... tags) {
+        time(stage, () -> {
+            body.run();
+            return null;
+        }, tags);
+    }
+
+    /** {@link #time} for a reactive body, timed from subscription to its result or error. */
+    public <T> Mono<T> timeAsync(String stage, Mono<T> body, String... tags) {
+        return Mono.defer(() -> {
+            Timer.Sample sample = start();
+            return body
+                    .doOnSuccess(result -> sample.stop(timer(stage, withOutcome(tags, "success"))))
+                    .doOnError(e -> sample.stop(timer(stage, withOutcome(tags, "error"))));
+        });
+    }
+
+    public void corridorScan(int candidateCount, int matchedCount) {
+        candidates.record(candidateCount);
+        matched.record(matchedCount);
+    }
+
+    private static String[] withOutcome(String[] tags, String outcome) {
+        String[] all = new String[tags.length + 2];
+        System.arraycopy(tags, 0, all, 0, tags.length);
+        all[tags.length] = "outcome";
+        all[tags.length + 1] = outcome;
+        return all;
+    }
+}
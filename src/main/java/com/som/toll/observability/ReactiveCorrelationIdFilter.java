@@ -0,0 +1,49 @@
+package com.som.toll.observability;
+
+import org.slf4j.MDC;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+import java.util.concurrent.Callable;
+
+/**
+ * {@link CorrelationIdFilter} for the reactive profile. A reactive request hops between threads,
+ * so the ID travels in the Reactor context instead of the MDC; {@link #withMdc} puts it back in
+ * the MDC around blocking or CPU-bound steps, where the logging happens.
+ */
+@Component
+@Profile("reactive")
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ReactiveCorrelationIdFilter implements WebFilter {
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        String id = CorrelationIdFilter.correlationId(
+                exchange.getRequest().getHeaders().getFirst(CorrelationIdFilter.HEADER));
+        exchange.getResponse().getHeaders().set(CorrelationIdFilter.HEADER, id);
+        return chain.filter(exchange).contextWrite(Context.of(CorrelationIdFilter.MDC_KEY, id));
+    }
+
+    /** Mono of the task's result, run with the subscriber's correlation ID in the MDC. */
+    public static <T> Mono<T> withMdc(Callable<T> task) {
+        return Mono.deferContextual(context -> {
+            String id = context.getOrDefault(CorrelationIdFilter.MDC_KEY, null);
+            return Mono.fromCallable(() -> {
+                if (id == null) return task.call();
+                MDC.put(CorrelationIdFilter.MDC_KEY, id);
+                try {
+                    return task.call();
+                } finally {
+                    MDC.remove(CorrelationIdFilter.MDC_KEY);
+                }
+            });
+        });
+    }
+}
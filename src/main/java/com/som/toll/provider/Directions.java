@@ -0,0 +1,7 @@
+package com.som.toll.provider;
+
+/**
+ * Driving route between two pincodes: encoded polyline ({@link com.som.toll.util.PolylineCodec})
+ * and total distance.
+ */
+public record Directions(String encodedPolyline, double distanceKm) {}
@@ -0,0 +1,19 @@
+package com.som.toll.provider;
+
+import java.util.List;
+
+/**
+ * Road distances and routes between pincodes. Failures follow {@link GeoProvider}: IllegalArgumentException
+ * when there is no route, any other RuntimeException when the provider itself failed.
+ */
+public interface DistanceProvider {
+
+    String name();
+
+    double distanceKm(String sourcePincode, String destPincode);
+
+    /** Distances from one source to many destinations, in order; NaN where there is no route. */
+    double[] distancesKm(String sourcePincode, List<String> destPincodes);
+
+    Directions directions(String sourcePincode, String destPincode);
+}
@@ -0,0 +1,19 @@
+package com.som.toll.provider;
+
+/**
+ * Resolves a pincode to coordinates.
+ * Implementations throw IllegalArgumentException for a pincode they cannot resolve, and any
+ * other RuntimeException when the provider itself failed (which allows a fallback provider).
+ */
+public interface GeoProvider {
+
+    /** Short upper-case name, recorded as the source of stored geocodes. */
+    String name();
+
+    LatLng geocode(String pincode);
+
+    /** Whether results are real geocodes that may be written to pincode_location. */
+    default boolean storesResults() {
+        return true;
+    }
+}
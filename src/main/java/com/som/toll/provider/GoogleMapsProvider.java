@@ -0,0 +1,55 @@
+package com.som.toll.provider;
+
+import com.som.toll.client.GoogleMapsClient;
+
+import java.util.List;
+
+/**
+ * Google Geocoding, Distance Matrix and Directions APIs through {@link GoogleMapsClient}.
+ */
+public class GoogleMapsProvider implements GeoProvider, DistanceProvider {
+
+    // Distance Matrix limit: 25 destinations per request
+    private static final int MAX_DESTINATIONS = 25;
+
+    private final GoogleMapsClient mapsClient;
+
+    public GoogleMapsProvider(GoogleMapsClient mapsClient) {
+        this.mapsClient = mapsClient;
+    }
+
+    @Override
+    public String name() {
+        return "GOOGLE";
+    }
+
+    @Override
+    public LatLng geocode(String pincode) {
+        return mapsClient.geocodePincode(pincode);
+    }
+
+    @Override
+    public double distanceKm(String sourcePincode, String destPincode) {
+        return mapsClient.fetchDistanceKm(sourcePincode, destPincode);
+    }
+
+    /**
+     * One origin per Distance Matrix call, so only the requested elements are billed rather than
+     * an origins x destinations cross product.
+     */
+    @Override
+    public double[] distancesKm(String sourcePincode, List<String> destPincodes) {
+        double[] km = new double[destPincodes.size()];
+        for (int from = 0; from < destPincodes.size(); from += MAX_DESTINATIONS) {
+            int to = Math.min(destPincodes.size(), from + MAX_DESTINATIONS);
+            double[] chunk = mapsClient.fetchDistanceMatrixKm(List.of(sourcePincode), destPincodes.subList(from, to))[0];
+            System.arraycopy(chunk, 0, km, from, to - from);
+        }
+        return km;
+    }
+
+    @Override
+    public Directions directions(String sourcePincode, String destPincode) {
+        return mapsClient.fetchDirections(sourcePincode, destPincode);
+    }
+}
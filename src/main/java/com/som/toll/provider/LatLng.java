@@ -0,0 +1,6 @@
+package com.som.toll.provider;
+
+/**
+ * A geocoded point.
+ */
+public record LatLng(double lat, double lng) {}
@@ -0,0 +1,121 @@
+package com.som.toll.provider;
+
+import com.som.toll.util.GeoUtils;
+import com.som.toll.util.PolylineCodec;
+import org.springframework.core.io.Resource;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Network-free stand-in for Google, for load tests, benchmarks and development.
+ * Pincodes resolve to the bundled centroid table (pincode,latitude,longitude). A pincode missing
+ * from it resolves to the mean centroid of the longest shared prefix of 5, 4 or 3 digits (the
+ * same sorting district), and fails otherwise. Road distance is the haversine distance times
+ * roadFactor, and the route is the straight line between the two centroids.
+ */
+public class OfflineProvider implements GeoProvider, DistanceProvider {
+
+    private static final int MIN_PREFIX = 3;
+
+    private final Map<String, LatLng> centroids;
+    private final Map<String, LatLng> prefixCentroids;
+    private final double roadFactor;
+
+    public OfflineProvider(Map<String, LatLng> centroids, double roadFactor) {
+        if (roadFactor < 1.0) throw new IllegalArgumentException("Road factor must be at least 1");
+        this.centroids = Map.copyOf(centroids);
+        this.prefixCentroids = prefixMeans(centroids);
+        this.roadFactor = roadFactor;
+    }
+
+    /** Loads a pincode,latitude,longitude CSV with a header row. */
+    public static OfflineProvider fromCsv(Resource csv, double roadFactor) {
+        Map<String, LatLng> centroids = new HashMap<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(csv.getInputStream(), StandardCharsets.UTF_8))) {
+            reader.readLine(); // header
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] p = line.split(",");
+                if (p.length < 3 || p[0].isBlank()) continue;
+                centroids.put(p[0].trim(), new LatLng(Double.parseDouble(p[1].trim()), Double.parseDouble(p[2].trim())));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read pincode centroids from " + csv, e);
+        }
+        return new OfflineProvider(centroids, roadFactor);
+    }
+
+    @Override
+    public String name() {
+        return "OFFLINE";
+    }
+
+    @Override
+    public boolean storesResults() {
+        return false; // approximations must not shadow real geocodes
+    }
+
+    @Override
+    public LatLng geocode(String pincode) {
+        LatLng found = centroids.get(pincode);
+        for (int len = pincode.length() - 1; found == null && len >= MIN_PREFIX; len--) {
+            found = prefixCentroids.get(pincode.substring(0, len));
+        }
+        if (found == null) {
+            throw new IllegalArgumentException("No offline centroid for pincode: " + pincode);
+        }
+        return found;
+    }
+
+    @Override
+    public double distanceKm(String sourcePincode, String destPincode) {
+        return roadKm(geocode(sourcePincode), geocode(destPincode));
+    }
+
+    @Override
+    public double[] distancesKm(String sourcePincode, List<String> destPincodes) {
+        LatLng src = geocode(sourcePincode);
+        double[] km = new double[destPincodes.size()];
+        for (int i = 0; i < km.length; i++) {
+            try {
+                km[i] = roadKm(src, geocode(destPincodes.get(i)));
+            } catch (IllegalArgumentException e) {
+                km[i] = Double.NaN;
+            }
+        }
+        return km;
+    }
+
+    @Override
+    public Directions directions(String sourcePincode, String destPincode) {
+        LatLng src = geocode(sourcePincode), dst = geocode(destPincode);
+        String polyline = PolylineCodec.encode(new double[]{src.lat(), src.lng(), dst.lat(), dst.lng()});
+        return new Directions(polyline, roadKm(src, dst));
+    }
+
+    private double roadKm(LatLng a, LatLng b) {
+        return GeoUtils.haversineKm(a.lat(), a.lng(), b.lat(), b.lng()) * roadFactor;
+    }
+
+    private static Map<String, LatLng> prefixMeans(Map<String, LatLng> centroids) {
+        Map<String, double[]> sums = new HashMap<>();
+        centroids.forEach((pincode, c) -> {
+            for (int len = MIN_PREFIX; len < pincode.length(); len++) {
+                double[] s = sums.computeIfAbsent(pincode.substring(0, len), k -> new double[3]);
+                s[0] += c.lat();
+                s[1] += c.lng();
+                s[2]++;
+            }
+        });
+        Map<String, LatLng> means = new HashMap<>();
+        sums.forEach((prefix, s) -> means.put(prefix, new LatLng(s[0] / s[2], s[1] / s[2])));
+        return means;
+    }
+}
@@ -0,0 +1,9 @@
+package com.som.toll.provider;
+
+/** Selects the geocoding and distance provider (toll.provider). */
+public enum ProviderType {
+    /** Google Geocoding, Distance Matrix and Directions APIs. */
+    GOOGLE,
+    /** Bundled pincode centroids and haversine distance × road factor; no network. */
+    OFFLINE
+}
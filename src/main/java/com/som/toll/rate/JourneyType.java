@@ -0,0 +1,36 @@
+package com.som.toll.rate;
+
+import java.util.Locale;
+
+/**
+ * Fee types charged at a plaza: one passage, a return within 24 hours, or a monthly pass.
+ */
+public enum JourneyType {
+
+    SINGLE("single"),
+    RETURN("return"),
+    MONTHLY("monthly");
+
+    /** Request validation pattern for the codes (case-insensitive). */
+    public static final String PATTERN = "(?i)single|return|monthly";
+
+    private final String code;
+
+    JourneyType(String code) {
+        this.code = code;
+    }
+
+    public String code() {
+        return code;
+    }
+
+    /** The type for a code, or {@link #SINGLE} when none is given. */
+    public static JourneyType of(String code) {
+        if (code == null || code.isBlank()) return SINGLE;
+        String normalized = code.trim().toLowerCase(Locale.ROOT);
+        for (JourneyType t : values()) {
+            if (t.code.equals(normalized)) return t;
+        }
+        throw new IllegalArgumentException("Unknown journey type: " + code + " (use single, return or monthly)");
+    }
+}
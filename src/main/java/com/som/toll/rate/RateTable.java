@@ -0,0 +1,156 @@
+package com.som.toll.rate;
+
+import com.som.toll.entity.TollRate;
+import com.som.toll.index.PlazaStore;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Immutable fee table over a {@link PlazaStore}: one flat int array addressed by
+ * slot x vehicle class x journey type, in whole rupees, {@link #UNKNOWN} where no rate is known.
+ * Rate rows are matched to plazas by name and state when the table is built, so a lookup is an
+ * array read.
+ * <p>
+ * Rows without a return or monthly fee get them from the single-journey fee as the National
+ * Highways fee rules set them: a return within 24 hours costs 1.5 single journeys, a monthly
+ * pass two thirds of 50 single journeys, both rounded to the nearest five rupees.
+ */
+@Slf4j
+public final class RateTable {
+
+    public static final int UNKNOWN = -1;
+
+    /** Fees per plaza: one per vehicle class and journey type. */
+    public static final int COMBINATIONS = VehicleClass.values().length * JourneyType.values().length;
+
+    static final double RETURN_JOURNEYS = 1.5;
+    static final int MONTHLY_PASS_JOURNEYS = 50;
+    static final double MONTHLY_PASS_SHARE = 2.0 / 3.0;
+
+    private final PlazaStore store;
+    private final int[] fees;    // null when no plaza has a rate
+    private final int pricedPlazas;
+    private final long version;
+
+    private RateTable(PlazaStore store, int[] fees, int pricedPlazas, long version) {
+        this.store = store;
+        this.fees = fees;
+        this.pricedPlazas = pricedPlazas;
+        this.version = version;
+    }
+
+    /** A table without rates; every fee is {@link #UNKNOWN}. */
+    public static RateTable empty(PlazaStore store) {
+        return new RateTable(store, null, 0, 0);
+    }
+
+    /**
+     * Matches rate rows to the store's plazas by name and state (case-insensitive). A row matches
+     * every plaza with that name in that state; rows matching no plaza are counted and logged.
+     */
+    public static RateTable build(PlazaStore store, List<TollRate> rates) {
+        if (rates.isEmpty()) return empty(store);
+
+        Map<String, List<Integer>> slotsByName = new HashMap<>();
+        for (int s = 0; s < store.size(); s++) {
+            slotsByName.computeIfAbsent(key(store.name(s), store.geoState(s)), k -> new ArrayList<>()).add(s);
+        }
+
+        int[] fees = new int[store.size() * COMBINATIONS];
+        Arrays.fill(fees, UNKNOWN);
+        int unmatched = 0;
+        for (TollRate rate : rates) {
+            List<Integer> slots = slotsByName.get(key(rate.getPlazaName(), rate.getGeoState()));
+            if (slots == null) {
+                unmatched++;
+                continue;
+            }
+            VehicleClass vehicle = VehicleClass.of(rate.getVehicleClass());
+            int single = rate.getSingleJourney();
+            int ret = rate.getReturnJourney() != null ? rate.getReturnJourney() : returnFee(single);
+            int monthly = rate.getMonthlyPass() != null ? rate.getMonthlyPass() : monthlyPass(single);
+            for (int s : slots) {
+                fees[index(s, vehicle, JourneyType.SINGLE)] = single;
+                fees[index(s, vehicle, JourneyType.RETURN)] = ret;
+                fees[index(s, vehicle, JourneyType.MONTHLY)] = monthly;
+            }
+        }
+        if (unmatched > 0) {
+            log.warn("{} toll rate rows match no plaza by name and state", unmatched);
+        }
+
+        int priced = 0;
+        long version = 17;
+        for (int s = 0; s < store.size(); s++) {
+            boolean any = false;
+            for (int k = 0; k < COMBINATIONS; k++) {
+                int fee = fees[s * COMBINATIONS + k];
+                if (fee == UNKNOWN) continue;
+                any = true;
+                version = 31 * (31 * (31 * version + store.id(s)) + k) + fee;
+            }
+            if (any) priced++;
+        }
+        return priced == 0 ? empty(store) : new RateTable(store, fees, priced, version);
+    }
+
+    /** Return-journey fee derived from the single-journey fee. */
+    static int returnFee(int single) {
+        return roundToFive(single * RETURN_JOURNEYS);
+    }
+
+    /** Monthly-pass fee derived from the single-journey fee. */
+    static int monthlyPass(int single) {
+        return roundToFive(single * MONTHLY_PASS_JOURNEYS * MONTHLY_PASS_SHARE);
+    }
+
+    /** Index of a vehicle class and journey type among a plaza's {@link #COMBINATIONS} fees. */
+    public static int combination(VehicleClass vehicle, JourneyType journey) {
+        return vehicle.ordinal() * JourneyType.values().length + journey.ordinal();
+    }
+
+    public PlazaStore store() {
+        return store;
+    }
+
+    /** Fee in rupees at the plaza in the given slot, or {@link #UNKNOWN}. */
+    public int fee(int slot, VehicleClass vehicle, JourneyType journey) {
+        return fee(slot, combination(vehicle, journey));
+    }
+
+    public int fee(int slot, int combination) {
+        return fees == null || slot < 0 ? UNKNOWN : fees[slot * COMBINATIONS + combination];
+    }
+
+    /** Plazas with at least one known fee. */
+    public int pricedPlazas() {
+        return pricedPlazas;
+    }
+
+    /**
+     * Hash of the plaza ids and fees in the table; route totals cached under another version
+     * were computed from different rates.
+     */
+    public long version() {
+        return version;
+    }
+
+    private static int index(int slot, VehicleClass vehicle, JourneyType journey) {
+        return slot * COMBINATIONS + combination(vehicle, journey);
+    }
+
+    private static String key(String name, String state) {
+        return (name == null ? "" : name.trim().toLowerCase(Locale.ROOT)) + '|'
+                + (state == null ? "" : state.trim().toLowerCase(Locale.ROOT));
+    }
+
+    private static int roundToFive(double rupees) {
+        return (int) Math.round(rupees / 5.0) * 5;
+    }
+}
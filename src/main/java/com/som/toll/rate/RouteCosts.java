@@ -0,0 +1,111 @@
+package com.som.toll.rate;
+
+import com.som.toll.index.PlazaStore;
+
+/**
+ * Fees of one route's plazas for every vehicle class and journey type, with the route totals
+ * precomputed, so pricing a response for a request is a few array reads. Kept with the cached
+ * route; plazas are in response order. Immutable.
+ */
+public final class RouteCosts {
+
+    private final RateTable rates;
+    private final int[] slots;     // plaza slots in rates.store(), -1 for a plaza no longer there
+    private final int[] totals;    // per combination: sum of the known fees
+    private final int[] unpriced;  // per combination: plazas without a known fee
+
+    private RouteCosts(RateTable rates, int[] slots, int[] totals, int[] unpriced) {
+        this.rates = rates;
+        this.slots = slots;
+        this.totals = totals;
+        this.unpriced = unpriced;
+    }
+
+    /** Costs of the plazas with the given ids, in that order, at the given rates. */
+    public static RouteCosts of(RateTable rates, long[] plazaIds) {
+        int[] slots = slotsOf(rates.store(), plazaIds);
+        int[] totals = new int[RateTable.COMBINATIONS];
+        int[] unpriced = new int[RateTable.COMBINATIONS];
+        for (int slot : slots) {
+            for (int k = 0; k < RateTable.COMBINATIONS; k++) {
+                int fee = rates.fee(slot, k);
+                if (fee == RateTable.UNKNOWN) unpriced[k]++;
+                else totals[k] += fee;
+            }
+        }
+        return new RouteCosts(rates, slots, totals, unpriced);
+    }
+
+    /**
+     * Costs with totals computed earlier at the same rates (same {@link RateTable#version()}),
+     * e.g. read back from the route cache.
+     */
+    public static RouteCosts of(RateTable rates, long[] plazaIds, int[] totals, int[] unpriced) {
+        if (totals.length != RateTable.COMBINATIONS || unpriced.length != RateTable.COMBINATIONS) {
+            throw new IllegalArgumentException("Expected " + RateTable.COMBINATIONS + " totals");
+        }
+        return new RouteCosts(rates, slotsOf(rates.store(), plazaIds), totals.clone(), unpriced.clone());
+    }
+
+    private static int[] slotsOf(PlazaStore store, long[] plazaIds) {
+        int[] slots = new int[plazaIds.length];
+        for (int i = 0; i < plazaIds.length; i++) {
+            slots[i] = store.slotOf(plazaIds[i]);
+        }
+        return slots;
+    }
+
+    /** True when these costs were computed from the given table (not an older or newer one). */
+    public boolean pricedWith(RateTable table) {
+        return rates == table;
+    }
+
+    public long ratesVersion() {
+        return rates.version();
+    }
+
+    /** Ids of the route's plazas, in response order. */
+    public long[] plazaIds() {
+        long[] ids = new long[slots.length];
+        for (int i = 0; i < slots.length; i++) {
+            ids[i] = slots[i] < 0 ? -1 : rates.store().id(slots[i]);
+        }
+        return ids;
+    }
+
+    public int size() {
+        return slots.length;
+    }
+
+    /** Fee at the i-th plaza of the route, or {@link RateTable#UNKNOWN}. */
+    public int fee(int plaza, VehicleClass vehicle, JourneyType journey) {
+        return rates.fee(slots[plaza], RateTable.combination(vehicle, journey));
+    }
+
+    public int total(VehicleClass vehicle, JourneyType journey) {
+        return totals[RateTable.combination(vehicle, journey)];
+    }
+
+    public int unpriced(VehicleClass vehicle, JourneyType journey) {
+        return unpriced[RateTable.combination(vehicle, journey)];
+    }
+
+    /** Total for a {@link RateTable#combination}. */
+    public int total(int combination) {
+        return totals[combination];
+    }
+
+    /** Unpriced plazas for a {@link RateTable#combination}. */
+    public int unpriced(int combination) {
+        return unpriced[combination];
+    }
+
+    /** The same costs with plazas reordered: plaza i of the result is plaza order[i] of this. */
+    public RouteCosts permuted(int[] order) {
+        int[] reordered = new int[order.length];
+        for (int i = 0; i < order.length; i++) {
+            reordered[i] = slots[order[i]];
+        }
+        return new RouteCosts(rates, reordered, totals, unpriced);
+    }
+}
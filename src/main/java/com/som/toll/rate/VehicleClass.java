@@ -0,0 +1,38 @@
+package com.som.toll.rate;
+
+import java.util.Locale;
+
+/**
+ * Vehicle classes the rate table prices. The code is the value used in the rate CSV and in requests.
+ */
+public enum VehicleClass {
+
+    CAR("car"),
+    LCV("lcv"),
+    BUS("bus"),
+    TRUCK("truck"),
+    MULTI_AXLE("multi-axle");
+
+    /** Request validation pattern for the codes (case-insensitive, '_' accepted for '-'). */
+    public static final String PATTERN = "(?i)car|lcv|bus|truck|multi[-_]axle";
+
+    private final String code;
+
+    VehicleClass(String code) {
+        this.code = code;
+    }
+
+    public String code() {
+        return code;
+    }
+
+    /** The class for a code, or {@link #CAR} when none is given. */
+    public static VehicleClass of(String code) {
+        if (code == null || code.isBlank()) return CAR;
+        String normalized = code.trim().toLowerCase(Locale.ROOT).replace('_', '-');
+        for (VehicleClass c : values()) {
+            if (c.code.equals(normalized)) return c;
+        }
+        throw new IllegalArgumentException("Unknown vehicle class: " + code + " (use car, lcv, bus, truck or multi-axle)");
+    }
+}
@@ -0,0 +1,14 @@
+package com.som.toll.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import com.som.toll.entity.PincodeLocation;
+
+import java.util.List;
+
+public interface PincodeLocationRepository extends JpaRepository<PincodeLocation, String> {
+
+    @Query("select p.pincode from PincodeLocation p")
+    List<String> findAllPincodes();
+}
@@ -0,0 +1,7 @@
+package com.som.toll.repository;
+
+import com.som.toll.entity.TollRate;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface TollRateRepository extends JpaRepository<TollRate, Long> {
+}
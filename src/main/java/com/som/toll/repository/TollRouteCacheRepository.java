@@ -1,12 +1,65 @@
 package com.som.toll.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.som.toll.entity.TollRouteCache;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
-public interface TollRouteCacheRepository extends JpaRepository<TollRouteCache, Long> {
-    Optional<TollRouteCache> findBySourcePincodeAndDestinationPincode(String source, String destination);
-}
+/**
+ * toll_route_cache holds one row per (source, destination) pair, enforced by a unique index;
+ * writes go through {@link TollRouteCacheRepositoryCustom#upsert}. Rows older than the TTL are
+ * ignored by the finders below and purged in the background.
+ */
+public interface TollRouteCacheRepository extends JpaRepository<TollRouteCache, Long>, TollRouteCacheRepositoryCustom {
+
+    // newest first, in case duplicates from before the unique index are still around
+    Optional<TollRouteCache> findFirstBySourcePincodeAndDestinationPincodeAndCreatedAtAfterOrderByCreatedAtDesc(
+            String source, String destination, LocalDateTime notBefore);
+
+    /** The pair's row when written after notBefore. */
+    default Optional<TollRouteCache> findFresh(String source, String destination, LocalDateTime notBefore) {
+        return findFirstBySourcePincodeAndDestinationPincodeAndCreatedAtAfterOrderByCreatedAtDesc(
+                source, destination, notBefore);
+    }
 
+    /** Rows written after notBefore for the sources x destinations cross product. */
+    @Query("""
+            select c from TollRouteCache c
+            where c.sourcePincode in :sources and c.destinationPincode in :destinations and c.createdAt > :notBefore
+            """)
+    List<TollRouteCache> findAllFresh(@Param("sources") Collection<String> sources,
+                                      @Param("destinations") Collection<String> destinations,
+                                      @Param("notBefore") LocalDateTime notBefore);
+
+    /**
+     * Entries whose corridor box contains the point, plus legacy entries without a box.
+     * Only the footprint columns are read, not the response.
+     */
+    @Query("""
+            select c.id as id, c.sourcePincode as sourcePincode, c.destinationPincode as destinationPincode,
+                   c.sourceLat as sourceLat, c.sourceLng as sourceLng,
+                   c.destinationLat as destinationLat, c.destinationLng as destinationLng,
+                   c.corridorMode as corridorMode
+            from TollRouteCache c
+            where c.minLat is null
+               or (c.minLat <= :lat and c.maxLat >= :lat and c.minLng <= :lng and c.maxLng >= :lng)
+            """)
+    List<RouteFootprint> findFootprintsAround(@Param("lat") double lat, @Param("lng") double lng);
+
+    interface RouteFootprint {
+        Long getId();
+        String getSourcePincode();
+        String getDestinationPincode();
+        Double getSourceLat();
+        Double getSourceLng();
+        Double getDestinationLat();
+        Double getDestinationLng();
+        String getCorridorMode();
+    }
+}
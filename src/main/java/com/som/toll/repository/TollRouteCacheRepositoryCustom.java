@@ -0,0 +1,21 @@
+package com.som.toll.repository;
+
+import com.som.toll.entity.TollRouteCache;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface TollRouteCacheRepositoryCustom {
+
+    /** Inserts the pair's row or replaces the existing one (INSERT ... ON DUPLICATE KEY UPDATE). */
+    void upsert(TollRouteCache row);
+
+    /** {@link #upsert} for many rows, sent as JDBC batches. */
+    void upsertAll(List<TollRouteCache> rows);
+
+    /**
+     * Deletes up to limit rows created before the cutoff, or without a creation time (never served);
+     * returns the number deleted.
+     */
+    int deleteCreatedBefore(LocalDateTime cutoff, int limit);
+}
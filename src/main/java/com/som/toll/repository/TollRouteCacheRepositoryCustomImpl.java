@@ -0,0 +1,81 @@
+package com.som.toll.repository;
+
+import com.som.toll.entity.TollRouteCache;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * MySQL-specific writes for toll_route_cache that JPA cannot express: upsert on the unique
+ * (source_pincode, destination_pincode) index and LIMIT-ed deletes.
+ */
+class TollRouteCacheRepositoryCustomImpl implements TollRouteCacheRepositoryCustom {
+
+    private static final String UPSERT_SQL = """
+            INSERT INTO toll_route_cache
+                (source_pincode, destination_pincode, response_json, response_blob, created_at,
+                 source_lat, source_lng, destination_lat, destination_lng,
+                 min_lat, max_lat, min_lng, max_lng, corridor_mode, path_length_km)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            ON DUPLICATE KEY UPDATE
+                response_json = VALUES(response_json), response_blob = VALUES(response_blob),
+                created_at = VALUES(created_at),
+                source_lat = VALUES(source_lat), source_lng = VALUES(source_lng),
+                destination_lat = VALUES(destination_lat), destination_lng = VALUES(destination_lng),
+                min_lat = VALUES(min_lat), max_lat = VALUES(max_lat),
+                min_lng = VALUES(min_lng), max_lng = VALUES(max_lng),
+                corridor_mode = VALUES(corridor_mode), path_length_km = VALUES(path_length_km)
+            """;
+
+    private static final int BATCH_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    TollRouteCacheRepositoryCustomImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void upsert(TollRouteCache row) {
+        jdbcTemplate.update(UPSERT_SQL, ps -> bind(ps, row));
+    }
+
+    @Override
+    public void upsertAll(List<TollRouteCache> rows) {
+        jdbcTemplate.batchUpdate(UPSERT_SQL, rows, BATCH_SIZE, TollRouteCacheRepositoryCustomImpl::bind);
+    }
+
+    @Override
+    public int deleteCreatedBefore(LocalDateTime cutoff, int limit) {
+        return jdbcTemplate.update("DELETE FROM toll_route_cache WHERE created_at IS NULL OR created_at < ? LIMIT ?",
+                Timestamp.valueOf(cutoff), limit);
+    }
+
+    private static void bind(PreparedStatement ps, TollRouteCache row) throws SQLException {
+        ps.setString(1, row.getSourcePincode());
+        ps.setString(2, row.getDestinationPincode());
+        ps.setString(3, row.getResponseJson());
+        ps.setBytes(4, row.getResponseBlob());
+        ps.setTimestamp(5, row.getCreatedAt() != null ? Timestamp.valueOf(row.getCreatedAt()) : null);
+        setDouble(ps, 6, row.getSourceLat());
+        setDouble(ps, 7, row.getSourceLng());
+        setDouble(ps, 8, row.getDestinationLat());
+        setDouble(ps, 9, row.getDestinationLng());
+        setDouble(ps, 10, row.getMinLat());
+        setDouble(ps, 11, row.getMaxLat());
+        setDouble(ps, 12, row.getMinLng());
+        setDouble(ps, 13, row.getMaxLng());
+        ps.setString(14, row.getCorridorMode());
+        setDouble(ps, 15, row.getPathLengthKm());
+    }
+
+    private static void setDouble(PreparedStatement ps, int index, Double value) throws SQLException {
+        if (value == null) ps.setNull(index, Types.DOUBLE);
+        else ps.setDouble(index, value);
+    }
+}
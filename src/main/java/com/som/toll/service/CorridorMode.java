@@ -0,0 +1,11 @@
+package com.som.toll.service;
+
+/**
+ * How a route's corridor is built (toll.corridor.mode).
+ */
+public enum CorridorMode {
+    /** Straight great-circle line between the geocoded pincodes; no extra API call. */
+    GREAT_CIRCLE,
+    /** Road polyline from the Directions API; distances are measured along the route. */
+    POLYLINE
+}
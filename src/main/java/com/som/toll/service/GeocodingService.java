@@ -1,22 +1,147 @@
 package com.som.toll.service;
 
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.som.toll.entity.PincodeLocation;
+import com.som.toll.observability.PipelineMetrics;
+import com.som.toll.repository.PincodeLocationRepository;
+import com.som.toll.util.SingleFlight;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import com.som.toll.client.GoogleMapsClient;
+import com.som.toll.provider.GeoProvider;
+import com.som.toll.provider.LatLng;
 
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Resolves a pincode to {lat, lng}: in-memory cache, then the pincode_location table,
+ * then the geo provider (Google by default) whose result is written back to both.
+ * When the provider fails and a fallback provider is configured, the fallback's answer is
+ * returned for that call only: it is neither cached nor stored, and {@link #locate} marks it.
+ * Lookups are timed as stage geocode (cache=hit|miss) and provider calls as geocode.provider.
+ */
 @Service
 public class GeocodingService {
 
-    private final GoogleMapsClient mapsClient;
+    private static final Logger log = LoggerFactory.getLogger(GeocodingService.class);
+
+    private final GeoProvider geoProvider;
+    private final Optional<GeoProvider> fallback;
+    private final PincodeLocationRepository pincodeRepository;
+    private final Cache<String, LatLng> cache;
+    private final SingleFlight<String, ProviderAnswer<LatLng>> lookups = new SingleFlight<>();
+    private final PipelineMetrics metrics;
 
-    public GeocodingService(GoogleMapsClient mapsClient) {
-        this.mapsClient = mapsClient;
+    public GeocodingService(@Qualifier("geoProvider") GeoProvider geoProvider,
+                            @Qualifier("fallbackGeoProvider") Optional<GeoProvider> fallback,
+                            PincodeLocationRepository pincodeRepository,
+                            @Value("${toll.geocode.cache.max-size:50000}") long maxSize,
+                            MeterRegistry meterRegistry) {
+        this.geoProvider = geoProvider;
+        this.fallback = fallback;
+        this.pincodeRepository = pincodeRepository;
+        this.cache = Caffeine.newBuilder().maximumSize(maxSize).recordStats().build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "toll.geocode");
+        this.metrics = new PipelineMetrics(meterRegistry);
     }
 
     public double[] geocode(String pincode) {
-        var latLng = mapsClient.geocodePincode(pincode);
+        return locate(pincode).value();
+    }
+
+    /** The pincode's {lat, lng}, marked when the fallback provider answered it. */
+    public ProviderAnswer<double[]> locate(String pincode) {
+        Timer.Sample sample = metrics.start();
+        var latLng = cache.getIfPresent(pincode);
+        if (latLng == null) {
+            // Loaded outside Caffeine's compute so a slow Google call never holds a cache lock;
+            // concurrent misses for the same pincode share one lookup
+            String outcome = "error";
+            try {
+                var answer = lookups.execute(pincode, () -> lookup(pincode));
+                outcome = "success";
+                return new ProviderAnswer<>(toArray(answer.value()), answer.fallback());
+            } finally {
+                metrics.stop(sample, "geocode", "cache", "miss", "outcome", outcome);
+            }
+        }
+        metrics.stop(sample, "geocode", "cache", "hit", "outcome", "success");
+        return ProviderAnswer.primary(toArray(latLng));
+    }
+
+    private static double[] toArray(LatLng latLng) {
         return new double[]{ latLng.lat(), latLng.lng() };
     }
-}
 
+    /**
+     * The pincode's location from the in-memory cache or the pincode_location table, without
+     * calling a provider. Blocking (database).
+     */
+    public Optional<LatLng> known(String pincode) {
+        var known = cache.asMap().get(pincode); // without counting another miss
+        if (known != null) return Optional.of(known);
+
+        var stored = pincodeRepository.findById(pincode);
+        if (stored.isPresent()) {
+            var latLng = new LatLng(stored.get().getLatitude(), stored.get().getLongitude());
+            cache.put(pincode, latLng);
+            return Optional.of(latLng);
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Caches a location the primary provider returned outside this service (the reactive
+     * Google client), and stores it when the provider's results are kept. Blocking (database).
+     */
+    public void remember(String pincode, LatLng latLng) {
+        cache.put(pincode, latLng);
+        if (geoProvider.storesResults()) {
+            try {
+                pincodeRepository.save(PincodeLocation.builder()
+                        .pincode(pincode)
+                        .latitude(latLng.lat())
+                        .longitude(latLng.lng())
+                        .source(geoProvider.name())
+                        .updatedAt(LocalDateTime.now())
+                        .build());
+            } catch (Exception e) {
+                log.warn("Failed to store geocode for {}: {}", pincode, e.getMessage());
+            }
+        }
+    }
+
+    /** Loads the pincode and caches it, unless the answer came from the fallback provider. */
+    private ProviderAnswer<LatLng> lookup(String pincode) {
+        var known = known(pincode);
+        if (known.isPresent()) return ProviderAnswer.primary(known.get());
+
+        LatLng latLng;
+        try {
+            latLng = providerGeocode(geoProvider, pincode);
+        } catch (IllegalArgumentException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            if (fallback.isEmpty()) throw e;
+            log.warn("{} geocoding failed for {}, using {}: {}",
+                    geoProvider.name(), pincode, fallback.get().name(), e.getMessage());
+            return ProviderAnswer.fromFallback(providerGeocode(fallback.get(), pincode));
+        }
+
+        remember(pincode, latLng);
+        return ProviderAnswer.primary(latLng);
+    }
+
+    private LatLng providerGeocode(GeoProvider provider, String pincode) {
+        return metrics.time("geocode.provider", () -> provider.geocode(pincode), "provider", provider.name());
+    }
+}
@@ -0,0 +1,17 @@
+package com.som.toll.service;
+
+/**
+ * A geocoding or distance answer, and whether the fallback provider gave it because the primary
+ * one failed. Fallback answers are rough (e.g. centroids and straight-line distances), so routes
+ * computed from them are answered but not cached.
+ */
+public record ProviderAnswer<T>(T value, boolean fallback) {
+
+    public static <T> ProviderAnswer<T> primary(T value) {
+        return new ProviderAnswer<>(value, false);
+    }
+
+    public static <T> ProviderAnswer<T> fromFallback(T value) {
+        return new ProviderAnswer<>(value, true);
+    }
+}
@@ -0,0 +1,136 @@
+package com.som.toll.service;
+
+import com.som.toll.client.ReactiveGoogleMapsClient;
+import com.som.toll.observability.PipelineMetrics;
+import com.som.toll.provider.DistanceProvider;
+import com.som.toll.provider.GeoProvider;
+import com.som.toll.provider.LatLng;
+import com.som.toll.provider.ProviderType;
+import com.som.toll.util.PolylineCodec;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+
+import static com.som.toll.observability.ReactiveCorrelationIdFilter.withMdc;
+
+/**
+ * Non-blocking {@link RouteInputResolver}: both geocodes and the distance (or polyline) are
+ * requested concurrently, and the first failure or the timeout cancels the rest.
+ * With toll.provider=google the Google calls go through {@link ReactiveGoogleMapsClient}; the
+ * pincode_location lookups and writes, and any offline provider call, run on boundedElastic.
+ * As there, inputs that came from the fallback provider are marked, so their routes are not cached.
+ */
+@Service
+@Profile("reactive")
+public class ReactiveRouteInputResolver {
+
+    private static final Logger log = LoggerFactory.getLogger(ReactiveRouteInputResolver.class);
+
+    private final ReactiveGoogleMapsClient google;
+    private final GeocodingService geocodingService;
+    private final RouteService routeService;
+    private final Optional<GeoProvider> geoFallback;
+    private final Optional<DistanceProvider> distanceFallback;
+    private final boolean useGoogle;
+    private final Duration timeout;
+    private final PipelineMetrics metrics;
+
+    public ReactiveRouteInputResolver(ReactiveGoogleMapsClient google,
+                                      GeocodingService geocodingService,
+                                      RouteService routeService,
+                                      @Qualifier("fallbackGeoProvider") Optional<GeoProvider> geoFallback,
+                                      @Qualifier("fallbackDistanceProvider") Optional<DistanceProvider> distanceFallback,
+                                      @Value("${toll.provider:google}") ProviderType provider,
+                                      @Value("${toll.lookup.timeout:5s}") Duration timeout,
+                                      MeterRegistry meterRegistry) {
+        this.google = google;
+        this.geocodingService = geocodingService;
+        this.routeService = routeService;
+        this.geoFallback = geoFallback;
+        this.distanceFallback = distanceFallback;
+        this.useGoogle = provider == ProviderType.GOOGLE;
+        this.timeout = timeout;
+        this.metrics = new PipelineMetrics(meterRegistry);
+    }
+
+    public Mono<RouteInputs> resolve(String sourcePincode, String destPincode) {
+        Mono<ProviderAnswer<double[]>> src = geocode(sourcePincode);
+        Mono<ProviderAnswer<double[]>> dst = geocode(destPincode);
+        Mono<RouteInputs> inputs = routeService.corridorMode() == CorridorMode.POLYLINE
+                ? Mono.zip(src, dst, path(sourcePincode, destPincode)).map(t -> new RouteInputs(
+                        t.getT1().value(), t.getT2().value(), t.getT3().value().distanceKm(), t.getT3().value().points(),
+                        t.getT1().fallback() || t.getT2().fallback() || t.getT3().fallback()))
+                : Mono.zip(src, dst, distanceKm(sourcePincode, destPincode)).map(t -> new RouteInputs(
+                        t.getT1().value(), t.getT2().value(), t.getT3().value(), null,
+                        t.getT1().fallback() || t.getT2().fallback() || t.getT3().fallback()));
+        return inputs.timeout(timeout, Mono.error(() -> new RouteLookupTimeoutException("Route lookups for " + sourcePincode
+                + " -> " + destPincode + " timed out after " + timeout.toMillis() + " ms")));
+    }
+
+    private Mono<ProviderAnswer<double[]>> geocode(String pincode) {
+        if (!useGoogle) {
+            return blocking(() -> geocodingService.locate(pincode));
+        }
+        Mono<ProviderAnswer<LatLng>> fromGoogle = metrics.timeAsync("geocode.provider", google.geocodePincode(pincode), "provider", "GOOGLE")
+                .flatMap(latLng -> blocking(() -> {
+                    geocodingService.remember(pincode, latLng);
+                    return ProviderAnswer.primary(latLng);
+                }))
+                .onErrorResume(e -> canFallBack(e, geoFallback), e -> {
+                    log.warn("GOOGLE geocoding failed for {}, using {}: {}", pincode, geoFallback.get().name(), e.getMessage());
+                    return blocking(() -> ProviderAnswer.fromFallback(geoFallback.get().geocode(pincode)));
+                });
+        return blocking(() -> geocodingService.known(pincode).map(ProviderAnswer::primary).orElse(null))
+                .switchIfEmpty(Mono.defer(() -> fromGoogle))
+                .map(a -> new ProviderAnswer<>(new double[]{a.value().lat(), a.value().lng()}, a.fallback()));
+    }
+
+    private Mono<ProviderAnswer<Double>> distanceKm(String sourcePincode, String destPincode) {
+        if (!useGoogle) {
+            return blocking(() -> routeService.distance(sourcePincode, destPincode));
+        }
+        return metrics.timeAsync("distance", google.fetchDistanceKm(sourcePincode, destPincode),
+                        "api", "distance", "provider", "GOOGLE")
+                .map(ProviderAnswer::primary)
+                .onErrorResume(e -> canFallBack(e, distanceFallback), e -> {
+                    log.warn("GOOGLE distance {} -> {} failed, using {}: {}", sourcePincode, destPincode,
+                            distanceFallback.get().name(), e.getMessage());
+                    return blocking(() -> ProviderAnswer.fromFallback(distanceFallback.get().distanceKm(sourcePincode, destPincode)));
+                });
+    }
+
+    private Mono<ProviderAnswer<RoutePath>> path(String sourcePincode, String destPincode) {
+        if (!useGoogle) {
+            return blocking(() -> routeService.route(sourcePincode, destPincode));
+        }
+        return metrics.timeAsync("distance", google.fetchDirections(sourcePincode, destPincode),
+                        "api", "directions", "provider", "GOOGLE")
+                .map(ProviderAnswer::primary)
+                .onErrorResume(e -> canFallBack(e, distanceFallback), e -> {
+                    log.warn("GOOGLE directions {} -> {} failed, using {}: {}", sourcePincode, destPincode,
+                            distanceFallback.get().name(), e.getMessage());
+                    return blocking(() -> ProviderAnswer.fromFallback(distanceFallback.get().directions(sourcePincode, destPincode)));
+                })
+                .map(a -> new ProviderAnswer<>(
+                        new RoutePath(PolylineCodec.decode(a.value().encodedPolyline()), a.value().distanceKm()), a.fallback()));
+    }
+
+    /** An unknown or unroutable pincode is the answer, not a provider failure. */
+    private static boolean canFallBack(Throwable e, Optional<?> fallback) {
+        return fallback.isPresent() && !(e instanceof IllegalArgumentException);
+    }
+
+    private static <T> Mono<T> blocking(Callable<T> task) {
+        return withMdc(task).subscribeOn(Schedulers.boundedElastic());
+    }
+}
@@ -0,0 +1,59 @@
+package com.som.toll.service;
+
+import com.som.toll.cache.RouteKey;
+import com.som.toll.dto.TollPlazaResponse;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.som.toll.observability.ReactiveCorrelationIdFilter.withMdc;
+
+/**
+ * Reactive form of {@link TollPlazaService#findTollsOnRoute(String, String, java.util.function.Supplier, boolean)}
+ * with the same caching: cache reads and writes (JPA) run on boundedElastic, input resolution is
+ * non-blocking, and the corridor computation runs on the bounded computeScheduler.
+ * Concurrent misses for the same pair share one computation.
+ */
+@Service
+@Profile("reactive")
+public class ReactiveTollPlazaService {
+
+    private final TollPlazaService tollPlazaService;
+    private final ReactiveRouteInputResolver inputResolver;
+    private final Scheduler computeScheduler;
+    private final Map<RouteKey, Mono<TollPlazaResponse>> inFlight = new ConcurrentHashMap<>();
+
+    public ReactiveTollPlazaService(TollPlazaService tollPlazaService,
+                                    ReactiveRouteInputResolver inputResolver,
+                                    @Qualifier("computeScheduler") Scheduler computeScheduler) {
+        this.tollPlazaService = tollPlazaService;
+        this.inputResolver = inputResolver;
+        this.computeScheduler = computeScheduler;
+    }
+
+    public Mono<TollPlazaResponse> findTollsOnRoute(String source, String destination, boolean refresh) {
+        var key = new RouteKey(source, destination);
+        if (refresh) {
+            return compute(key);
+        }
+        return withMdc(() -> tollPlazaService.cached(key).orElse(null))
+                .subscribeOn(Schedulers.boundedElastic())
+                .switchIfEmpty(Mono.defer(() -> compute(key)));
+    }
+
+    private Mono<TollPlazaResponse> compute(RouteKey key) {
+        return inFlight.computeIfAbsent(key, k -> inputResolver.resolve(k.source(), k.destination())
+                .flatMap(inputs -> withMdc(() -> tollPlazaService.computeRoute(k, inputs))
+                        .subscribeOn(computeScheduler))
+                .flatMap(computed -> withMdc(() -> tollPlazaService.store(computed))
+                        .subscribeOn(Schedulers.boundedElastic()))
+                .doFinally(signal -> inFlight.remove(k))
+                .share());
+    }
+}
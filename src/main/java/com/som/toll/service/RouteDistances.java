@@ -0,0 +1,20 @@
+package com.som.toll.service;
+
+import com.som.toll.cache.RouteKey;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Road distances for a set of pairs: the distance of each pair that has one, why each of the
+ * others has none (e.g. no road route, or the lookup from its source failed), and the pairs
+ * whose distance came from the fallback provider.
+ */
+public record RouteDistances(Map<RouteKey, Double> km,
+                             Map<RouteKey, RuntimeException> failures,
+                             Set<RouteKey> fallback) {
+
+    public RouteDistances(Map<RouteKey, Double> km, Map<RouteKey, RuntimeException> failures) {
+        this(km, failures, Set.of());
+    }
+}
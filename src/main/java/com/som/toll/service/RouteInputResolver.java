@@ -0,0 +1,73 @@
+package com.som.toll.service;
+
+import com.som.toll.client.GoogleApiException;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.*;
+
+/**
+ * Resolves the external inputs of a route (both geocodes and the road distance, or the road
+ * polyline in polyline corridor mode) concurrently.
+ * The three calls are independent, so cold-path latency is the slowest call rather than their sum.
+ * The first failure or the timeout ({@link RouteLookupTimeoutException}) cancels the calls still running. The inputs are marked as
+ * fallback when any of the three came from the fallback provider.
+ */
+@Service
+public class RouteInputResolver {
+
+    private final GeocodingService geocodingService;
+    private final RouteService routeService;
+    private final ExecutorService executor;
+    private final Duration timeout;
+
+    public RouteInputResolver(GeocodingService geocodingService,
+                              RouteService routeService,
+                              @Qualifier("lookupExecutor") ExecutorService executor,
+                              @Value("${toll.lookup.timeout:5s}") Duration timeout) {
+        this.geocodingService = geocodingService;
+        this.routeService = routeService;
+        this.executor = executor;
+        this.timeout = timeout;
+    }
+
+    public RouteInputs resolve(String sourcePincode, String destPincode) {
+        var completion = new ExecutorCompletionService<ProviderAnswer<?>>(executor);
+        Future<ProviderAnswer<?>> src = completion.submit(() -> geocodingService.locate(sourcePincode));
+        Future<ProviderAnswer<?>> dst = completion.submit(() -> geocodingService.locate(destPincode));
+        Future<ProviderAnswer<?>> route = routeService.corridorMode() == CorridorMode.POLYLINE
+                ? completion.submit(() -> routeService.route(sourcePincode, destPincode))
+                : completion.submit(() -> routeService.distance(sourcePincode, destPincode));
+        List<Future<ProviderAnswer<?>>> all = List.of(src, dst, route);
+
+        long deadline = System.nanoTime() + timeout.toNanos();
+        try {
+            for (int i = 0; i < all.size(); i++) {
+                Future<ProviderAnswer<?>> done = completion.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                if (done == null) {
+                    throw new RouteLookupTimeoutException("Route lookups for " + sourcePincode + " -> " + destPincode
+                            + " timed out after " + timeout.toMillis() + " ms");
+                }
+                done.get(); // surfaces the first failure
+            }
+            double[] source = (double[]) src.get().value(), destination = (double[]) dst.get().value();
+            boolean fallback = src.get().fallback() || dst.get().fallback() || route.get().fallback();
+            if (route.get().value() instanceof RoutePath path) {
+                return new RouteInputs(source, destination, path.distanceKm(), path.points(), fallback);
+            }
+            return new RouteInputs(source, destination, (Double) route.get().value(), null, fallback);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            if (e.getCause() instanceof Error error) throw error;
+            throw new GoogleApiException("Route lookup failed: " + e.getCause().getMessage(), e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while resolving route lookups", e);
+        } finally {
+            all.forEach(f -> f.cancel(true));
+        }
+    }
+}
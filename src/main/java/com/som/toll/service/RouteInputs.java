@@ -0,0 +1,17 @@
+package com.som.toll.service;
+
+/**
+ * External inputs of a toll computation: geocoded endpoints ({lat, lng}), road distance and,
+ * in polyline corridor mode, the decoded route polyline {lat0, lng0, lat1, lng1, ...} (else null).
+ * fallback is set when any of them came from the fallback provider; such routes are not cached.
+ */
+public record RouteInputs(double[] source, double[] destination, double distanceKm, double[] path, boolean fallback) {
+
+    public RouteInputs(double[] source, double[] destination, double distanceKm) {
+        this(source, destination, distanceKm, null, false);
+    }
+
+    public RouteInputs(double[] source, double[] destination, double distanceKm, double[] path) {
+        this(source, destination, distanceKm, path, false);
+    }
+}
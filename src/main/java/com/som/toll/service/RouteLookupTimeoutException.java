@@ -0,0 +1,12 @@
+package com.som.toll.service;
+
+/**
+ * The external lookups of a route (geocodes and distance or polyline) did not finish within
+ * toll.lookup.timeout. A slow upstream, not a server fault: reported to clients as 504 Gateway Timeout.
+ */
+public class RouteLookupTimeoutException extends RuntimeException {
+
+    public RouteLookupTimeoutException(String message) {
+        super(message);
+    }
+}
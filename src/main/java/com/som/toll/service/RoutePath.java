@@ -0,0 +1,6 @@
+package com.som.toll.service;
+
+/**
+ * Road route between two pincodes: decoded polyline {lat0, lng0, lat1, lng1, ...} and distance.
+ */
+public record RoutePath(double[] points, double distanceKm) {}
@@ -0,0 +1,86 @@
+package com.som.toll.service;
+
+import com.som.toll.cache.HotRouteTracker;
+import com.som.toll.cache.RouteKey;
+import com.som.toll.cache.StaleRouteServedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Recomputes cached routes in the background: stale responses right after they were served
+ * (stale-while-revalidate), and the most requested pairs on the toll.cache.refresh.hot-cron schedule,
+ * which should fall in an off-peak window.
+ * Refreshes run on the bounded refreshExecutor, at most one per pair at a time; when its queue is
+ * full further requests are dropped, and a stale pair is simply requested again on its next hit.
+ */
+@Component
+public class RouteRefresher {
+
+    private static final Logger log = LoggerFactory.getLogger(RouteRefresher.class);
+
+    private final TollPlazaService tollPlazaService;
+    private final RouteInputResolver inputResolver;
+    private final HotRouteTracker hotRoutes;
+    private final ExecutorService executor;
+    private final Set<RouteKey> inFlight = ConcurrentHashMap.newKeySet();
+
+    public RouteRefresher(TollPlazaService tollPlazaService,
+                          RouteInputResolver inputResolver,
+                          HotRouteTracker hotRoutes,
+                          @Qualifier("refreshExecutor") ExecutorService executor) {
+        this.tollPlazaService = tollPlazaService;
+        this.inputResolver = inputResolver;
+        this.hotRoutes = hotRoutes;
+        this.executor = executor;
+    }
+
+    @EventListener
+    public void onStaleRouteServed(StaleRouteServedEvent event) {
+        refresh(event.key());
+    }
+
+    @Scheduled(cron = "${toll.cache.refresh.hot-cron:0 0 4 * * *}")
+    public void refreshHotRoutes() {
+        var hottest = hotRoutes.hottest();
+        int submitted = 0;
+        for (RouteKey key : hottest) {
+            if (refresh(key)) submitted++;
+        }
+        log.info("Hot route refresh: {} of {} tracked pairs submitted", submitted, hottest.size());
+    }
+
+    /**
+     * Queues a recomputation of the pair unless one is already pending or the queue is full.
+     *
+     * @return whether a refresh was queued
+     */
+    public boolean refresh(RouteKey key) {
+        if (!inFlight.add(key)) return false;
+        try {
+            executor.execute(() -> {
+                try {
+                    tollPlazaService.compute(key, () -> inputResolver.resolve(key.source(), key.destination()), false);
+                    log.debug("Refreshed {} -> {}", key.source(), key.destination());
+                } catch (Exception e) {
+                    log.warn("Refresh of {} -> {} failed: {}", key.source(), key.destination(), e.getMessage());
+                } finally {
+                    inFlight.remove(key);
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(key);
+            log.debug("Refresh queue full, skipping {} -> {}", key.source(), key.destination());
+            return false;
+        }
+    }
+}
@@ -1,18 +1,187 @@
 package com.som.toll.service;
 
-import com.som.toll.client.GoogleMapsClient;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.som.toll.cache.RouteKey;
+import com.som.toll.observability.PipelineMetrics;
+import com.som.toll.provider.Directions;
+import com.som.toll.provider.DistanceProvider;
+import com.som.toll.util.PolylineCodec;
+import com.som.toll.util.SingleFlight;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+
+/**
+ * Road distances and routes from the distance provider (Google by default).
+ * When the provider fails and a fallback provider is configured, the fallback answers instead;
+ * its routes are not cached. Every provider call is timed as stage distance, tagged with the
+ * provider and the api (distance, matrix or directions).
+ */
 @Service
 public class RouteService {
 
-    private final GoogleMapsClient mapsClient;
+    private static final Logger log = LoggerFactory.getLogger(RouteService.class);
+
+    private final DistanceProvider distanceProvider;
+    private final Optional<DistanceProvider> fallback;
+    private final CorridorMode corridorMode;
+    // Directions results keep the encoded polyline (a few bytes per point) and are decoded on use
+    private final Cache<RouteKey, Directions> directions;
+    private final SingleFlight<RouteKey, ProviderAnswer<Directions>> directionLookups = new SingleFlight<>();
+    private final PipelineMetrics metrics;
+    private final ExecutorService executor;
+    private final int matrixParallelism;
 
-    public RouteService(GoogleMapsClient mapsClient) {
-        this.mapsClient = mapsClient;
+    public RouteService(@Qualifier("distanceProvider") DistanceProvider distanceProvider,
+                        @Qualifier("fallbackDistanceProvider") Optional<DistanceProvider> fallback,
+                        @Value("${toll.corridor.mode:great-circle}") CorridorMode corridorMode,
+                        @Value("${toll.route.directions-cache.max-size:5000}") long directionsCacheSize,
+                        @Qualifier("lookupExecutor") ExecutorService executor,
+                        @Value("${toll.route.matrix.parallelism:8}") int matrixParallelism,
+                        MeterRegistry meterRegistry) {
+        this.distanceProvider = distanceProvider;
+        this.fallback = fallback;
+        this.corridorMode = corridorMode;
+        this.directions = Caffeine.newBuilder().maximumSize(directionsCacheSize).recordStats().build();
+        CaffeineCacheMetrics.monitor(meterRegistry, directions, "toll.route.directions");
+        this.metrics = new PipelineMetrics(meterRegistry);
+        this.executor = executor;
+        this.matrixParallelism = Math.max(1, matrixParallelism);
+    }
+
+    public CorridorMode corridorMode() {
+        return corridorMode;
     }
 
     public double distanceKm(String sourcePincode, String destPincode) {
-        return mapsClient.fetchDistanceKm(sourcePincode, destPincode);
+        return distance(sourcePincode, destPincode).value();
+    }
+
+    /** Road distance (km), marked when the fallback provider answered it. */
+    public ProviderAnswer<Double> distance(String sourcePincode, String destPincode) {
+        return withFallback("distance", "distance " + sourcePincode + " -> " + destPincode,
+                p -> p.distanceKm(sourcePincode, destPincode));
+    }
+
+    /** Road polyline and distance; see {@link #route}. */
+    public RoutePath path(String sourcePincode, String destPincode) {
+        return route(sourcePincode, destPincode).value();
+    }
+
+    /**
+     * Road polyline and distance (Directions API for Google), cached per pair; marked when the
+     * fallback provider answered it, in which case it is not cached.
+     */
+    public ProviderAnswer<RoutePath> route(String sourcePincode, String destPincode) {
+        var key = new RouteKey(sourcePincode, destPincode);
+        var found = directions.getIfPresent(key);
+        boolean fromFallback = false;
+        if (found == null) {
+            var answer = directionLookups.execute(key, () -> {
+                Directions fetched;
+                try {
+                    fetched = timed("directions", distanceProvider, p -> p.directions(sourcePincode, destPincode));
+                } catch (IllegalArgumentException e) {
+                    throw e;
+                } catch (RuntimeException e) {
+                    if (fallback.isEmpty()) throw e;
+                    log.warn("{} directions {} -> {} failed, using {}: {}", distanceProvider.name(),
+                            sourcePincode, destPincode, fallback.get().name(), e.getMessage());
+                    return ProviderAnswer.fromFallback(
+                            timed("directions", fallback.get(), p -> p.directions(sourcePincode, destPincode)));
+                }
+                directions.put(key, fetched);
+                return ProviderAnswer.primary(fetched);
+            });
+            found = answer.value();
+            fromFallback = answer.fallback();
+        }
+        return new ProviderAnswer<>(new RoutePath(PolylineCodec.decode(found.encodedPolyline()), found.distanceKm()),
+                fromFallback);
+    }
+
+    /**
+     * Road distances for many pairs, one provider call per source (Google: one Distance Matrix
+     * origin with up to 25 destinations per request, so only the requested elements are billed
+     * rather than the full origins x destinations cross product). The per-source calls run
+     * concurrently on the lookup executor, at most toll.route.matrix.parallelism at a time.
+     * Pairs without a distance, or whose source failed, are reported with the reason, and pairs
+     * the fallback provider answered are marked.
+     */
+    public RouteDistances distancesKm(Collection<RouteKey> pairs) {
+        Map<String, List<String>> bySource = new LinkedHashMap<>();
+        for (RouteKey pair : pairs) {
+            bySource.computeIfAbsent(pair.source(), k -> new ArrayList<>()).add(pair.destination());
+        }
+
+        Semaphore permits = new Semaphore(matrixParallelism);
+        Map<String, Future<ProviderAnswer<double[]>>> lookups = new LinkedHashMap<>();
+        bySource.forEach((source, destinations) -> {
+            permits.acquireUninterruptibly();
+            lookups.put(source, executor.submit(() -> {
+                try {
+                    return withFallback("matrix", "distances from " + source,
+                            p -> p.distancesKm(source, destinations));
+                } finally {
+                    permits.release();
+                }
+            }));
+        });
+
+        Map<RouteKey, Double> distances = new HashMap<>();
+        Map<RouteKey, RuntimeException> failures = new HashMap<>();
+        Set<RouteKey> fromFallback = new HashSet<>();
+        lookups.forEach((source, lookup) -> {
+            List<String> destinations = bySource.get(source);
+            try {
+                var answer = lookup.get();
+                double[] km = answer.value();
+                for (int j = 0; j < destinations.size(); j++) {
+                    var key = new RouteKey(source, destinations.get(j));
+                    if (answer.fallback()) fromFallback.add(key);
+                    if (Double.isNaN(km[j])) {
+                        failures.put(key, new IllegalArgumentException(
+                                "No route between " + source + " and " + destinations.get(j)));
+                    } else {
+                        distances.put(key, km[j]);
+                    }
+                }
+            } catch (ExecutionException | InterruptedException e) {
+                if (e instanceof InterruptedException) Thread.currentThread().interrupt();
+                RuntimeException cause = e.getCause() instanceof RuntimeException re ? re
+                        : new RuntimeException("Distance lookup from " + source + " failed", e);
+                log.warn("Distance lookup from {} failed: {}", source, cause.getMessage());
+                destinations.forEach(d -> failures.put(new RouteKey(source, d), cause));
+            }
+        });
+        return new RouteDistances(distances, failures, fromFallback);
+    }
+
+    private <T> ProviderAnswer<T> withFallback(String api, String what, Function<DistanceProvider, T> call) {
+        try {
+            return ProviderAnswer.primary(timed(api, distanceProvider, call));
+        } catch (IllegalArgumentException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            if (fallback.isEmpty()) throw e;
+            log.warn("{} {} failed, using {}: {}", distanceProvider.name(), what, fallback.get().name(), e.getMessage());
+            return ProviderAnswer.fromFallback(timed(api, fallback.get(), call));
+        }
+    }
+
+    private <T> T timed(String api, DistanceProvider provider, Function<DistanceProvider, T> call) {
+        return metrics.time("distance", () -> call.apply(provider), "api", api, "provider", provider.name());
     }
 }
@@ -0,0 +1,72 @@
+package com.som.toll.service;
+
+import com.som.toll.dto.TollCostDto;
+import com.som.toll.dto.TollPlazaDto;
+import com.som.toll.dto.TollPlazaRequest;
+import com.som.toll.dto.TollPlazaResponse;
+import com.som.toll.index.PlazaIndexManager;
+import com.som.toll.observability.PipelineMetrics;
+import com.som.toll.rate.JourneyType;
+import com.som.toll.rate.RateTable;
+import com.som.toll.rate.RouteCosts;
+import com.som.toll.rate.VehicleClass;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Prices a route response for one vehicle class and journey type: the fee of each plaza and the
+ * route total. Reads the {@link RouteCosts} cached with the route, so no database work is done;
+ * costs computed from an older rate table are recomputed from the current one. While no rates are
+ * loaded at all, responses are returned without fees or cost rather than with every plaza unpriced.
+ */
+@Service
+public class TollCostService {
+
+    public static final String CURRENCY = "INR";
+
+    private final PlazaIndexManager plazaIndex;
+    private final PipelineMetrics metrics;
+
+    public TollCostService(PlazaIndexManager plazaIndex, MeterRegistry meterRegistry) {
+        this.plazaIndex = plazaIndex;
+        this.metrics = new PipelineMetrics(meterRegistry);
+    }
+
+    /** Priced for the request's vehicle class and journey type (a car's single journey by default). */
+    public TollPlazaResponse price(TollPlazaResponse response, TollPlazaRequest request) {
+        return price(response, VehicleClass.of(request.getVehicleClass()), JourneyType.of(request.getJourneyType()));
+    }
+
+    /**
+     * A copy of the (shared, cached) response with per-plaza fees and the route total set.
+     * Responses without route costs (read from legacy JSON cache rows) come back with every plaza unpriced.
+     */
+    public TollPlazaResponse price(TollPlazaResponse response, VehicleClass vehicle, JourneyType journey) {
+        if (plazaIndex.current().rates().pricedPlazas() == 0) return response;
+        return metrics.time("cost", () -> {
+            List<TollPlazaDto> plazas = response.getTollPlazas();
+            RouteCosts costs = current(response.getRouteCosts());
+            List<TollPlazaDto> priced = new ArrayList<>(plazas.size());
+            for (int i = 0; i < plazas.size(); i++) {
+                var p = plazas.get(i);
+                int fee = costs == null ? RateTable.UNKNOWN : costs.fee(i, vehicle, journey);
+                priced.add(new TollPlazaDto(p.getName(), p.getLatitude(), p.getLongitude(),
+                        p.getDistanceFromSource(), p.getGeoState(), fee == RateTable.UNKNOWN ? null : fee));
+            }
+            var cost = costs == null
+                    ? new TollCostDto(vehicle.code(), journey.code(), CURRENCY, 0, plazas.size())
+                    : new TollCostDto(vehicle.code(), journey.code(), CURRENCY,
+                            costs.total(vehicle, journey), costs.unpriced(vehicle, journey));
+            return new TollPlazaResponse(response.getRoute(), priced, cost, costs);
+        });
+    }
+
+    private RouteCosts current(RouteCosts costs) {
+        if (costs == null) return null;
+        RateTable rates = plazaIndex.current().rates();
+        return costs.pricedWith(rates) ? costs : RouteCosts.of(rates, costs.plazaIds());
+    }
+}
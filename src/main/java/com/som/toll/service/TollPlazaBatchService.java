@@ -0,0 +1,295 @@
+package com.som.toll.service;
+
+import com.som.toll.cache.RouteKey;
+import com.som.toll.client.GoogleApiException;
+import com.som.toll.client.GoogleApiUnavailableException;
+import com.som.toll.dto.BatchItemResult;
+import com.som.toll.dto.BatchTollPlazaResponse;
+import com.som.toll.dto.TollPlazaRequest;
+import com.som.toll.dto.TollPlazaResponse;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Toll lookups for many pincode pairs in one call. Work is shared across the batch:
+ * one bulk cache lookup, each distinct pincode geocoded once, distances fetched per source
+ * through the Distance Matrix API (or a route per pair in polyline corridor mode), and the
+ * remaining computations run in parallel.
+ * A failing pair is reported in its own result and does not fail the batch.
+ */
+@Service
+public class TollPlazaBatchService {
+
+    private static final Logger log = LoggerFactory.getLogger(TollPlazaBatchService.class);
+
+    private final TollPlazaService tollPlazaService;
+    private final TollCostService costService;
+    private final GeocodingService geocodingService;
+    private final RouteService routeService;
+    private final ExecutorService executor;
+    private final Validator validator;
+    private final int maxSize;
+    private final int parallelism;
+    private final int streamChunkSize;
+    private final int streamMaxSize;
+
+    public TollPlazaBatchService(TollPlazaService tollPlazaService,
+                                 TollCostService costService,
+                                 GeocodingService geocodingService,
+                                 RouteService routeService,
+                                 @Qualifier("lookupExecutor") ExecutorService executor,
+                                 Validator validator,
+                                 @Value("${toll.batch.max-size:10000}") int maxSize,
+                                 @Value("${toll.batch.parallelism:0}") int parallelism,
+                                 @Value("${toll.batch.stream.chunk-size:500}") int streamChunkSize,
+                                 @Value("${toll.batch.stream.max-size:200000}") int streamMaxSize) {
+        this.tollPlazaService = tollPlazaService;
+        this.costService = costService;
+        this.geocodingService = geocodingService;
+        this.routeService = routeService;
+        this.executor = executor;
+        this.validator = validator;
+        this.maxSize = maxSize;
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.streamChunkSize = streamChunkSize;
+        this.streamMaxSize = streamMaxSize;
+    }
+
+    public BatchTollPlazaResponse process(List<TollPlazaRequest> requests) {
+        checkSize(requests, maxSize);
+
+        BatchItemResult[] results = new BatchItemResult[requests.size()];
+        run(requests, (index, item) -> results[index] = item);
+
+        int failed = (int) Arrays.stream(results).filter(r -> r.getError() != null).count();
+        return new BatchTollPlazaResponse(results.length - failed, failed, Arrays.asList(results));
+    }
+
+    /**
+     * Streams results to the sink as they become ready, in completion order.
+     * Pairs are processed in chunks and the next chunk only starts once the sink has taken every
+     * result of the current one, so a slow consumer holds back computation instead of letting
+     * results pile up in memory.
+     */
+    public void stream(List<TollPlazaRequest> requests, Consumer<BatchItemResult> sink) {
+        checkSize(requests, streamMaxSize);
+        for (int from = 0; from < requests.size(); from += streamChunkSize) {
+            List<TollPlazaRequest> chunk = requests.subList(from, Math.min(requests.size(), from + streamChunkSize));
+            run(chunk, (index, item) -> sink.accept(item));
+        }
+    }
+
+    /**
+     * Rejects an empty or oversized stream request. Callers run this before committing the
+     * response, so the client gets a 400 instead of an aborted 200.
+     */
+    public void checkStreamSize(List<TollPlazaRequest> requests) {
+        checkSize(requests, streamMaxSize);
+    }
+
+    /**
+     * Receives the result for the request at the given index. Always called on the thread that
+     * runs the batch, so implementations need no synchronisation.
+     */
+    private interface ItemSink {
+        void accept(int index, BatchItemResult item);
+    }
+
+    private void checkSize(List<TollPlazaRequest> requests, int limit) {
+        if (requests == null || requests.isEmpty()) {
+            throw new IllegalArgumentException("At least one pincode pair is required");
+        }
+        if (requests.size() > limit) {
+            throw new IllegalArgumentException("Batch size " + requests.size() + " exceeds the limit of " + limit);
+        }
+    }
+
+    private void run(List<TollPlazaRequest> requests, ItemSink sink) {
+        // Validate each pair on its own so one bad pair does not reject the batch
+        Map<RouteKey, List<Integer>> indices = new LinkedHashMap<>();
+        for (int i = 0; i < requests.size(); i++) {
+            TollPlazaRequest request = requests.get(i);
+            String invalid = validate(request);
+            if (invalid != null) {
+                sink.accept(i, failure(keyOf(request), invalid));
+            } else {
+                indices.computeIfAbsent(keyOf(request), k -> new ArrayList<>()).add(i);
+            }
+        }
+        Emitter emit = new Emitter(indices, requests, costService, sink);
+
+        Map<RouteKey, TollPlazaResponse> cached = tollPlazaService.findAllCached(indices.keySet());
+        cached.forEach(emit::success);
+        List<RouteKey> misses = indices.keySet().stream().filter(k -> !cached.containsKey(k)).toList();
+        if (!misses.isEmpty()) {
+            computeMisses(misses, emit);
+        }
+        log.debug("Batch: pairs={}, distinct={}, cached={}, computed={}",
+                requests.size(), indices.size(), cached.size(), misses.size());
+    }
+
+    private void computeMisses(List<RouteKey> misses, Emitter emit) {
+        // Bounds both the geocode fan-out and the compute tasks to the configured parallelism,
+        // so a large cold batch does not exhaust the Google rate limit in its first second
+        Semaphore permits = new Semaphore(parallelism);
+
+        // Geocode each distinct pincode once; a permit is taken before each task is started
+        Set<String> pincodes = new LinkedHashSet<>();
+        misses.forEach(k -> { pincodes.add(k.source()); pincodes.add(k.destination()); });
+        Map<String, Future<ProviderAnswer<double[]>>> geocodes = new HashMap<>();
+        for (String pincode : pincodes) {
+            permits.acquireUninterruptibly();
+            geocodes.put(pincode, executor.submit(() -> {
+                try {
+                    return geocodingService.locate(pincode);
+                } finally {
+                    permits.release();
+                }
+            }));
+        }
+        Map<String, double[]> located = new HashMap<>();
+        Set<String> fallbackGeocodes = new HashSet<>();
+        Map<String, String> geocodeErrors = new HashMap<>();
+        geocodes.forEach((pincode, future) -> {
+            try {
+                var answer = future.get();
+                located.put(pincode, answer.value());
+                if (answer.fallback()) fallbackGeocodes.add(pincode);
+            } catch (ExecutionException e) {
+                geocodeErrors.put(pincode, messageOf(e.getCause()));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                geocodeErrors.put(pincode, "Interrupted");
+            }
+        });
+
+        List<RouteKey> routable = new ArrayList<>();
+        for (RouteKey key : misses) {
+            String geoError = geocodeErrors.getOrDefault(key.source(), geocodeErrors.get(key.destination()));
+            if (geoError != null) emit.failure(key, geoError);
+            else routable.add(key);
+        }
+
+        // Great-circle mode needs only distances, fetched in bulk; polyline mode fetches each
+        // pair's route inside its computation
+        boolean polyline = routeService.corridorMode() == CorridorMode.POLYLINE;
+        RouteDistances distances = polyline ? null : routeService.distancesKm(routable);
+
+        // CPU-bound corridor work plus a cache write per pair, bounded to the configured parallelism.
+        // Workers hand finished pairs back through a queue so the sink stays on this thread.
+        BlockingQueue<Finished> finished = new LinkedBlockingQueue<>();
+        int submitted = 0;
+        for (RouteKey key : routable) {
+            double[] src = located.get(key.source()), dst = located.get(key.destination());
+            boolean fallbackGeocode = fallbackGeocodes.contains(key.source()) || fallbackGeocodes.contains(key.destination());
+            Supplier<RouteInputs> inputs;
+            if (polyline) {
+                inputs = () -> {
+                    var path = routeService.route(key.source(), key.destination());
+                    return new RouteInputs(src, dst, path.value().distanceKm(), path.value().points(),
+                            fallbackGeocode || path.fallback());
+                };
+            } else {
+                Double km = distances.km().get(key);
+                if (km == null) {
+                    RuntimeException failure = distances.failures().get(key);
+                    emit.failure(key, failure != null ? messageOf(failure)
+                            : "No route between " + key.source() + " and " + key.destination());
+                    continue;
+                }
+                boolean fallback = fallbackGeocode || distances.fallback().contains(key);
+                inputs = () -> new RouteInputs(src, dst, km, null, fallback);
+            }
+            executor.execute(() -> {
+                permits.acquireUninterruptibly();
+                try {
+                    finished.add(new Finished(key, tollPlazaService.compute(key, inputs, true), null));
+                } catch (Throwable e) {
+                    // every task must queue a result, or the loop below waits for it forever
+                    finished.add(new Finished(key, null, messageOf(e)));
+                } finally {
+                    permits.release();
+                }
+            });
+            submitted++;
+        }
+
+        try {
+            for (int i = 0; i < submitted; i++) {
+                Finished f = finished.take();
+                if (f.response() != null) emit.success(f.key(), f.response());
+                else emit.failure(f.key(), f.error());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for batch results", e);
+        }
+    }
+
+    private String validate(TollPlazaRequest request) {
+        if (request == null) {
+            return "Pincode pair is required";
+        }
+        Set<ConstraintViolation<TollPlazaRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            return violations.iterator().next().getMessage();
+        }
+        if (request.getSourcePincode().equals(request.getDestinationPincode())) {
+            return "Source and destination pincodes cannot be the same";
+        }
+        return null;
+    }
+
+    private static RouteKey keyOf(TollPlazaRequest request) {
+        return request == null
+                ? new RouteKey(null, null)
+                : new RouteKey(request.getSourcePincode(), request.getDestinationPincode());
+    }
+
+    private static BatchItemResult failure(RouteKey key, String error) {
+        return new BatchItemResult(key.source(), key.destination(), null, error);
+    }
+
+    private static String messageOf(Throwable e) {
+        if (e instanceof IllegalArgumentException) return e.getMessage();
+        log.warn("Batch pair failed: {}", e.toString());
+        // same wording as the single-pair endpoint's error responses
+        if (e instanceof GoogleApiUnavailableException) return "Route service temporarily unavailable, please retry";
+        if (e instanceof RouteLookupTimeoutException) return "Route service timed out, please retry";
+        if (e instanceof GoogleApiException) return "Route service error";
+        return "Failed to compute tolls";
+    }
+
+    private record Finished(RouteKey key, TollPlazaResponse response, String error) {}
+
+    /**
+     * Fans a pair's outcome out to every request index that asked for it, priced for each
+     * request's vehicle class and journey type.
+     */
+    private record Emitter(Map<RouteKey, List<Integer>> indices, List<TollPlazaRequest> requests,
+                           TollCostService costService, ItemSink sink) {
+
+        void success(RouteKey key, TollPlazaResponse response) {
+            for (int i : indices.get(key)) {
+                var priced = costService.price(response, requests.get(i));
+                sink.accept(i, new BatchItemResult(key.source(), key.destination(), priced, null));
+            }
+        }
+
+        void failure(RouteKey key, String error) {
+            for (int i : indices.get(key)) {
+                sink.accept(i, TollPlazaBatchService.failure(key, error));
+            }
+        }
+    }
+}
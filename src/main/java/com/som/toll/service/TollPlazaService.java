@@ -1,37 +1,86 @@
 package com.som.toll.service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.som.toll.cache.HotRouteTracker;
+import com.som.toll.cache.LocalRouteCache;
+import com.som.toll.cache.RouteKey;
+import com.som.toll.cache.RouteResponseCodec;
+import com.som.toll.cache.StaleRouteServedEvent;
 import com.som.toll.dto.RouteDto;
 import com.som.toll.dto.TollPlazaDto;
 import com.som.toll.dto.TollPlazaResponse;
-import com.som.toll.entity.TollPlaza;
 import com.som.toll.entity.TollRouteCache;
-import com.som.toll.repository.TollPlazaRepository;
+import com.som.toll.index.CorridorHits;
+import com.som.toll.index.PlazaGridIndex;
+import com.som.toll.index.PlazaIndexManager;
+import com.som.toll.index.PlazaStore;
+import com.som.toll.observability.PipelineMetrics;
+import com.som.toll.rate.RouteCosts;
 import com.som.toll.repository.TollRouteCacheRepository;
+import com.som.toll.repository.TollRouteCacheRepository.RouteFootprint;
+import com.som.toll.util.BoundingBox;
+import com.som.toll.util.Corridor;
 import com.som.toll.util.GeoUtils;
+import com.som.toll.util.GreatCircleCorridor;
+import com.som.toll.util.GreatCircleSegment;
+import com.som.toll.util.PolylineCorridor;
+import com.som.toll.util.SingleFlight;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
-import java.math.BigDecimal;
-import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.function.Supplier;
 
 @Service
 public class TollPlazaService {
 
     private static final Logger log = LoggerFactory.getLogger(TollPlazaService.class);
 
-    private final TollPlazaRepository plazaRepository;
+    private static final double CORRIDOR_KM = 25.0;      // max cross-track distance
+    private static final double SEGMENT_SLACK_KM = 20.0; // allowed overshoot before A / past B
+
+    private final PlazaIndexManager plazaIndex;
+    private final LocalRouteCache localCache;
     private final TollRouteCacheRepository cacheRepository;
+    private final HotRouteTracker hotRoutes;
+    private final ApplicationEventPublisher events;
+    private final PipelineMetrics metrics;
+    private final Duration dbTtl;
+    private final Duration softTtl;
+    private final boolean symmetricReuse;
+    private final CorridorMode corridorMode;
     private final ObjectMapper mapper = new ObjectMapper();
+    private final SingleFlight<RouteKey, TollPlazaResponse> computations = new SingleFlight<>();
 
-    public TollPlazaService(TollPlazaRepository plazaRepository,
-                            TollRouteCacheRepository cacheRepository) {
-        this.plazaRepository = plazaRepository;
+    public TollPlazaService(PlazaIndexManager plazaIndex,
+                            LocalRouteCache localCache,
+                            TollRouteCacheRepository cacheRepository,
+                            HotRouteTracker hotRoutes,
+                            ApplicationEventPublisher events,
+                            MeterRegistry meterRegistry,
+                            @Value("${toll.cache.db.ttl:30d}") Duration dbTtl,
+                            @Value("${toll.cache.soft-ttl:7d}") Duration softTtl,
+                            @Value("${toll.cache.symmetric-reuse:true}") boolean symmetricReuse,
+                            @Value("${toll.corridor.mode:great-circle}") CorridorMode corridorMode) {
+        this.plazaIndex = plazaIndex;
+        this.localCache = localCache;
         this.cacheRepository = cacheRepository;
+        this.hotRoutes = hotRoutes;
+        this.events = events;
+        this.metrics = new PipelineMetrics(meterRegistry);
+        this.dbTtl = dbTtl;
+        this.softTtl = softTtl;
+        this.symmetricReuse = symmetricReuse;
+        this.corridorMode = corridorMode;
     }
 
     /**
@@ -45,147 +94,447 @@ public class TollPlazaService {
      * Overload with explicit refresh control.
      */
     public TollPlazaResponse findTollsOnRoute(RouteDto route, double[] src, double[] dst, boolean refresh) {
+        return findTollsOnRoute(route.getSourcePincode(), route.getDestinationPincode(),
+                () -> new RouteInputs(src, dst, route.getDistanceInKm()), refresh);
+    }
+
+    /**
+     * Returns toll plazas for a pincode pair. The inputs supplier (geocoding, distance) is only
+     * invoked on a cache miss or refresh, so cache hits make no external calls.
+     * Lookup order: in-process cache, then the toll_route_cache table, then a fresh computation.
+     * A cached response older than the soft TTL is still returned, and a background refresh is requested.
+     */
+    public TollPlazaResponse findTollsOnRoute(String source, String destination,
+                                              Supplier<RouteInputs> inputs, boolean refresh) {
+        var key = new RouteKey(source, destination);
         if (!refresh) {
-            var cached = cacheRepository.findBySourcePincodeAndDestinationPincode(
-                    route.getSourcePincode(), route.getDestinationPincode());
+            var cached = cached(key);
             if (cached.isPresent()) {
-                try {
-                    log.debug("Serving from cache for {} -> {}", route.getSourcePincode(), route.getDestinationPincode());
-                    return mapper.readValue(cached.get().getResponseJson(), TollPlazaResponse.class);
-                } catch (Exception e) {
-                    log.warn("Cache read failed, recomputing: {}", e.getMessage());
-                }
+                return cached.get();
             }
         } else {
-            log.debug("Bypassing cache for {} -> {}", route.getSourcePincode(), route.getDestinationPincode());
+            hotRoutes.record(key);
+            log.debug("Bypassing cache for {} -> {}", source, destination);
         }
 
-        // Compute fresh (with de-dup)
-        var tolls = computeTollsOnRoute(route, src, dst);
-        var response = new TollPlazaResponse(route, tolls);
+        return compute(key, inputs, !refresh);
+    }
+
+    /**
+     * The cached response for a pair (in-process tier, then the table, then the reverse pair),
+     * requesting a background refresh when it is stale. Blocking (database).
+     */
+    public Optional<TollPlazaResponse> cached(RouteKey key) {
+        hotRoutes.record(key);
+        return findCached(key).map(entry -> served(key, entry));
+    }
+
+    /**
+     * Computes and caches the response for a pair known to be missing from the cache.
+     * Concurrent misses for the same pair share one computation and one cache write.
+     */
+    public TollPlazaResponse compute(RouteKey key, Supplier<RouteInputs> inputs, boolean recheckLocal) {
+        return computations.execute(key, () -> {
+            if (recheckLocal) {
+                // a computation for this pair may have finished while we were checking the cache
+                var local = localCache.peek(key);
+                if (local.isPresent()) return local.get().response();
+            }
+            return store(computeRoute(key, inputs.get()));
+        });
+    }
 
-        // Save to cache
+    /**
+     * The response for a pair and the cache row to store it as, from its resolved inputs.
+     * The response carries the route's fees and totals for every vehicle class and journey type
+     * (unpriced; see TollCostService). CPU only: no I/O, no caching.
+     * A route computed against an empty plaza index (the initial CSV load has not finished), or
+     * from fallback provider inputs, is marked not cacheable, so it is not kept for the cache TTL.
+     */
+    public ComputedRoute computeRoute(RouteKey key, RouteInputs in) {
+        var route = new RouteDto(key.source(), key.destination(), in.distanceKm());
+        CorridorMode mode = in.path() != null ? CorridorMode.POLYLINE : CorridorMode.GREAT_CIRCLE;
+        Corridor corridor = mode == CorridorMode.POLYLINE
+                ? PolylineCorridor.of(in.path(), CORRIDOR_KM)
+                : corridor(in.source(), in.destination());
+        PlazaGridIndex index = plazaIndex.current();
+        var tolls = computeTollsOnRoute(index, corridor);
+        var costs = RouteCosts.of(index.rates(), tolls.plazaIds());
+        var response = new TollPlazaResponse(route, tolls.dtos(), null, costs);
+
+        BoundingBox box = corridor.bounds();
+        var row = TollRouteCache.builder()
+                .sourcePincode(key.source())
+                .destinationPincode(key.destination())
+                .responseBlob(RouteResponseCodec.encode(response, tolls.plazaIds()))
+                .sourceLat(in.source()[0])
+                .sourceLng(in.source()[1])
+                .destinationLat(in.destination()[0])
+                .destinationLng(in.destination()[1])
+                .minLat(box.minLat())
+                .maxLat(box.maxLat())
+                .minLng(box.minLon())
+                .maxLng(box.maxLon())
+                .corridorMode(mode.name())
+                .pathLengthKm(corridor instanceof PolylineCorridor p ? p.lengthKm() : null)
+                .build();
+        return new ComputedRoute(key, response, row, index.size() > 0 && !in.fallback());
+    }
+
+    /**
+     * Saves a computed route to both cache tiers and returns its response; routes that are not
+     * cacheable are only returned. Blocking (database).
+     */
+    public TollPlazaResponse store(ComputedRoute computed) {
+        if (!computed.cacheable()) {
+            log.debug("Not caching {} -> {}: computed from fallback provider inputs or before plazas were loaded",
+                    computed.key().source(), computed.key().destination());
+            return computed.response();
+        }
+        localCache.put(computed.key(), computed.response());
         try {
-            var json = mapper.writeValueAsString(response);
-            cacheRepository.save(TollRouteCache.builder()
-                    .sourcePincode(route.getSourcePincode())
-                    .destinationPincode(route.getDestinationPincode())
-                    .responseJson(json)
-                    .createdAt(LocalDateTime.now())
-                    .build());
+            computed.row().setCreatedAt(LocalDateTime.now());
+            metrics.run("route.cache.save", () -> cacheRepository.upsert(computed.row()));
         } catch (Exception e) {
             log.warn("Failed to cache response: {}", e.getMessage());
         }
+        return computed.response();
+    }
 
-        return response;
+    /**
+     * Saves many computed routes to both cache tiers, writing the rows with one batched upsert;
+     * routes that are not cacheable are skipped. Blocking (database); a failed write is thrown,
+     * since callers such as the warm-up job retry the whole batch.
+     */
+    public void storeAll(List<ComputedRoute> computed) {
+        LocalDateTime now = LocalDateTime.now();
+        List<TollRouteCache> rows = new ArrayList<>(computed.size());
+        for (ComputedRoute c : computed) {
+            if (!c.cacheable()) continue;
+            localCache.put(c.key(), c.response());
+            c.row().setCreatedAt(now);
+            rows.add(c.row());
+        }
+        if (rows.isEmpty()) return;
+        metrics.run("route.cache.save.batch", () -> cacheRepository.upsertAll(rows));
     }
 
     /**
-     * Computes toll plazas on the route corridor and de-duplicates aggressively.
+     * Bulk cache lookup: local tier first, then one IN query against toll_route_cache
+     * for the remaining pairs (and one more for their reverse pairs when symmetric reuse is on).
+     * Pairs not cached are absent from the result; stale ones are returned and refreshed in the background.
      */
-    private List<TollPlazaDto> computeTollsOnRoute(RouteDto route, double[] src, double[] dst) {
-        double latA = src[0], lonA = src[1];
-        double latB = dst[0], lonB = dst[1];
+    public Map<RouteKey, TollPlazaResponse> findAllCached(Collection<RouteKey> keys) {
+        return findAllCached(keys, true);
+    }
+
+    /**
+     * As {@link #findAllCached(Collection)}; with countAsTraffic false the lookups are not recorded
+     * as requests, so background jobs such as the warm-up do not shape the proactive refresh set.
+     */
+    public Map<RouteKey, TollPlazaResponse> findAllCached(Collection<RouteKey> keys, boolean countAsTraffic) {
+        Map<RouteKey, TollPlazaResponse> found = new HashMap<>();
+        List<RouteKey> missing = new ArrayList<>();
+        for (RouteKey key : keys) {
+            if (countAsTraffic) hotRoutes.record(key);
+            var local = localLookup(key);
+            if (local.isPresent()) {
+                found.put(key, served(key, local.get()));
+            } else {
+                missing.add(key);
+            }
+        }
+
+        freshRows(missing).forEach((key, row) -> {
+            try {
+                var entry = new LocalRouteCache.Entry(decode(key, row), computedAt(row));
+                localCache.put(key, entry);
+                found.put(key, served(key, entry));
+            } catch (Exception e) {
+                log.warn("Cache read failed for {} -> {}: {}", key.source(), key.destination(), e.getMessage());
+            }
+        });
+
+        if (symmetricReuse) {
+            List<RouteKey> reverse = missing.stream().filter(k -> !found.containsKey(k)).map(RouteKey::reversed).toList();
+            freshRows(reverse).forEach((reverseKey, row) -> {
+                var key = reverseKey.reversed();
+                try {
+                    reversed(key, row).ifPresent(response -> {
+                        var entry = new LocalRouteCache.Entry(response, computedAt(row));
+                        localCache.put(key, entry);
+                        found.put(key, served(key, entry));
+                    });
+                } catch (Exception e) {
+                    log.warn("Cache read failed for {} -> {}: {}", reverseKey.source(), reverseKey.destination(), e.getMessage());
+                }
+            });
+        }
+        return found;
+    }
 
-        var all = plazaRepository.findAll();
+    /** Fresh rows for the given pairs, newest per pair, from one IN query. */
+    private Map<RouteKey, TollRouteCache> freshRows(Collection<RouteKey> keys) {
+        if (keys.isEmpty()) return Map.of();
+        Set<String> sources = new HashSet<>(), destinations = new HashSet<>();
+        for (RouteKey key : keys) {
+            sources.add(key.source());
+            destinations.add(key.destination());
+        }
 
-        // Map to candidates & corridor filter
-        var candidates = all.stream()
-                .map(p -> toCandidate(p, latA, lonA, latB, lonB))
-                .filter(Candidate::onCorridor)
-                .collect(Collectors.toList());
+        Set<RouteKey> wanted = new HashSet<>(keys);
+        // the IN query matches the sources x destinations cross product; keep the newest row per wanted pair
+        Map<RouteKey, TollRouteCache> newest = new HashMap<>();
+        var rows = metrics.time("route.cache.lookup",
+                () -> cacheRepository.findAllFresh(sources, destinations, freshAfter()), "tier", "db-batch");
+        for (var row : rows) {
+            var key = new RouteKey(row.getSourcePincode(), row.getDestinationPincode());
+            if (!wanted.contains(key) || !inCurrentMode(row)) continue;
+            newest.merge(key, row, (a, b) -> isNewer(b, a) ? b : a);
+        }
+        return newest;
+    }
 
-        // First-stage dedup: name(norm) + rounded coords (5 decimals ~ 1.1m)
-        Map<String, Candidate> uniqueByKey = new LinkedHashMap<>();
-        for (var c : candidates) {
-            String key = normalizeKey(c.name(), c.lat(), c.lng());
-            // keep the one closer to source, in case of dup
-            uniqueByKey.merge(key, c, (a, b) -> a.distanceFromSource() <= b.distanceFromSource() ? a : b);
+    /** Returns the cached response, requesting a background refresh when it is past the soft TTL. */
+    private TollPlazaResponse served(RouteKey key, LocalRouteCache.Entry entry) {
+        if (entry.olderThan(softTtl)) {
+            events.publishEvent(new StaleRouteServedEvent(key));
         }
+        return entry.response();
+    }
+
+    private static Instant computedAt(TollRouteCache row) {
+        // rows without a timestamp predate it and count as stale
+        return row.getCreatedAt() == null ? Instant.EPOCH : row.getCreatedAt().atZone(ZoneId.systemDefault()).toInstant();
+    }
+
+    /** Rows written before this are expired (toll.cache.db.ttl) and treated as misses. */
+    private LocalDateTime freshAfter() {
+        return LocalDateTime.now().minus(dbTtl);
+    }
 
-        // Second-stage (safety): collapse same-name items within 100m
-        // This handles minor coord jitter across datasets.
-        List<Candidate> uniques = new ArrayList<>();
-        for (var c : uniqueByKey.values()) {
-            boolean merged = false;
-            for (int i = 0; i < uniques.size(); i++) {
-                var u = uniques.get(i);
-                if (sameName(c.name(), u.name())) {
-                    double dMeters = GeoUtils.haversineKm(c.lat(), c.lng(), u.lat(), u.lng()) * 1000.0;
-                    if (dMeters <= 100.0) { // treat as same physical plaza
-                        // keep the closer-to-source one
-                        if (c.distanceFromSource() < u.distanceFromSource()) {
-                            uniques.set(i, c);
-                        }
-                        merged = true;
-                        break;
+    private static boolean isNewer(TollRouteCache a, TollRouteCache b) {
+        if (a.getCreatedAt() == null) return false;
+        return b.getCreatedAt() == null || a.getCreatedAt().isAfter(b.getCreatedAt());
+    }
+
+    /**
+     * Drops cached routes (both tiers) whose corridor contains any of the given {lat, lng} points,
+     * e.g. plazas that were added, moved or removed. Rows cached before route footprints were
+     * stored are dropped too, since their corridor is unknown, and polyline routes are dropped
+     * on a bounding-box match. Returns the number of routes dropped.
+     */
+    public int invalidateRoutesTouching(Collection<double[]> points) {
+        if (points.isEmpty()) return 0;
+
+        double[][] vectors = points.stream().map(p -> GeoUtils.unitVector(p[0], p[1])).toArray(double[][]::new);
+        Map<Long, RouteFootprint> footprints = new HashMap<>();
+        for (double[] p : points) {
+            for (var f : cacheRepository.findFootprintsAround(p[0], p[1])) {
+                footprints.putIfAbsent(f.getId(), f);
+            }
+        }
+
+        List<Long> ids = new ArrayList<>();
+        Set<RouteKey> keys = new HashSet<>();
+        for (var f : footprints.values()) {
+            if (touches(f, vectors)) {
+                ids.add(f.getId());
+                keys.add(new RouteKey(f.getSourcePincode(), f.getDestinationPincode()));
+            }
+        }
+        if (!ids.isEmpty()) {
+            cacheRepository.deleteAllByIdInBatch(ids);
+        }
+        for (RouteKey key : keys) {
+            localCache.invalidate(key);
+            localCache.invalidate(key.reversed()); // may have been served from this row
+        }
+        log.debug("Route cache invalidation: points={}, boxMatches={}, dropped={}",
+                points.size(), footprints.size(), keys.size());
+        return keys.size();
+    }
+
+    private static boolean touches(RouteFootprint f, double[][] vectors) {
+        if (f.getSourceLat() == null || f.getDestinationLat() == null) return true;
+        if (CorridorMode.POLYLINE.name().equals(f.getCorridorMode())) return true;
+        GreatCircleCorridor corridor = corridor(new double[]{f.getSourceLat(), f.getSourceLng()},
+                new double[]{f.getDestinationLat(), f.getDestinationLng()});
+        for (double[] v : vectors) {
+            if (!Double.isNaN(corridor.matchKm(v[0], v[1], v[2]))) return true;
+        }
+        return false;
+    }
+
+    private static GreatCircleCorridor corridor(double[] src, double[] dst) {
+        return GreatCircleSegment.of(src[0], src[1], dst[0], dst[1]).corridor(CORRIDOR_KM, SEGMENT_SLACK_KM);
+    }
+
+    private Optional<LocalRouteCache.Entry> findCached(RouteKey key) {
+        var local = localLookup(key);
+        if (local.isPresent()) {
+            return local;
+        }
+
+        var cached = dbLookup(key, "db");
+        if (cached.isPresent()) {
+            try {
+                log.debug("Serving from cache for {} -> {}", key.source(), key.destination());
+                var entry = new LocalRouteCache.Entry(decode(key, cached.get()), computedAt(cached.get()));
+                localCache.put(key, entry);
+                return Optional.of(entry);
+            } catch (Exception e) {
+                log.warn("Cache read failed, recomputing: {}", e.getMessage());
+            }
+        } else if (symmetricReuse) {
+            var reverse = dbLookup(key.reversed(), "db-reverse");
+            if (reverse.isPresent()) {
+                try {
+                    var response = reversed(key, reverse.get());
+                    if (response.isPresent()) {
+                        log.debug("Serving {} -> {} from the cached reverse route", key.source(), key.destination());
+                        var entry = new LocalRouteCache.Entry(response.get(), computedAt(reverse.get()));
+                        localCache.put(key, entry);
+                        return Optional.of(entry);
                     }
+                } catch (Exception e) {
+                    log.warn("Reverse cache read failed, recomputing: {}", e.getMessage());
                 }
             }
-            if (!merged) uniques.add(c);
         }
+        return Optional.empty();
+    }
 
-        // Debug stats
-        log.debug("Plazas: total={}, corridor={}, uniqueKey={}, uniqueName100m={}",
-                all.size(), candidates.size(), uniqueByKey.size(), uniques.size());
-
-        // Sort and map to DTOs
-        return uniques.stream()
-                .sorted(Comparator.comparingDouble(Candidate::distanceFromSource))
-                .map(c -> new TollPlazaDto(c.name(), c.lat(), c.lng(), c.distanceFromSource(), c.geoState()))
-                .toList();
+    private Optional<LocalRouteCache.Entry> localLookup(RouteKey key) {
+        Timer.Sample sample = metrics.start();
+        var local = localCache.get(key);
+        metrics.stop(sample, "route.cache.lookup", "tier", "local", "outcome", local.isPresent() ? "hit" : "miss");
+        return local;
     }
 
-    private static boolean sameName(String a, String b) {
-        return normalizeName(a).equals(normalizeName(b));
+    private Optional<TollRouteCache> dbLookup(RouteKey key, String tier) {
+        Timer.Sample sample = metrics.start();
+        var row = cacheRepository.findFresh(key.source(), key.destination(), freshAfter()).filter(this::inCurrentMode);
+        metrics.stop(sample, "route.cache.lookup", "tier", tier, "outcome", row.isPresent() ? "hit" : "miss");
+        return row;
     }
 
-    private static String normalizeKey(String name, double lat, double lng) {
-        String nm = normalizeName(name);
-        double la = round(lat, 5);
-        double ln = round(lng, 5);
-        return nm + "|" + la + "|" + ln;
+    /**
+     * Rows computed under the other corridor mode (toll.corridor.mode was switched since) are
+     * treated as misses. Rows without a mode predate polyline support and are great-circle.
+     */
+    private boolean inCurrentMode(TollRouteCache row) {
+        String mode = row.getCorridorMode() == null ? CorridorMode.GREAT_CIRCLE.name() : row.getCorridorMode();
+        return corridorMode.name().equals(mode);
     }
 
-    private static String normalizeName(String s) {
-        // lower, trim, collapse whitespace, remove periods/extra dashes
-        return s == null ? "" :
-                s.toLowerCase(Locale.ROOT)
-                 .replace('.', ' ')
-                 .replace('-', ' ')
-                 .replace('_', ' ')
-                 .replaceAll("\\s+", " ")
-                 .trim();
+    /**
+     * The response for key built from the cached row of the reverse pair: same plazas, listed
+     * from the other end. In polyline mode distances become path length minus distance; in
+     * great-circle mode they are re-measured from the other endpoint. Empty when the row lacks
+     * the endpoint coordinates or path length needed for that.
+     */
+    private Optional<TollPlazaResponse> reversed(RouteKey key, TollRouteCache reverseRow) throws Exception {
+        var forward = decode(key.reversed(), reverseRow);
+        var forwardTolls = forward.getTollPlazas();
+        int n = forwardTolls.size();
+        double[] distances = new double[n];
+
+        if (CorridorMode.POLYLINE.name().equals(reverseRow.getCorridorMode())) {
+            Double lengthKm = reverseRow.getPathLengthKm();
+            if (lengthKm == null) return Optional.empty();
+            for (int i = 0; i < n; i++) {
+                distances[i] = roundToMeter(Math.max(0, lengthKm - forwardTolls.get(i).getDistanceFromSource()));
+            }
+        } else {
+            if (reverseRow.getDestinationLat() == null || reverseRow.getDestinationLng() == null) return Optional.empty();
+            double lat = reverseRow.getDestinationLat(), lng = reverseRow.getDestinationLng();
+            for (int i = 0; i < n; i++) {
+                var t = forwardTolls.get(i);
+                distances[i] = roundToMeter(GeoUtils.haversineKm(lat, lng, t.getLatitude(), t.getLongitude()));
+            }
+        }
+
+        // reversed order; straight-line distances from the other end need not follow it exactly,
+        // so sort (stable, polyline distances are already in order)
+        Integer[] order = new Integer[n];
+        for (int i = 0; i < n; i++) order[i] = n - 1 - i;
+        Arrays.sort(order, Comparator.comparingDouble(i -> distances[i]));
+
+        List<TollPlazaDto> tolls = new ArrayList<>(n);
+        for (int i : order) {
+            var t = forwardTolls.get(i);
+            tolls.add(new TollPlazaDto(t.getName(), t.getLatitude(), t.getLongitude(), distances[i], t.getGeoState()));
+        }
+        var costs = forward.getRouteCosts() == null ? null
+                : forward.getRouteCosts().permuted(Arrays.stream(order).mapToInt(Integer::intValue).toArray());
+
+        var route = new RouteDto(key.source(), key.destination(), forward.getRoute().getDistanceInKm());
+        return Optional.of(new TollPlazaResponse(route, tolls, null, costs));
     }
 
-    private static double round(double v, int scale) {
-        return new BigDecimal(v).setScale(scale, RoundingMode.HALF_UP).doubleValue();
+    private static double roundToMeter(double km) {
+        return Math.round(km * 1000.0) / 1000.0;
     }
 
     /**
-     * Converts a TollPlaza entity to a candidate with route geometry checks.
+     * Cached rows hold either the binary form (rehydrated against the plaza and rate tables) or,
+     * when written before it existed, JSON, which has no plaza ids and so no route costs.
      */
-    private Candidate toCandidate(TollPlaza p, double latA, double lonA, double latB, double lonB) {
-        double latP = p.getLatitude();
-        double lonP = p.getLongitude();
+    private TollPlazaResponse decode(RouteKey key, TollRouteCache row) throws Exception {
+        String format = row.getResponseBlob() != null ? "binary" : "json";
+        Timer.Sample sample = metrics.start();
+        String outcome = "error";
+        try {
+            var response = row.getResponseBlob() != null
+                    ? RouteResponseCodec.decode(row.getResponseBlob(), key, plazaIndex.current().rates())
+                    : mapper.readValue(row.getResponseJson(), TollPlazaResponse.class);
+            outcome = "success";
+            return response;
+        } finally {
+            metrics.stop(sample, "route.cache.decode", "format", format, "outcome", outcome);
+        }
+    }
 
-        double crossKm = GeoUtils.crossTrackDistanceKm(latA, lonA, latB, lonB, latP, lonP);
-        double alongKm = GeoUtils.alongTrackDistanceKm(latA, lonA, latB, lonB, latP, lonP);
-        double abKm = GeoUtils.haversineKm(latA, lonA, latB, lonB);
+    /**
+     * Toll plazas on the route corridor, nearest to the source first. The index holds canonical
+     * plazas only (duplicates are merged when it is built), so this is a filter over the scan.
+     * Distances are rounded to the metre, the precision the route cache keeps.
+     */
+    private RouteTolls computeTollsOnRoute(PlazaGridIndex index, Corridor corridor) {
+        PlazaStore store = index.store();
 
-        // relaxed segment tolerance
-        boolean withinSegment = alongKm >= -20.0 && alongKm <= abKm + 20.0;
-        boolean onCorridor = crossKm <= 25.0 && withinSegment;
+        // Primitive scan over grid cells touched by the corridor; objects only for the hits
+        Timer.Sample sample = metrics.start();
+        CorridorHits hits = index.scanCorridor(corridor);
+        hits.sortByDistance();
+        metrics.stop(sample, "corridor.scan", "mode", corridor instanceof PolylineCorridor ? "polyline" : "great-circle");
+        metrics.corridorScan(hits.candidates(), hits.size());
 
-        double distFromSource = GeoUtils.haversineKm(latA, lonA, latP, lonP);
+        List<TollPlazaDto> tolls = new ArrayList<>(hits.size());
+        long[] ids = new long[hits.size()];
+        for (int i = 0; i < hits.size(); i++) {
+            int s = hits.slot(i);
+            tolls.add(new TollPlazaDto(store.name(s), store.lat(s), store.lon(s),
+                    roundToMeter(hits.distanceKm(i)), store.geoState(s)));
+            ids[i] = store.id(s);
+        }
 
-        return new Candidate(p.getName(), latP, lonP, p.getGeoState(), onCorridor, distFromSource);
+        log.debug("Plazas: indexed={}, candidates={}, corridor={}", index.size(), hits.candidates(), tolls.size());
+        return new RouteTolls(tolls, ids);
     }
 
-    private record Candidate(String name,
-                             double lat,
-                             double lng,
-                             String geoState,
-                             boolean onCorridor,
-                             double distanceFromSource) {}
+    /** Response plazas with their ids, which the binary cache form stores instead of the plazas. */
+    private record RouteTolls(List<TollPlazaDto> dtos, long[] plazaIds) {}
+
+    /**
+     * A freshly computed response and the toll_route_cache row that stores it. Routes that are not
+     * cacheable are returned to the caller but kept out of both cache tiers.
+     */
+    public record ComputedRoute(RouteKey key, TollPlazaResponse response, TollRouteCache row, boolean cacheable) {
+
+        public ComputedRoute(RouteKey key, TollPlazaResponse response, TollRouteCache row) {
+            this(key, response, row, true);
+        }
+    }
 }
@@ -0,0 +1,40 @@
+package com.som.toll.util;
+
+/**
+ * Lat/lng rectangle (degrees). Does not handle the antimeridian, which is fine for India.
+ */
+public record BoundingBox(double minLat, double maxLat, double minLon, double maxLon) {
+
+    private static final double KM_PER_DEGREE = 111.32;
+    private static final int SAMPLES = 16;
+
+    /**
+     * Box that covers every point within marginKm of the great-circle segment A→B.
+     * The path is sampled so the bulge of long east-west routes is included.
+     */
+    public static BoundingBox aroundSegment(double latA, double lonA,
+                                            double latB, double lonB,
+                                            double marginKm) {
+        double minLat = Math.min(latA, latB), maxLat = Math.max(latA, latB);
+        double minLon = Math.min(lonA, lonB), maxLon = Math.max(lonA, lonB);
+        for (int i = 1; i < SAMPLES; i++) {
+            double[] p = GeoUtils.intermediatePoint(latA, lonA, latB, lonB, (double) i / SAMPLES);
+            minLat = Math.min(minLat, p[0]);
+            maxLat = Math.max(maxLat, p[0]);
+            minLon = Math.min(minLon, p[1]);
+            maxLon = Math.max(maxLon, p[1]);
+        }
+
+        // 1 km slack covers the chord error between samples
+        double km = marginKm + 1.0;
+        double dLat = km / KM_PER_DEGREE;
+        double widestLat = Math.min(89.0, Math.max(Math.abs(minLat), Math.abs(maxLat)) + dLat);
+        double dLon = km / (KM_PER_DEGREE * Math.cos(Math.toRadians(widestLat)));
+
+        return new BoundingBox(minLat - dLat, maxLat + dLat, minLon - dLon, maxLon + dLon);
+    }
+
+    public boolean contains(double lat, double lon) {
+        return lat >= minLat && lat <= maxLat && lon >= minLon && lon <= maxLon;
+    }
+}
@@ -0,0 +1,17 @@
+package com.som.toll.util;
+
+/**
+ * Band around a route in which a toll plaza counts as being on the route.
+ * Implementations precompute everything route-specific, so testing a plaza allocates nothing.
+ */
+public interface Corridor {
+
+    /** Lat/lng box that contains the whole corridor. */
+    BoundingBox bounds();
+
+    /**
+     * Distance from the source (km) of the point when it lies in the corridor, otherwise NaN.
+     * The point is given both in degrees and as its unit vector (x, y, z).
+     */
+    double matchKm(double lat, double lon, double x, double y, double z);
+}
@@ -4,6 +4,8 @@ package com.som.toll.util;
 
 public final class GeoUtils {
 
+    public static final double EARTH_RADIUS_KM = 6371.0;
+
     private GeoUtils() {}
 
     public static double haversineKm(double lat1, double lon1, double lat2, double lon2) {
@@ -43,6 +45,28 @@ public final class GeoUtils {
         return at; // km
     }
 
+    /**
+     * Point at fraction f (0..1) along the great-circle path from 1 to 2, as {lat, lon}.
+     */
+    public static double[] intermediatePoint(double lat1, double lon1, double lat2, double lon2, double f) {
+        double δ = angularDistance(lat1, lon1, lat2, lon2);
+        if (δ == 0) return new double[]{ lat1, lon1 };
+        double φ1 = Math.toRadians(lat1), φ2 = Math.toRadians(lat2);
+        double λ1 = Math.toRadians(lon1), λ2 = Math.toRadians(lon2);
+        double a = Math.sin((1 - f) * δ) / Math.sin(δ);
+        double b = Math.sin(f * δ) / Math.sin(δ);
+        double x = a * Math.cos(φ1) * Math.cos(λ1) + b * Math.cos(φ2) * Math.cos(λ2);
+        double y = a * Math.cos(φ1) * Math.sin(λ1) + b * Math.cos(φ2) * Math.sin(λ2);
+        double z = a * Math.sin(φ1) + b * Math.sin(φ2);
+        return new double[]{ Math.toDegrees(Math.atan2(z, Math.sqrt(x * x + y * y))), Math.toDegrees(Math.atan2(y, x)) };
+    }
+
+    /** Unit vector {x, y, z} of a lat/lng on the sphere. */
+    public static double[] unitVector(double lat, double lon) {
+        double φ = Math.toRadians(lat), λ = Math.toRadians(lon);
+        return new double[]{ Math.cos(φ) * Math.cos(λ), Math.cos(φ) * Math.sin(λ), Math.sin(φ) };
+    }
+
     private static double angularDistance(double lat1, double lon1, double lat2, double lon2) {
         double d = haversineKm(lat1, lon1, lat2, lon2) / 6371.0;
         return d;
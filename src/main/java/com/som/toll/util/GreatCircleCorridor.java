@@ -0,0 +1,57 @@
+package com.som.toll.util;
+
+/**
+ * Band around a {@link GreatCircleSegment}: within corridorKm cross-track, and between
+ * slackKm before A and slackKm past B along-track. The thresholds are kept as angles,
+ * so {@link #matchKm} rejects most points with a single dot product.
+ */
+public final class GreatCircleCorridor implements Corridor {
+
+    private static final double R = GeoUtils.EARTH_RADIUS_KM;
+
+    private final GreatCircleSegment segment;
+    private final double corridorKm;
+    private final boolean degenerate;
+    private final double sinCorridor;
+    private final double minAlong;
+    private final double maxAlong;
+    private final BoundingBox bounds;
+
+    GreatCircleCorridor(GreatCircleSegment segment, double corridorKm, double slackKm) {
+        this.segment = segment;
+        this.corridorKm = corridorKm;
+        this.degenerate = segment.isDegenerate();
+        this.sinCorridor = Math.sin(corridorKm / R);
+        this.minAlong = -slackKm / R;
+        this.maxAlong = (segment.lengthKm() + slackKm) / R;
+        this.bounds = segment.bounds(Math.max(corridorKm, slackKm));
+    }
+
+    public GreatCircleSegment segment() { return segment; }
+
+    @Override
+    public BoundingBox bounds() { return bounds; }
+
+    @Override
+    public double matchKm(double lat, double lon, double x, double y, double z) {
+        return matchKm(x, y, z);
+    }
+
+    /**
+     * Distance from the source (km) of the point with unit vector (x, y, z) when it lies in
+     * the corridor, otherwise NaN.
+     */
+    public double matchKm(double x, double y, double z) {
+        GreatCircleSegment s = segment;
+        if (!degenerate) {
+            double sinCross = x * s.nx + y * s.ny + z * s.nz;
+            if (Math.abs(sinCross) > sinCorridor) return Double.NaN;
+            double along = Math.atan2(x * s.tx + y * s.ty + z * s.tz, x * s.ax + y * s.ay + z * s.az);
+            if (along < minAlong || along > maxAlong) return Double.NaN;
+        }
+
+        double fromKm = s.distanceFromSourceKm(x, y, z);
+        if (degenerate && fromKm > corridorKm) return Double.NaN;
+        return fromKm;
+    }
+}
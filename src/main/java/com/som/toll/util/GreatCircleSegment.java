@@ -0,0 +1,94 @@
+package com.som.toll.util;
+
+/**
+ * Great-circle path A→B with the route-invariant values (unit vectors, pole, direction at A,
+ * length) computed once, so measuring a point costs a few dot products instead of the
+ * repeated haversine/bearing work of the static {@link GeoUtils} methods.
+ * Points can be given as lat/lng or as precomputed unit vectors.
+ */
+public final class GreatCircleSegment {
+
+    private static final double R = GeoUtils.EARTH_RADIUS_KM;
+
+    private final double latA, lonA, latB, lonB;
+    // package-private so GreatCircleCorridor can inline its test
+    final double ax, ay, az;
+    final double nx, ny, nz; // pole of the A→B great circle (zero when A == B)
+    final double tx, ty, tz; // direction of travel at A
+    private final double lengthKm;
+
+    private GreatCircleSegment(double latA, double lonA, double latB, double lonB) {
+        this.latA = latA;
+        this.lonA = lonA;
+        this.latB = latB;
+        this.lonB = lonB;
+        double[] a = GeoUtils.unitVector(latA, lonA);
+        double[] b = GeoUtils.unitVector(latB, lonB);
+        ax = a[0]; ay = a[1]; az = a[2];
+
+        double cx = ay * b[2] - az * b[1];
+        double cy = az * b[0] - ax * b[2];
+        double cz = ax * b[1] - ay * b[0];
+        double len = Math.sqrt(cx * cx + cy * cy + cz * cz);
+        if (len < 1e-12) {
+            nx = ny = nz = 0;
+        } else {
+            nx = cx / len; ny = cy / len; nz = cz / len;
+        }
+        tx = ny * az - nz * ay;
+        ty = nz * ax - nx * az;
+        tz = nx * ay - ny * ax;
+        lengthKm = Math.atan2(len, ax * b[0] + ay * b[1] + az * b[2]) * R;
+    }
+
+    public static GreatCircleSegment of(double latA, double lonA, double latB, double lonB) {
+        return new GreatCircleSegment(latA, lonA, latB, lonB);
+    }
+
+    public double lengthKm() { return lengthKm; }
+
+    /** True when A and B coincide, so there is no direction to measure against. */
+    public boolean isDegenerate() { return nx == 0 && ny == 0 && nz == 0; }
+
+    /** Box around the whole segment widened by marginKm. */
+    public BoundingBox bounds(double marginKm) {
+        return BoundingBox.aroundSegment(latA, lonA, latB, lonB, marginKm);
+    }
+
+    /** Corridor of half-width corridorKm from slackKm before A to slackKm past B. */
+    public GreatCircleCorridor corridor(double corridorKm, double slackKm) {
+        return new GreatCircleCorridor(this, corridorKm, slackKm);
+    }
+
+    /** Unsigned cross-track distance (km). */
+    public double crossTrackKm(double x, double y, double z) {
+        return Math.abs(Math.asin(clamp(x * nx + y * ny + z * nz))) * R;
+    }
+
+    /** Signed along-track distance (km): negative before A, above {@link #lengthKm()} past B. */
+    public double alongTrackKm(double x, double y, double z) {
+        return Math.atan2(x * tx + y * ty + z * tz, x * ax + y * ay + z * az) * R;
+    }
+
+    /** Great-circle distance from A (km). */
+    public double distanceFromSourceKm(double x, double y, double z) {
+        double cx = ay * z - az * y;
+        double cy = az * x - ax * z;
+        double cz = ax * y - ay * x;
+        return Math.atan2(Math.sqrt(cx * cx + cy * cy + cz * cz), x * ax + y * ay + z * az) * R;
+    }
+
+    /** All three measures for a lat/lng in one pass. */
+    public Projection project(double lat, double lon) {
+        double[] p = GeoUtils.unitVector(lat, lon);
+        return new Projection(crossTrackKm(p[0], p[1], p[2]),
+                alongTrackKm(p[0], p[1], p[2]),
+                distanceFromSourceKm(p[0], p[1], p[2]));
+    }
+
+    private static double clamp(double v) {
+        return Math.max(-1.0, Math.min(1.0, v));
+    }
+
+    public record Projection(double crossTrackKm, double alongTrackKm, double distanceFromSourceKm) {}
+}
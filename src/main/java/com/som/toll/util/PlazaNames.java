@@ -0,0 +1,33 @@
+package com.som.toll.util;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Locale;
+
+/**
+ * Plaza name normalization and the natural key (normalized name + coordinates rounded to
+ * 5 decimals, ~1.1m) used both to de-duplicate plazas and to diff the CSV against the table.
+ */
+public final class PlazaNames {
+
+    private PlazaNames() {}
+
+    public static String normalize(String s) {
+        // lower, trim, collapse whitespace, remove periods/extra dashes
+        return s == null ? "" :
+                s.toLowerCase(Locale.ROOT)
+                 .replace('.', ' ')
+                 .replace('-', ' ')
+                 .replace('_', ' ')
+                 .replaceAll("\\s+", " ")
+                 .trim();
+    }
+
+    public static String naturalKey(String name, double lat, double lng) {
+        return normalize(name) + "|" + round(lat, 5) + "|" + round(lng, 5);
+    }
+
+    private static double round(double v, int scale) {
+        return new BigDecimal(v).setScale(scale, RoundingMode.HALF_UP).doubleValue();
+    }
+}
@@ -0,0 +1,61 @@
+package com.som.toll.util;
+
+import java.util.Arrays;
+
+/**
+ * Google encoded polyline format (precision 1e5). Decoded polylines are flat arrays
+ * {lat0, lng0, lat1, lng1, ...} so long routes cost two doubles per point.
+ */
+public final class PolylineCodec {
+
+    private PolylineCodec() {}
+
+    public static double[] decode(String encoded) {
+        // every point takes at least two characters
+        double[] points = new double[encoded.length()];
+        int n = 0;
+        int index = 0, lat = 0, lng = 0;
+        while (index < encoded.length()) {
+            for (int coord = 0; coord < 2; coord++) {
+                int result = 0, shift = 0, b;
+                do {
+                    if (index >= encoded.length()) {
+                        throw new IllegalArgumentException("Truncated polyline");
+                    }
+                    b = encoded.charAt(index++) - 63;
+                    result |= (b & 0x1f) << shift;
+                    shift += 5;
+                } while (b >= 0x20);
+                int delta = (result & 1) != 0 ? ~(result >> 1) : (result >> 1);
+                if (coord == 0) lat += delta;
+                else lng += delta;
+            }
+            points[n++] = lat / 1e5;
+            points[n++] = lng / 1e5;
+        }
+        return Arrays.copyOf(points, n);
+    }
+
+    public static String encode(double[] points) {
+        StringBuilder out = new StringBuilder(points.length * 3);
+        long prevLat = 0, prevLng = 0;
+        for (int i = 0; i + 1 < points.length; i += 2) {
+            long lat = Math.round(points[i] * 1e5);
+            long lng = Math.round(points[i + 1] * 1e5);
+            writeDelta(out, lat - prevLat);
+            writeDelta(out, lng - prevLng);
+            prevLat = lat;
+            prevLng = lng;
+        }
+        return out.toString();
+    }
+
+    private static void writeDelta(StringBuilder out, long delta) {
+        long v = delta < 0 ? ~(delta << 1) : (delta << 1);
+        while (v >= 0x20) {
+            out.append((char) ((0x20 | (v & 0x1f)) + 63));
+            v >>= 5;
+        }
+        out.append((char) (v + 63));
+    }
+}
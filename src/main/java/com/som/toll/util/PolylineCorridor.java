@@ -0,0 +1,199 @@
+package com.som.toll.util;
+
+/**
+ * Corridor of half-width corridorKm around a road polyline, with distances measured along
+ * the route instead of in a straight line from the source.
+ * <p>
+ * Each segment is kept as a small great circle (start vector, pole, direction, length) and
+ * registered in a 0.25° grid by its widened bounding box, in the same CSR layout as the plaza
+ * index. Matching a point looks up its cell, skips segments whose box does not contain it and
+ * measures the rest with a few dot products, so nothing is allocated per point.
+ */
+public final class PolylineCorridor implements Corridor {
+
+    private static final double R = GeoUtils.EARTH_RADIUS_KM;
+    private static final double KM_PER_DEGREE = 111.32;
+    private static final double CELL_DEGREES = 0.25;
+
+    private final int segments;
+    // per vertex (segments + 1)
+    private final double[] vx, vy, vz;
+    // per segment
+    private final double[] nx, ny, nz, tx, ty, tz;
+    private final double[] lengthRad, startKm;
+    private final double[] segMinLat, segMaxLat, segMinLon, segMaxLon;
+
+    private final double corridorRad;
+    private final double lengthKm;
+    private final BoundingBox bounds;
+
+    // segment grid
+    private final double originLat, originLon;
+    private final int rows, cols;
+    private final int[] cellStart;
+    private final int[] items;
+
+    private PolylineCorridor(double[] path, double corridorKm) {
+        int points = path.length / 2;
+        if (points < 1) throw new IllegalArgumentException("Polyline has no points");
+        // a single point is treated as a zero-length segment
+        int vertices = Math.max(points, 2);
+        segments = vertices - 1;
+
+        double[] lat = new double[vertices], lon = new double[vertices];
+        for (int i = 0; i < vertices; i++) {
+            int p = Math.min(i, points - 1);
+            lat[i] = path[2 * p];
+            lon[i] = path[2 * p + 1];
+        }
+
+        vx = new double[vertices]; vy = new double[vertices]; vz = new double[vertices];
+        for (int i = 0; i < vertices; i++) {
+            double[] v = GeoUtils.unitVector(lat[i], lon[i]);
+            vx[i] = v[0]; vy[i] = v[1]; vz[i] = v[2];
+        }
+
+        nx = new double[segments]; ny = new double[segments]; nz = new double[segments];
+        tx = new double[segments]; ty = new double[segments]; tz = new double[segments];
+        lengthRad = new double[segments];
+        startKm = new double[segments];
+        double km = 0;
+        for (int i = 0; i < segments; i++) {
+            int j = i + 1;
+            double cx = vy[i] * vz[j] - vz[i] * vy[j];
+            double cy = vz[i] * vx[j] - vx[i] * vz[j];
+            double cz = vx[i] * vy[j] - vy[i] * vx[j];
+            double len = Math.sqrt(cx * cx + cy * cy + cz * cz);
+            if (len > 1e-12) {
+                nx[i] = cx / len; ny[i] = cy / len; nz[i] = cz / len;
+            }
+            tx[i] = ny[i] * vz[i] - nz[i] * vy[i];
+            ty[i] = nz[i] * vx[i] - nx[i] * vz[i];
+            tz[i] = nx[i] * vy[i] - ny[i] * vx[i];
+            lengthRad[i] = Math.atan2(len, vx[i] * vx[j] + vy[i] * vy[j] + vz[i] * vz[j]);
+            startKm[i] = km;
+            km += lengthRad[i] * R;
+        }
+        lengthKm = km;
+        corridorRad = corridorKm / R;
+
+        // Widen boxes by the corridor plus 1 km for the bulge of longer segments
+        double minLat = Double.MAX_VALUE, maxLat = -Double.MAX_VALUE;
+        double minLon = Double.MAX_VALUE, maxLon = -Double.MAX_VALUE;
+        for (int i = 0; i < vertices; i++) {
+            minLat = Math.min(minLat, lat[i]); maxLat = Math.max(maxLat, lat[i]);
+            minLon = Math.min(minLon, lon[i]); maxLon = Math.max(maxLon, lon[i]);
+        }
+        double marginKm = corridorKm + 1.0;
+        double dLat = marginKm / KM_PER_DEGREE;
+        double widestLat = Math.min(89.0, Math.max(Math.abs(minLat), Math.abs(maxLat)) + dLat);
+        double dLon = marginKm / (KM_PER_DEGREE * Math.cos(Math.toRadians(widestLat)));
+        bounds = new BoundingBox(minLat - dLat, maxLat + dLat, minLon - dLon, maxLon + dLon);
+
+        segMinLat = new double[segments]; segMaxLat = new double[segments];
+        segMinLon = new double[segments]; segMaxLon = new double[segments];
+        for (int i = 0; i < segments; i++) {
+            segMinLat[i] = Math.min(lat[i], lat[i + 1]) - dLat;
+            segMaxLat[i] = Math.max(lat[i], lat[i + 1]) + dLat;
+            segMinLon[i] = Math.min(lon[i], lon[i + 1]) - dLon;
+            segMaxLon[i] = Math.max(lon[i], lon[i + 1]) + dLon;
+        }
+
+        originLat = bounds.minLat();
+        originLon = bounds.minLon();
+        rows = (int) ((bounds.maxLat() - originLat) / CELL_DEGREES) + 1;
+        cols = (int) ((bounds.maxLon() - originLon) / CELL_DEGREES) + 1;
+
+        // counting sort of segments into every cell their box touches
+        cellStart = new int[rows * cols + 1];
+        for (int i = 0; i < segments; i++) {
+            for (int r = row(segMinLat[i]); r <= row(segMaxLat[i]); r++) {
+                for (int c = col(segMinLon[i]); c <= col(segMaxLon[i]); c++) {
+                    cellStart[r * cols + c + 1]++;
+                }
+            }
+        }
+        for (int k = 0; k < rows * cols; k++) {
+            cellStart[k + 1] += cellStart[k];
+        }
+        items = new int[cellStart[rows * cols]];
+        int[] fill = new int[rows * cols];
+        for (int i = 0; i < segments; i++) {
+            for (int r = row(segMinLat[i]); r <= row(segMaxLat[i]); r++) {
+                for (int c = col(segMinLon[i]); c <= col(segMaxLon[i]); c++) {
+                    int cell = r * cols + c;
+                    items[cellStart[cell] + fill[cell]++] = i;
+                }
+            }
+        }
+    }
+
+    /** Corridor around a decoded polyline {lat0, lng0, lat1, lng1, ...}. */
+    public static PolylineCorridor of(double[] path, double corridorKm) {
+        return new PolylineCorridor(path, corridorKm);
+    }
+
+    /** Length of the polyline (km). */
+    public double lengthKm() { return lengthKm; }
+
+    public int segmentCount() { return segments; }
+
+    @Override
+    public BoundingBox bounds() { return bounds; }
+
+    /**
+     * Distance along the route (km) to the projection of the point on its nearest segment,
+     * when that segment is within the corridor, otherwise NaN.
+     */
+    @Override
+    public double matchKm(double lat, double lon, double x, double y, double z) {
+        if (!bounds.contains(lat, lon)) return Double.NaN;
+        int cell = row(lat) * cols + col(lon);
+
+        double best = corridorRad;
+        double bestKm = Double.NaN;
+        for (int k = cellStart[cell]; k < cellStart[cell + 1]; k++) {
+            int i = items[k];
+            if (lat < segMinLat[i] || lat > segMaxLat[i] || lon < segMinLon[i] || lon > segMaxLon[i]) continue;
+
+            double along = lengthRad[i] > 1e-12
+                    ? Math.atan2(x * tx[i] + y * ty[i] + z * tz[i], x * vx[i] + y * vy[i] + z * vz[i])
+                    : 0;
+            double d;
+            double atKm;
+            if (along <= 0) {
+                d = angle(x, y, z, i);
+                atKm = startKm[i];
+            } else if (along >= lengthRad[i]) {
+                d = angle(x, y, z, i + 1);
+                atKm = startKm[i] + lengthRad[i] * R;
+            } else {
+                d = Math.asin(Math.min(1.0, Math.abs(x * nx[i] + y * ny[i] + z * nz[i])));
+                atKm = startKm[i] + along * R;
+            }
+            if (d <= best) {
+                best = d;
+                bestKm = atKm;
+            }
+        }
+        return bestKm;
+    }
+
+    /** Central angle between the point and vertex v, from the chord length. */
+    private double angle(double x, double y, double z, int v) {
+        double dx = x - vx[v], dy = y - vy[v], dz = z - vz[v];
+        return 2 * Math.asin(Math.min(1.0, Math.sqrt(dx * dx + dy * dy + dz * dz) / 2));
+    }
+
+    private int row(double lat) {
+        return clamp((int) ((lat - originLat) / CELL_DEGREES), rows);
+    }
+
+    private int col(double lon) {
+        return clamp((int) ((lon - originLon) / CELL_DEGREES), cols);
+    }
+
+    private static int clamp(int v, int n) {
+        return v < 0 ? 0 : Math.min(v, n - 1);
+    }
+}
@@ -0,0 +1,41 @@
+package com.som.toll.warmup;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * /actuator/warmup: GET shows the progress of the current or last route cache warm-up; POST starts
+ * one, resuming from its checkpoint ({"restart": true} starts over); DELETE stops the running one.
+ */
+@Component
+@Endpoint(id = "warmup")
+public class RouteWarmupEndpoint {
+
+    private final RouteWarmupJob job;
+
+    public RouteWarmupEndpoint(RouteWarmupJob job) {
+        this.job = job;
+    }
+
+    @ReadOperation
+    public RouteWarmupJob.Progress progress() {
+        return job.progress();
+    }
+
+    @WriteOperation
+    public Map<String, Object> start(@Nullable Boolean restart) {
+        boolean started = job.start(Boolean.TRUE.equals(restart));
+        return Map.of("started", started, "progress", job.progress());
+    }
+
+    @DeleteOperation
+    public Map<String, Object> stop() {
+        return Map.of("stopping", job.stop(), "progress", job.progress());
+    }
+}
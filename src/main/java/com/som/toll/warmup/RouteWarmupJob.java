@@ -0,0 +1,347 @@
+package com.som.toll.warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.som.toll.cache.RouteKey;
+import com.som.toll.client.RateLimiter;
+import com.som.toll.dto.TollPlazaResponse;
+import com.som.toll.observability.CorrelationIdFilter;
+import com.som.toll.service.RouteInputResolver;
+import com.som.toll.service.TollPlazaService;
+import com.som.toll.service.TollPlazaService.ComputedRoute;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.Resource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+/**
+ * Warms the route cache for a list of pincode pairs (e.g. the routes between our warehouses), so
+ * their first request after a deploy or cache purge is not a cold one.
+ * <p>
+ * Pairs come from a CSV file (source_pincode,destination_pincode) or, when toll.warmup.pairs-table
+ * is set, from that table. They are processed in chunks: one bulk cache lookup skips the pairs
+ * already cached (and loads them into the in-process tier), the rest are computed on virtual
+ * threads, at most toll.warmup.concurrency at a time and started no faster than
+ * toll.warmup.rate-limit.per-second, since each cold pair costs Google calls. Each chunk's routes
+ * are written with one batched upsert, then the checkpoint file is updated, so a stopped or
+ * crashed run resumes after the last finished chunk; the next run after a completed one starts
+ * over. Progress is under /actuator/warmup.
+ */
+@Slf4j
+@Component
+public class RouteWarmupJob {
+
+    private static final Pattern PINCODE = Pattern.compile("[1-9][0-9]{5}");
+    private static final Pattern TABLE_NAME = Pattern.compile("[A-Za-z_][A-Za-z0-9_]*");
+    private static final int MAX_RECENT_ERRORS = 20;
+
+    public enum State { IDLE, RUNNING, STOPPING, STOPPED, COMPLETED, FAILED }
+
+    /** Progress of the current or last run. */
+    public record Progress(State state,
+                           String source,
+                           int total,
+                           int processed,
+                           int computed,
+                           int alreadyCached,
+                           int failed,
+                           int invalidPairs,
+                           int resumedFrom,
+                           LocalDateTime startedAt,
+                           LocalDateTime finishedAt,
+                           double pairsPerSecond,
+                           List<String> recentErrors) {}
+
+    private final TollPlazaService tollPlazaService;
+    private final RouteInputResolver inputResolver;
+    private final JdbcTemplate jdbcTemplate;
+    private final ExecutorService executor;
+    private final ObjectMapper mapper;
+    private final Resource pairsFile;
+    private final String pairsTable;
+    private final int concurrency;
+    private final double ratePerSecond;
+    private final int chunkSize;
+    private final boolean skipCached;
+    private final Path checkpointPath;
+    private final boolean onStartup;
+
+    private final Object lock = new Object();
+    private volatile State state = State.IDLE;
+    private volatile String source;
+    private volatile int total, invalidPairs, resumedFrom;
+    private final AtomicInteger processed = new AtomicInteger();
+    private final AtomicInteger computed = new AtomicInteger();
+    private final AtomicInteger alreadyCached = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+    private final Deque<String> recentErrors = new ConcurrentLinkedDeque<>();
+    private volatile LocalDateTime startedAt, finishedAt;
+    private volatile long startedNanos, finishedNanos;
+
+    public RouteWarmupJob(TollPlazaService tollPlazaService,
+                          RouteInputResolver inputResolver,
+                          JdbcTemplate jdbcTemplate,
+                          @Qualifier("lookupExecutor") ExecutorService executor,
+                          ObjectMapper mapper,
+                          @Value("${toll.warmup.pairs-path:classpath:warmup_pairs.csv}") Resource pairsFile,
+                          @Value("${toll.warmup.pairs-table:}") String pairsTable,
+                          @Value("${toll.warmup.concurrency:16}") int concurrency,
+                          @Value("${toll.warmup.rate-limit.per-second:20}") double ratePerSecond,
+                          @Value("${toll.warmup.chunk-size:500}") int chunkSize,
+                          @Value("${toll.warmup.skip-cached:true}") boolean skipCached,
+                          @Value("${toll.warmup.checkpoint-path:warmup-checkpoint.json}") Path checkpointPath,
+                          @Value("${toll.warmup.on-startup:false}") boolean onStartup) {
+        if (!pairsTable.isBlank() && !TABLE_NAME.matcher(pairsTable).matches()) {
+            throw new IllegalArgumentException("Invalid toll.warmup.pairs-table: " + pairsTable);
+        }
+        if (concurrency < 1 || ratePerSecond <= 0 || chunkSize < 1) {
+            throw new IllegalArgumentException("Warm-up concurrency, rate limit and chunk size must be positive");
+        }
+        this.tollPlazaService = tollPlazaService;
+        this.inputResolver = inputResolver;
+        this.jdbcTemplate = jdbcTemplate;
+        this.executor = executor;
+        this.mapper = mapper;
+        this.pairsFile = pairsFile;
+        this.pairsTable = pairsTable;
+        this.concurrency = concurrency;
+        this.ratePerSecond = ratePerSecond;
+        this.chunkSize = chunkSize;
+        this.skipCached = skipCached;
+        this.checkpointPath = checkpointPath;
+        this.onStartup = onStartup;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startOnStartup() {
+        if (onStartup) start(false);
+    }
+
+    /**
+     * Starts a run in the background, resuming from the checkpoint unless restart is set.
+     *
+     * @return false when a run is already in progress
+     */
+    public boolean start(boolean restart) {
+        synchronized (lock) {
+            if (state == State.RUNNING || state == State.STOPPING) return false;
+            state = State.RUNNING;
+        }
+        Thread.ofVirtual().name("route-warmup").start(() -> run(restart));
+        return true;
+    }
+
+    /** Asks the running job to stop; it finishes the pairs in flight and keeps its checkpoint. */
+    public boolean stop() {
+        synchronized (lock) {
+            if (state != State.RUNNING) return false;
+            state = State.STOPPING;
+            return true;
+        }
+    }
+
+    public Progress progress() {
+        long elapsed = startedAt == null ? 0 : (finishedAt == null ? System.nanoTime() : finishedNanos) - startedNanos;
+        int done = processed.get() - resumedFrom;
+        double rate = elapsed > 0 ? Math.round(done / (elapsed / 1e9) * 10) / 10.0 : 0;
+        return new Progress(state, source, total, processed.get(), computed.get(), alreadyCached.get(),
+                failed.get(), invalidPairs, resumedFrom, startedAt, finishedAt, rate, List.copyOf(recentErrors));
+    }
+
+    /** One run on the calling thread. */
+    void run(boolean restart) {
+        synchronized (lock) {
+            if (state != State.STOPPING) state = State.RUNNING;
+        }
+        MDC.put(CorrelationIdFilter.MDC_KEY, "warmup");
+        try {
+            reset();
+            List<RouteKey> pairs = loadPairs();
+            String checksum = checksum(pairs);
+            total = pairs.size();
+
+            Optional<WarmupCheckpoint> checkpoint = restart ? Optional.empty()
+                    : WarmupCheckpoint.read(checkpointPath, mapper)
+                            .filter(c -> c.checksum().equals(checksum))
+                            .filter(c -> !c.finished()); // a completed list is warmed again from the start
+            checkpoint.ifPresent(c -> {
+                resumedFrom = c.nextIndex();
+                processed.set(c.nextIndex());
+                computed.set(c.computed());
+                alreadyCached.set(c.alreadyCached());
+                failed.set(c.failed());
+            });
+            log.info("Route warm-up started: pairs={}, source={}, resumingAt={}, concurrency={}, rate={}/s",
+                    total, source, resumedFrom, concurrency, ratePerSecond);
+
+            RateLimiter limiter = new RateLimiter(ratePerSecond, Math.max(1, (int) Math.ceil(ratePerSecond)));
+            Semaphore permits = new Semaphore(concurrency);
+            for (int from = processed.get(); from < pairs.size(); from += chunkSize) {
+                if (state != State.RUNNING) break;
+                List<RouteKey> chunk = pairs.subList(from, Math.min(pairs.size(), from + chunkSize));
+                if (!runChunk(chunk, limiter, permits)) break;
+                processed.set(from + chunk.size());
+                new WarmupCheckpoint(checksum, total, processed.get(), computed.get(), alreadyCached.get(),
+                        failed.get(), LocalDateTime.now()).write(checkpointPath, mapper);
+            }
+
+            finish(processed.get() >= total ? State.COMPLETED : State.STOPPED);
+            log.info("Route warm-up {}: processed={}/{}, computed={}, alreadyCached={}, failed={}",
+                    state.name().toLowerCase(), processed.get(), total, computed.get(), alreadyCached.get(), failed.get());
+        } catch (Exception e) {
+            finish(State.FAILED);
+            recordError("Warm-up failed: " + e.getMessage());
+            log.error("Route warm-up failed after {} of {} pairs; it resumes from the last checkpoint",
+                    processed.get(), total, e);
+        } finally {
+            MDC.remove(CorrelationIdFilter.MDC_KEY);
+        }
+    }
+
+    /**
+     * Warms one chunk and writes its routes.
+     *
+     * @return false when a stop request left part of the chunk unprocessed
+     */
+    private boolean runChunk(List<RouteKey> chunk, RateLimiter limiter, Semaphore permits) throws InterruptedException {
+        Map<RouteKey, TollPlazaResponse> cached = skipCached
+                ? tollPlazaService.findAllCached(chunk, false) // not user traffic: keeps hot routes unbiased
+                : Map.of();
+        alreadyCached.addAndGet(cached.size());
+
+        Queue<ComputedRoute> done = new ConcurrentLinkedQueue<>();
+        List<Future<?>> futures = new ArrayList<>();
+        boolean complete = true;
+        for (RouteKey key : chunk) {
+            if (cached.containsKey(key)) continue;
+            if (state != State.RUNNING) {
+                complete = false;
+                break;
+            }
+            permits.acquire();
+            limiter.tryAcquire(Duration.ofDays(1)); // waits for the next permit
+            futures.add(executor.submit(() -> {
+                try {
+                    done.add(tollPlazaService.computeRoute(key, inputResolver.resolve(key.source(), key.destination())));
+                    computed.incrementAndGet();
+                } catch (Exception e) {
+                    failed.incrementAndGet();
+                    recordError(key.source() + " -> " + key.destination() + ": " + e.getMessage());
+                    log.debug("Warm-up of {} -> {} failed: {}", key.source(), key.destination(), e.getMessage());
+                } finally {
+                    permits.release();
+                }
+            }));
+        }
+        for (Future<?> f : futures) {
+            try {
+                f.get();
+            } catch (ExecutionException e) {
+                // failures are counted inside the task
+            }
+        }
+
+        // a failed write fails the run before the checkpoint moves, so the chunk is redone on resume
+        tollPlazaService.storeAll(new ArrayList<>(done));
+        return complete;
+    }
+
+    /** The pair list, deduplicated, in file or table order; invalid pairs are counted and skipped. */
+    List<RouteKey> loadPairs() throws IOException {
+        List<String[]> raw;
+        if (!pairsTable.isBlank()) {
+            source = "table " + pairsTable;
+            raw = jdbcTemplate.query("SELECT source_pincode, destination_pincode FROM " + pairsTable
+                            + " ORDER BY source_pincode, destination_pincode",
+                    (rs, i) -> new String[]{rs.getString(1), rs.getString(2)});
+        } else {
+            source = pairsFile.getDescription();
+            if (!pairsFile.exists()) {
+                throw new IllegalStateException("No warm-up pair list at " + pairsFile);
+            }
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                    pairsFile.getInputStream(), StandardCharsets.UTF_8))) {
+
+                // skip header
+                raw = reader.lines().skip(1).filter(line -> !line.isBlank())
+                        .map(line -> line.split(",", -1))
+                        .toList();
+            }
+        }
+
+        Set<RouteKey> pairs = new LinkedHashSet<>();
+        int invalid = 0;
+        for (String[] parts : raw) {
+            if (parts.length < 2 || parts[0] == null || parts[1] == null) {
+                invalid++;
+                continue;
+            }
+            String src = parts[0].trim(), dst = parts[1].trim();
+            if (!PINCODE.matcher(src).matches() || !PINCODE.matcher(dst).matches() || src.equals(dst)) {
+                invalid++;
+                continue;
+            }
+            pairs.add(new RouteKey(src, dst));
+        }
+        if (invalid > 0) {
+            log.warn("Skipped {} invalid warm-up pairs in {}", invalid, source);
+        }
+        invalidPairs = invalid;
+        return List.copyOf(pairs);
+    }
+
+    private void reset() {
+        processed.set(0);
+        computed.set(0);
+        alreadyCached.set(0);
+        failed.set(0);
+        recentErrors.clear();
+        total = 0;
+        invalidPairs = 0;
+        resumedFrom = 0;
+        startedAt = LocalDateTime.now();
+        startedNanos = System.nanoTime();
+        finishedAt = null;
+    }
+
+    private void finish(State end) {
+        finishedNanos = System.nanoTime();
+        finishedAt = LocalDateTime.now();
+        state = end;
+    }
+
+    private void recordError(String error) {
+        recentErrors.addLast(error);
+        while (recentErrors.size() > MAX_RECENT_ERRORS) recentErrors.pollFirst();
+    }
+
+    private static String checksum(List<RouteKey> pairs) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (RouteKey key : pairs) {
+                digest.update((key.source() + "," + key.destination() + "\n").getBytes(StandardCharsets.UTF_8));
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.som.toll.warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * How far a warm-up run got through its pair list: pairs before nextIndex are done. Written after
+ * every chunk, so a run that stops or dies resumes at the last finished chunk. The checksum ties
+ * the checkpoint to one pair list; a changed list starts from the beginning, and so does the next
+ * run after a finished one.
+ */
+record WarmupCheckpoint(String checksum,
+                        int total,
+                        int nextIndex,
+                        int computed,
+                        int alreadyCached,
+                        int failed,
+                        LocalDateTime updatedAt) {
+
+    static Optional<WarmupCheckpoint> read(Path path, ObjectMapper mapper) throws IOException {
+        if (!Files.exists(path)) return Optional.empty();
+        return Optional.of(mapper.readValue(path.toFile(), WarmupCheckpoint.class));
+    }
+
+    /** Replaces the file atomically, so a crash mid-write leaves the previous checkpoint. */
+    void write(Path path, ObjectMapper mapper) throws IOException {
+        Path absolute = path.toAbsolutePath();
+        Files.createDirectories(absolute.getParent());
+        Path tmp = absolute.resolveSibling(absolute.getFileName() + ".tmp");
+        mapper.writeValue(tmp.toFile(), this);
+        Files.move(tmp, absolute, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    boolean finished() {
+        return nextIndex >= total;
+    }
+}
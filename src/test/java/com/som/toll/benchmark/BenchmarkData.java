@@ -0,0 +1,70 @@
+package com.som.toll.benchmark;
+
+import com.som.toll.cache.RouteKey;
+import com.som.toll.entity.TollPlaza;
+import com.som.toll.index.PlazaDeduplicator;
+import com.som.toll.index.PlazaGridIndex;
+import com.som.toll.index.PlazaStore;
+import com.som.toll.loader.TollPlazaCsvLoader;
+import com.som.toll.provider.LatLng;
+import com.som.toll.provider.OfflineProvider;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Shared benchmark inputs: the real toll_plaza_india.csv (ids assigned in file order, as a fresh
+ * load would) and three representative pincode pairs whose endpoints and road distance come
+ * from the offline provider over the benchmark/pincode_centroids.csv fixture, so runs are
+ * reproducible and need no network.
+ */
+final class BenchmarkData {
+
+    /** Short (Pune -> Mumbai), medium (Bengaluru -> Pune) and cross-country (Delhi -> Chennai): ~120, ~730 and ~1,760 km apart. */
+    static final String SHORT = "short", MEDIUM = "medium", CROSS_COUNTRY = "cross-country";
+
+    private static final OfflineProvider CENTROIDS =
+            OfflineProvider.fromCsv(new ClassPathResource("benchmark/pincode_centroids.csv"), 1.3);
+
+    record RoutePair(RouteKey key, double[] source, double[] destination, double distanceKm) {}
+
+    private BenchmarkData() {}
+
+    static RoutePair pair(String label) {
+        return switch (label) {
+            case SHORT -> pair("411001", "400001");
+            case MEDIUM -> pair("560064", "411045");
+            case CROSS_COUNTRY -> pair("110001", "600001");
+            default -> throw new IllegalArgumentException("Unknown route pair: " + label);
+        };
+    }
+
+    private static RoutePair pair(String source, String destination) {
+        LatLng src = CENTROIDS.geocode(source), dst = CENTROIDS.geocode(destination);
+        return new RoutePair(new RouteKey(source, destination), new double[]{src.lat(), src.lng()},
+                new double[]{dst.lat(), dst.lng()}, CENTROIDS.distanceKm(source, destination));
+    }
+
+    /** Every row of the bundled plaza CSV, duplicates included. */
+    static List<TollPlaza> plazas() {
+        try {
+            var rows = TollPlazaCsvLoader.readRows(new ClassPathResource("toll_plaza_india.csv"));
+            List<TollPlaza> plazas = new ArrayList<>(rows.size());
+            long id = 1;
+            for (var row : rows) {
+                plazas.add(new TollPlaza(id++, row.name(), row.latitude(), row.longitude(), row.geoState()));
+            }
+            return plazas;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** The index the service would build from {@link #plazas()}. */
+    static PlazaGridIndex index(List<TollPlaza> plazas) {
+        return PlazaGridIndex.build(PlazaStore.from(PlazaDeduplicator.deduplicate(plazas).canonical()));
+    }
+}
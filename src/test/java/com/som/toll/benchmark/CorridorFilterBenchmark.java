@@ -0,0 +1,98 @@
+package com.som.toll.benchmark;
+
+import com.som.toll.cache.HotRouteTracker;
+import com.som.toll.cache.LocalRouteCache;
+import com.som.toll.dto.TollPlazaResponse;
+import com.som.toll.index.CorridorHits;
+import com.som.toll.index.PlazaGridIndex;
+import com.som.toll.index.PlazaIndexManager;
+import com.som.toll.index.PlazaStore;
+import com.som.toll.repository.TollPlazaRepository;
+import com.som.toll.repository.TollRateRepository;
+import com.som.toll.repository.TollRouteCacheRepository;
+import com.som.toll.service.CorridorMode;
+import com.som.toll.service.RouteInputs;
+import com.som.toll.service.TollPlazaService;
+import com.som.toll.util.GreatCircleCorridor;
+import com.som.toll.util.GreatCircleSegment;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Corridor filtering over the real plaza table for short, medium and cross-country pairs:
+ * the grid index scan alone, a linear scan over every plaza as the baseline, and the service's
+ * whole cold path for one pair (corridor, scan, response, binary encode, local cache put) with
+ * the database stubbed out.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Benchmark)
+public class CorridorFilterBenchmark {
+
+    private static final double CORRIDOR_KM = 25.0, SEGMENT_SLACK_KM = 20.0;
+
+    @Param({BenchmarkData.SHORT, BenchmarkData.MEDIUM, BenchmarkData.CROSS_COUNTRY})
+    private String pair;
+
+    private BenchmarkData.RoutePair route;
+    private PlazaGridIndex index;
+    private TollPlazaService service;
+
+    @Setup
+    public void setUp() {
+        var plazas = BenchmarkData.plazas();
+        index = BenchmarkData.index(plazas);
+        route = BenchmarkData.pair(pair);
+
+        // stub-only mocks record no invocations, so repeated calls do not accumulate
+        var plazaRepository = Mockito.mock(TollPlazaRepository.class, Mockito.withSettings().stubOnly());
+        Mockito.when(plazaRepository.findAll()).thenReturn(plazas);
+        var cacheRepository = Mockito.mock(TollRouteCacheRepository.class, Mockito.withSettings().stubOnly());
+        var rateRepository = Mockito.mock(TollRateRepository.class, Mockito.withSettings().stubOnly());
+        var meterRegistry = new SimpleMeterRegistry();
+        service = new TollPlazaService(new PlazaIndexManager(plazaRepository, rateRepository, meterRegistry),
+                new LocalRouteCache(10, Duration.ofHours(1), meterRegistry), cacheRepository,
+                new HotRouteTracker(10), event -> {}, meterRegistry, Duration.ofDays(30), Duration.ofDays(7), true,
+                CorridorMode.GREAT_CIRCLE);
+
+        System.out.printf("%n%s %s -> %s: %.0f km, %d of %d plazas in corridor%n", pair, route.key().source(),
+                route.key().destination(), route.distanceKm(), indexScan().size(), index.size());
+    }
+
+    @Benchmark
+    public CorridorHits indexScan() {
+        CorridorHits hits = index.scanCorridor(corridor());
+        hits.sortByDistance();
+        return hits;
+    }
+
+    @Benchmark
+    public CorridorHits linearScan() {
+        GreatCircleCorridor corridor = corridor();
+        PlazaStore store = index.store();
+        CorridorHits hits = new CorridorHits();
+        for (int s = 0; s < store.size(); s++) {
+            double fromKm = corridor.matchKm(store.x(s), store.y(s), store.z(s));
+            if (!Double.isNaN(fromKm)) hits.add(s, fromKm);
+        }
+        hits.sortByDistance();
+        return hits;
+    }
+
+    @Benchmark
+    public TollPlazaResponse computeRoute() {
+        return service.compute(route.key(),
+                () -> new RouteInputs(route.source(), route.destination(), route.distanceKm()), false);
+    }
+
+    private GreatCircleCorridor corridor() {
+        return GreatCircleSegment.of(route.source()[0], route.source()[1], route.destination()[0], route.destination()[1])
+                .corridor(CORRIDOR_KM, SEGMENT_SLACK_KM);
+    }
+}
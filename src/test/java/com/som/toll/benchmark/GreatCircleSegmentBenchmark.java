@@ -0,0 +1,105 @@
+package com.som.toll.benchmark;
+
+import com.som.toll.util.GreatCircleCorridor;
+import com.som.toll.util.GeoUtils;
+import com.som.toll.util.GreatCircleSegment;
+import com.som.toll.util.PolylineCorridor;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-plaza corridor measurement: the static GeoUtils calls used by the old toCandidate
+ * against a GreatCircleSegment built once per route, and a PolylineCorridor over a
+ * road-like polyline of roughly one point per kilometre.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Benchmark)
+public class GreatCircleSegmentBenchmark {
+
+    private static final int POINTS = 2_400; // roughly the plaza table
+
+    // Bengaluru -> Pune
+    private final double latA = 12.97, lonA = 77.59, latB = 18.52, lonB = 73.85;
+
+    private double[] lat, lon, x, y, z;
+    private GreatCircleSegment segment;
+    private GreatCircleCorridor corridor;
+    private double[] path;
+    private PolylineCorridor polylineCorridor;
+
+    @Setup
+    public void setUp() {
+        Random rnd = new Random(42);
+        lat = new double[POINTS]; lon = new double[POINTS];
+        x = new double[POINTS]; y = new double[POINTS]; z = new double[POINTS];
+        for (int i = 0; i < POINTS; i++) {
+            lat[i] = 8 + rnd.nextDouble() * 27;
+            lon[i] = 69 + rnd.nextDouble() * 28;
+            double[] v = GeoUtils.unitVector(lat[i], lon[i]);
+            x[i] = v[0]; y[i] = v[1]; z[i] = v[2];
+        }
+        segment = GreatCircleSegment.of(latA, lonA, latB, lonB);
+        corridor = segment.corridor(25.0, 20.0);
+
+        // ~850 km route with a few km of sideways wander
+        int vertices = 850;
+        path = new double[vertices * 2];
+        for (int i = 0; i < vertices; i++) {
+            double[] p = GeoUtils.intermediatePoint(latA, lonA, latB, lonB, (double) i / (vertices - 1));
+            path[2 * i] = p[0] + 0.03 * Math.sin(i / 20.0);
+            path[2 * i + 1] = p[1] + 0.03 * Math.cos(i / 15.0);
+        }
+        polylineCorridor = PolylineCorridor.of(path, 25.0);
+    }
+
+    @Benchmark
+    public void staticGeoUtils(Blackhole bh) {
+        for (int i = 0; i < POINTS; i++) {
+            bh.consume(GeoUtils.crossTrackDistanceKm(latA, lonA, latB, lonB, lat[i], lon[i]));
+            bh.consume(GeoUtils.alongTrackDistanceKm(latA, lonA, latB, lonB, lat[i], lon[i]));
+            bh.consume(GeoUtils.haversineKm(latA, lonA, latB, lonB));
+            bh.consume(GeoUtils.haversineKm(latA, lonA, lat[i], lon[i]));
+        }
+    }
+
+    @Benchmark
+    public void segmentProjectLatLng(Blackhole bh) {
+        for (int i = 0; i < POINTS; i++) {
+            bh.consume(segment.project(lat[i], lon[i]));
+        }
+    }
+
+    @Benchmark
+    public void segmentUnitVectors(Blackhole bh) {
+        for (int i = 0; i < POINTS; i++) {
+            bh.consume(segment.crossTrackKm(x[i], y[i], z[i]));
+            bh.consume(segment.alongTrackKm(x[i], y[i], z[i]));
+            bh.consume(segment.distanceFromSourceKm(x[i], y[i], z[i]));
+        }
+    }
+
+    @Benchmark
+    public void corridorMatch(Blackhole bh) {
+        for (int i = 0; i < POINTS; i++) {
+            bh.consume(corridor.matchKm(x[i], y[i], z[i]));
+        }
+    }
+
+    @Benchmark
+    public void polylineCorridorMatch(Blackhole bh) {
+        for (int i = 0; i < POINTS; i++) {
+            bh.consume(polylineCorridor.matchKm(lat[i], lon[i], x[i], y[i], z[i]));
+        }
+    }
+
+    @Benchmark
+    public PolylineCorridor polylineCorridorBuild() {
+        return PolylineCorridor.of(path, 25.0);
+    }
+}
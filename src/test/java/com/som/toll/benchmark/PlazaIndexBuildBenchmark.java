@@ -0,0 +1,64 @@
+package com.som.toll.benchmark;
+
+import com.som.toll.entity.TollPlaza;
+import com.som.toll.index.PlazaDeduplicator;
+import com.som.toll.index.PlazaGridIndex;
+import com.som.toll.index.PlazaStore;
+import com.som.toll.loader.TollPlazaCsvLoader;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.io.ClassPathResource;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The stages between the plaza CSV and a queryable index, on the real toll_plaza_india.csv:
+ * CSV parse, duplicate merge, columnar store, grid index, and dedup + store + index together
+ * (what every index rebuild runs).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Benchmark)
+public class PlazaIndexBuildBenchmark {
+
+    private List<TollPlaza> plazas;
+    private List<TollPlaza> canonical;
+    private PlazaStore store;
+
+    @Setup
+    public void setUp() {
+        plazas = BenchmarkData.plazas();
+        var dedup = PlazaDeduplicator.deduplicate(plazas);
+        canonical = dedup.canonical();
+        store = PlazaStore.from(canonical);
+        System.out.printf("%nPlaza rows: %d, canonical: %d, merged: %d%n",
+                plazas.size(), canonical.size(), dedup.merged().size());
+    }
+
+    @Benchmark
+    public List<TollPlazaCsvLoader.PlazaRow> parseCsv() throws Exception {
+        return TollPlazaCsvLoader.readRows(new ClassPathResource("toll_plaza_india.csv"));
+    }
+
+    @Benchmark
+    public PlazaDeduplicator.Result deduplicate() {
+        return PlazaDeduplicator.deduplicate(plazas);
+    }
+
+    @Benchmark
+    public PlazaStore buildStore() {
+        return PlazaStore.from(canonical);
+    }
+
+    @Benchmark
+    public PlazaGridIndex buildIndex() {
+        return PlazaGridIndex.build(store);
+    }
+
+    @Benchmark
+    public PlazaGridIndex rebuild() {
+        return BenchmarkData.index(plazas);
+    }
+}
@@ -0,0 +1,86 @@
+package com.som.toll.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.som.toll.cache.RouteKey;
+import com.som.toll.cache.RouteResponseCodec;
+import com.som.toll.dto.RouteDto;
+import com.som.toll.dto.TollPlazaDto;
+import com.som.toll.dto.TollPlazaResponse;
+import com.som.toll.index.CorridorHits;
+import com.som.toll.index.PlazaStore;
+import com.som.toll.util.GreatCircleSegment;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Route cache payloads for real routes (short, medium and cross-country pairs over the bundled
+ * plaza table): the Jackson JSON string stored before against the binary RouteResponseCodec
+ * form rehydrated from the plaza table.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Benchmark)
+public class RouteResponseCodecBenchmark {
+
+    @Param({BenchmarkData.SHORT, BenchmarkData.MEDIUM, BenchmarkData.CROSS_COUNTRY})
+    private String pair;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    private RouteKey key;
+    private PlazaStore store;
+    private TollPlazaResponse response;
+    private long[] ids;
+    private String json;
+    private byte[] blob;
+
+    @Setup
+    public void setUp() throws Exception {
+        var route = BenchmarkData.pair(pair);
+        var index = BenchmarkData.index(BenchmarkData.plazas());
+        key = route.key();
+        store = index.store();
+
+        // the plazas the service would return for this pair
+        CorridorHits hits = index.scanCorridor(GreatCircleSegment.of(route.source()[0], route.source()[1],
+                route.destination()[0], route.destination()[1]).corridor(25.0, 20.0));
+        hits.sortByDistance();
+        List<TollPlazaDto> tolls = new ArrayList<>();
+        ids = new long[hits.size()];
+        for (int i = 0; i < hits.size(); i++) {
+            int slot = hits.slot(i);
+            ids[i] = store.id(slot);
+            tolls.add(new TollPlazaDto(store.name(slot), store.lat(slot), store.lon(slot),
+                    Math.round(hits.distanceKm(i) * 1000.0) / 1000.0, store.geoState(slot)));
+        }
+        response = new TollPlazaResponse(new RouteDto(key.source(), key.destination(), route.distanceKm()), tolls);
+        json = mapper.writeValueAsString(response);
+        blob = RouteResponseCodec.encode(response, ids);
+        System.out.printf("%n%s: %d plazas, payload bytes json=%d, binary=%d%n",
+                pair, tolls.size(), json.getBytes().length, blob.length);
+    }
+    @Benchmark
+    public String jsonEncode() throws Exception {
+        return mapper.writeValueAsString(response);
+    }
+
+    @Benchmark
+    public TollPlazaResponse jsonDecode() throws Exception {
+        return mapper.readValue(json, TollPlazaResponse.class);
+    }
+
+    @Benchmark
+    public byte[] binaryEncode() {
+        return RouteResponseCodec.encode(response, ids);
+    }
+
+    @Benchmark
+    public TollPlazaResponse binaryDecode() {
+        return RouteResponseCodec.decode(blob, key, store);
+    }
+}
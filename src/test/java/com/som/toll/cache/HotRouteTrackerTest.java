@@ -0,0 +1,73 @@
+package com.som.toll.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HotRouteTrackerTest {
+
+    @Test
+    void shouldKeepMostRequestedPairsInOrder() {
+        // given
+        var tracker = new HotRouteTracker(3);
+        var hot = new RouteKey("560064", "411045");
+        var warm = new RouteKey("110001", "400001");
+        var cool = new RouteKey("600001", "700001");
+
+        // when: a long tail of one-off pairs around the repeated ones
+        for (int i = 0; i < 2000; i++) {
+            tracker.record(new RouteKey("5" + (100000 + i), "4" + (100000 + i)));
+            if (i % 10 == 0) tracker.record(hot);
+            if (i % 20 == 0) tracker.record(warm);
+            if (i % 40 == 0) tracker.record(cool);
+        }
+
+        // then
+        assertThat(tracker.hottest()).containsExactly(hot, warm, cool);
+        assertThat(tracker.estimate(hot)).isGreaterThanOrEqualTo(200);
+    }
+
+    @Test
+    void shouldFadeOldPopularity() {
+        // given: the smallest sketch (1024 wide) halves its counts about every 10240 requests
+        var tracker = new HotRouteTracker(1);
+        var old = new RouteKey("560064", "411045");
+        for (int i = 0; i < 100; i++) tracker.record(old);
+
+        // when: the total is checked on a sample of calls, so go a little past it
+        for (int i = 0; i < 11264; i++) tracker.record(new RouteKey("110001", "400001"));
+
+        // then
+        assertThat(tracker.estimate(old)).isLessThanOrEqualTo(50 + 10);
+        assertThat(tracker.hottest()).containsExactly(new RouteKey("110001", "400001"));
+    }
+
+    @Test
+    void shouldCountRequestsFromManyThreads() throws Exception {
+        // given: hot-size 200 sizes the sketch well above the 12000 requests, so counts are not halved
+        var tracker = new HotRouteTracker(200);
+        var hot = new RouteKey("560064", "411045");
+        var warm = new RouteKey("110001", "400001");
+
+        // when: eight threads record concurrently, each with its own one-off pairs
+        try (var executor = Executors.newFixedThreadPool(8)) {
+            for (int t = 0; t < 8; t++) {
+                int thread = t;
+                executor.submit(() -> {
+                    for (int i = 0; i < 500; i++) {
+                        tracker.record(hot);
+                        if (i % 2 == 0) tracker.record(warm);
+                        tracker.record(new RouteKey("5" + (100000 + thread * 1000 + i), "400001"));
+                    }
+                });
+            }
+        }
+
+        // then: no increment is lost
+        assertThat(tracker.estimate(hot)).isGreaterThanOrEqualTo(4000);
+        assertThat(tracker.estimate(warm)).isGreaterThanOrEqualTo(2000);
+        assertThat(tracker.hottest()).startsWith(hot, warm);
+    }
+}
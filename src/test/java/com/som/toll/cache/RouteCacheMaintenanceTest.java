@@ -0,0 +1,32 @@
+package com.som.toll.cache;
+
+import com.som.toll.repository.TollRouteCacheRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+
+class RouteCacheMaintenanceTest {
+
+    @Test
+    void purgeShouldDeleteInBatchesUntilNothingIsLeft() {
+        var repository = Mockito.mock(TollRouteCacheRepository.class);
+        Mockito.when(repository.deleteCreatedBefore(any(), eq(100))).thenReturn(100, 100, 7);
+        var maintenance = new RouteCacheMaintenance(Mockito.mock(JdbcTemplate.class), repository, Duration.ofDays(30), 100);
+
+        maintenance.purgeExpired();
+
+        var cutoff = ArgumentCaptor.forClass(LocalDateTime.class);
+        Mockito.verify(repository, Mockito.times(3)).deleteCreatedBefore(cutoff.capture(), eq(100));
+        assertThat(Duration.between(cutoff.getValue(), LocalDateTime.now()).toMinutes())
+                .isCloseTo(Duration.ofDays(30).toMinutes(), within(1L));
+    }
+}
@@ -0,0 +1,96 @@
+package com.som.toll.cache;
+
+import com.som.toll.dto.RouteDto;
+import com.som.toll.dto.TollPlazaDto;
+import com.som.toll.dto.TollPlazaResponse;
+import com.som.toll.entity.TollPlaza;
+import com.som.toll.entity.TollRate;
+import com.som.toll.index.PlazaStore;
+import com.som.toll.rate.JourneyType;
+import com.som.toll.rate.RateTable;
+import com.som.toll.rate.RouteCosts;
+import com.som.toll.rate.VehicleClass;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RouteResponseCodecTest {
+
+    private final PlazaStore store = PlazaStore.from(List.of(
+            new TollPlaza(3L, "Khed Shivapur Toll Plaza", 18.3291, 73.8561, "Maharashtra"),
+            new TollPlaza(1L, "Devanahalli Toll Plaza", 13.1936004, 77.6472356, "Karnataka"),
+            new TollPlaza(2000L, "Hirekodige Toll Plaza", 13.5175, 77.495, "Karnataka")));
+
+    private final RouteKey key = new RouteKey("560064", "411045");
+
+    @Test
+    void shouldRoundTripAgainstPlazaTable() {
+        var response = new TollPlazaResponse(new RouteDto("560064", "411045", 855.8), List.of(
+                new TollPlazaDto("Devanahalli Toll Plaza", 13.1936004, 77.6472356, 32.215, "Karnataka"),
+                new TollPlazaDto("Hirekodige Toll Plaza", 13.5175, 77.495, 67.0, "Karnataka"),
+                new TollPlazaDto("Khed Shivapur Toll Plaza", 18.3291, 73.8561, 812.004, "Maharashtra")));
+
+        byte[] blob = RouteResponseCodec.encode(response, new long[]{1L, 2000L, 3L});
+
+        assertThat(blob[0]).isEqualTo(RouteResponseCodec.VERSION);
+        assertThat(blob.length).isLessThan(30);
+        assertThat(RouteResponseCodec.decode(blob, key, store)).isEqualTo(response);
+    }
+
+    @Test
+    void shouldKeepRouteTotalsWhileTheRatesAreUnchanged() {
+        var rates = RateTable.build(store, List.of(
+                new TollRate(1L, "Devanahalli Toll Plaza", "Karnataka", "car", 95, null, null)));
+        long[] ids = {1L, 3L};
+        var response = new TollPlazaResponse(new RouteDto("560064", "411045", 855.8), List.of(
+                new TollPlazaDto("Devanahalli Toll Plaza", 13.1936004, 77.6472356, 32.215, "Karnataka"),
+                new TollPlazaDto("Khed Shivapur Toll Plaza", 18.3291, 73.8561, 812.004, "Maharashtra")),
+                null, RouteCosts.of(rates, ids));
+
+        byte[] blob = RouteResponseCodec.encode(response, ids);
+        var decoded = RouteResponseCodec.decode(blob, key, rates).getRouteCosts();
+        var changed = RateTable.build(store, List.of(
+                new TollRate(1L, "Devanahalli Toll Plaza", "Karnataka", "car", 100, null, null)));
+        var repriced = RouteResponseCodec.decode(blob, key, changed).getRouteCosts();
+
+        assertThat(decoded.total(VehicleClass.CAR, JourneyType.MONTHLY)).isEqualTo(3165);
+        assertThat(decoded.unpriced(VehicleClass.CAR, JourneyType.SINGLE)).isEqualTo(1);
+        assertThat(decoded.fee(0, VehicleClass.CAR, JourneyType.SINGLE)).isEqualTo(95);
+        assertThat(repriced.total(VehicleClass.CAR, JourneyType.SINGLE)).isEqualTo(100);
+    }
+
+    @Test
+    void shouldDecodeVersion1Blobs() {
+        var response = new TollPlazaResponse(new RouteDto("560064", "411045", 855.8), List.of(
+                new TollPlazaDto("Devanahalli Toll Plaza", 13.1936004, 77.6472356, 32.215, "Karnataka")));
+        byte[] blob = RouteResponseCodec.encode(response, new long[]{1L});
+        // v1 is v2 without the trailing costs flag
+        byte[] v1 = Arrays.copyOf(blob, blob.length - 1);
+        v1[0] = 1;
+
+        var decoded = RouteResponseCodec.decode(v1, key, store);
+
+        assertThat(decoded).isEqualTo(response);
+        assertThat(decoded.getRouteCosts().unpriced(VehicleClass.CAR, JourneyType.SINGLE)).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRejectUnknownPlazaOrVersion() {
+        var response = new TollPlazaResponse(new RouteDto("560064", "411045", 855.8), List.of(
+                new TollPlazaDto("Removed Toll Plaza", 14.0, 77.0, 10.0, "Karnataka")));
+        byte[] blob = RouteResponseCodec.encode(response, new long[]{42L});
+
+        assertThatThrownBy(() -> RouteResponseCodec.decode(blob, key, store))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("42");
+
+        blob[0] = 99;
+        assertThatThrownBy(() -> RouteResponseCodec.decode(blob, key, store))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("version");
+    }
+}
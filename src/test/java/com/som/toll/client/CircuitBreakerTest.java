@@ -0,0 +1,42 @@
+package com.som.toll.client;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CircuitBreakerTest {
+
+    @Test
+    void shouldAllowOneTrialAfterOpenDurationAndCloseOnSuccess() {
+        var now = new AtomicLong();
+        var breaker = new CircuitBreaker(2, Duration.ofSeconds(30), now::get);
+        breaker.onFailure();
+        breaker.onFailure();
+        assertThat(breaker.tryAcquire()).isFalse();
+
+        now.addAndGet(Duration.ofSeconds(30).toNanos());
+        assertThat(breaker.tryAcquire()).isTrue();   // trial
+        assertThat(breaker.tryAcquire()).isFalse();  // others wait for it
+        breaker.onSuccess();
+
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(breaker.tryAcquire()).isTrue();
+    }
+
+    @Test
+    void shouldReopenWhenTrialFails() {
+        var now = new AtomicLong();
+        var breaker = new CircuitBreaker(1, Duration.ofSeconds(30), now::get);
+        breaker.onFailure();
+        now.addAndGet(Duration.ofSeconds(30).toNanos());
+        assertThat(breaker.tryAcquire()).isTrue();
+
+        breaker.onFailure();
+
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(breaker.tryAcquire()).isFalse();
+    }
+}
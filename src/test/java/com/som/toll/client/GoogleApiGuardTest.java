@@ -0,0 +1,85 @@
+package com.som.toll.client;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class GoogleApiGuardTest {
+
+    private final GoogleApiGuard guard = new GoogleApiGuard(1000, 100, Duration.ofSeconds(1),
+            3, Duration.ofMinutes(1), 3, Duration.ofMillis(1), Duration.ofMillis(5));
+
+    @Test
+    void shouldRetryTransientFailuresUntilSuccess() {
+        // given: a timeout, then OVER_QUERY_LIMIT, then an answer
+        var calls = new AtomicInteger();
+
+        // when
+        String result = guard.call("Geocoding", () -> switch (calls.incrementAndGet()) {
+            case 1 -> throw new ResourceAccessException("Read timed out");
+            case 2 -> throw new GoogleApiException("Geocoding API returned OVER_QUERY_LIMIT", true);
+            default -> "OK";
+        });
+
+        // then
+        assertThat(result).isEqualTo("OK");
+        assertThat(calls).hasValue(3);
+        assertThat(guard.circuitState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void shouldNotRetryClientErrors() {
+        var calls = new AtomicInteger();
+
+        assertThatThrownBy(() -> guard.call("Geocoding", () -> {
+            calls.incrementAndGet();
+            throw HttpClientErrorException.create(HttpStatus.FORBIDDEN, "Forbidden", null, null, null);
+        })).isInstanceOf(GoogleApiException.class).isNotInstanceOf(GoogleApiUnavailableException.class);
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    void shouldFailFastOnceCircuitOpens() {
+        // given: three consecutive failures (one call, three attempts) open the circuit
+        var calls = new AtomicInteger();
+        assertThatThrownBy(() -> guard.call("Directions", () -> {
+            calls.incrementAndGet();
+            throw new ResourceAccessException("Connection refused");
+        })).isInstanceOf(GoogleApiException.class).hasMessageContaining("after 3 attempts");
+
+        // when / then: the next call is refused without reaching Google
+        assertThatThrownBy(() -> guard.call("Directions", () -> calls.incrementAndGet()))
+                .isInstanceOf(GoogleApiUnavailableException.class);
+        assertThat(calls).hasValue(3);
+        assertThat(guard.circuitState()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    void shouldApplyTheSamePolicyToReactiveCalls() {
+        // given: a timeout, then an answer; then a call that keeps failing
+        var calls = new AtomicInteger();
+
+        // when
+        String result = guard.callAsync("Geocoding", () -> calls.incrementAndGet() == 1
+                ? Mono.error(new TimeoutException("Read timed out"))
+                : Mono.just("OK")).block();
+
+        // then: retried once; three more failures open the shared circuit
+        assertThat(result).isEqualTo("OK");
+        assertThat(calls).hasValue(2);
+        assertThatThrownBy(() -> guard.callAsync("Directions",
+                () -> Mono.<String>error(new ResourceAccessException("Connection refused"))).block())
+                .isInstanceOf(GoogleApiException.class).hasMessageContaining("after 3 attempts");
+        assertThatThrownBy(() -> guard.call("Directions", () -> "never called"))
+                .isInstanceOf(GoogleApiUnavailableException.class);
+    }
+}
@@ -0,0 +1,30 @@
+package com.som.toll.client;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimiterTest {
+
+    @Test
+    void shouldAllowBurstThenPaceAtTheConfiguredRate() {
+        // given: 10 per second, burst of 2
+        var now = new AtomicLong();
+        var limiter = new RateLimiter(10, 2, now::get);
+        long maxWait = Duration.ofMillis(250).toNanos();
+
+        // then: two immediate permits, then one every 100 ms, refused beyond the maximum wait
+        assertThat(limiter.reserve(maxWait)).isZero();
+        assertThat(limiter.reserve(maxWait)).isZero();
+        assertThat(limiter.reserve(maxWait)).isEqualTo(Duration.ofMillis(100).toNanos());
+        assertThat(limiter.reserve(maxWait)).isEqualTo(Duration.ofMillis(200).toNanos());
+        assertThat(limiter.reserve(maxWait)).isEqualTo(-1);
+
+        // and: tokens refill with time
+        now.addAndGet(Duration.ofMillis(400).toNanos());
+        assertThat(limiter.reserve(maxWait)).isZero();
+    }
+}
@@ -0,0 +1,62 @@
+package com.som.toll.config;
+
+import com.som.toll.observability.CorrelationIdFilter;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.autoconfigure.task.TaskSchedulingAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConcurrencyConfigTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(TaskExecutionAutoConfiguration.class,
+                    TaskSchedulingAutoConfiguration.class))
+            .withUserConfiguration(ConcurrencyConfig.class, AsyncJob.Config.class);
+
+    @Test
+    void shouldRunAsyncMethodsOnTheApplicationTaskExecutorWithTheCallerMdc() {
+        contextRunner.run(context -> {
+            assertThat(context).hasBean(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME);
+            var executor = context.getBean(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME,
+                    ThreadPoolTaskExecutor.class);
+
+            MDC.put(CorrelationIdFilter.MDC_KEY, "req-42");
+            try {
+                var seen = context.getBean(AsyncJob.class).run().get();
+                assertThat(seen.thread()).startsWith(executor.getThreadNamePrefix());
+                assertThat(seen.correlationId()).isEqualTo("req-42");
+            } finally {
+                MDC.remove(CorrelationIdFilter.MDC_KEY);
+            }
+        });
+    }
+
+    static class AsyncJob {
+
+        record Seen(String thread, String correlationId) {}
+
+        @Async
+        public CompletableFuture<Seen> run() {
+            return CompletableFuture.completedFuture(
+                    new Seen(Thread.currentThread().getName(), MDC.get(CorrelationIdFilter.MDC_KEY)));
+        }
+
+        @Configuration
+        static class Config {
+            @Bean
+            AsyncJob asyncJob() {
+                return new AsyncJob();
+            }
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.som.toll.controller;
+
+import com.som.toll.client.GoogleApiUnavailableException;
+import com.som.toll.dto.RouteDto;
+import com.som.toll.dto.TollPlazaDto;
+import com.som.toll.dto.TollPlazaResponse;
+import com.som.toll.entity.TollPlaza;
+import com.som.toll.entity.TollRate;
+import com.som.toll.index.PlazaIndexManager;
+import com.som.toll.repository.TollPlazaRepository;
+import com.som.toll.repository.TollRateRepository;
+import com.som.toll.observability.CorrelationIdFilter;
+import com.som.toll.observability.ReactiveCorrelationIdFilter;
+import com.som.toll.service.ReactiveTollPlazaService;
+import com.som.toll.service.TollCostService;
+import com.som.toll.service.TollPlazaBatchService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+
+class ReactiveTollPlazaHandlerTest {
+
+    private ReactiveTollPlazaService tollPlazaService;
+    private WebTestClient client;
+
+    @BeforeEach
+    void setUp() {
+        tollPlazaService = Mockito.mock(ReactiveTollPlazaService.class);
+        var costService = new TollCostService(ratedIndex(), new SimpleMeterRegistry());
+        var handler = new ReactiveTollPlazaHandler(tollPlazaService, Mockito.mock(TollPlazaBatchService.class), costService,
+                Validation.buildDefaultValidatorFactory().getValidator());
+        client = WebTestClient.bindToRouterFunction(new ReactiveTollPlazaRouter().tollPlazaRoutes(handler))
+                .webFilter(new ReactiveCorrelationIdFilter())
+                .build();
+    }
+
+    @Test
+    void shouldServeTheSameContractAsTheServletEndpoint() {
+        // given
+        var response = new TollPlazaResponse(new RouteDto("560064", "411045", 855.8),
+                List.of(new TollPlazaDto("Devanahalli Toll Plaza", 13.1936004, 77.6472356, 31.2, "Karnataka")));
+        Mockito.when(tollPlazaService.findTollsOnRoute("560064", "411045", false)).thenReturn(Mono.just(response));
+
+        // when / then
+        client.post().uri("/api/v1/toll-plazas")
+                .header(CorrelationIdFilter.HEADER, "req-7")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("sourcePincode", "560064", "destinationPincode", "411045"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(CorrelationIdFilter.HEADER, "req-7")
+                .expectBody()
+                .jsonPath("$.route.distanceInKm").isEqualTo(855.8)
+                .jsonPath("$.tollPlazas[0].name").isEqualTo("Devanahalli Toll Plaza")
+                .jsonPath("$.cost.vehicleClass").isEqualTo("car")
+                .jsonPath("$.cost.unpricedPlazas").isEqualTo(1);
+    }
+
+    @Test
+    void shouldRejectInvalidAndIdenticalPincodes() {
+        client.post().uri("/api/v1/toll-plazas")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("sourcePincode", "012345", "destinationPincode", "411045"))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.error").isEqualTo("sourcePincode must be a valid 6-digit Indian pincode");
+
+        client.post().uri("/api/v1/toll-plazas")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("sourcePincode", "411045", "destinationPincode", "411045"))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.error").isEqualTo("Source and destination pincodes cannot be the same");
+        Mockito.verifyNoInteractions(tollPlazaService);
+    }
+
+    @Test
+    void shouldMapGoogleUnavailableTo503() {
+        Mockito.when(tollPlazaService.findTollsOnRoute("560064", "411045", true))
+                .thenReturn(Mono.error(new GoogleApiUnavailableException("circuit open")));
+
+        client.post().uri("/api/v1/toll-plazas?refresh=true")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("sourcePincode", "560064", "destinationPincode", "411045"))
+                .exchange()
+                .expectStatus().isEqualTo(503)
+                .expectBody().jsonPath("$.error").isEqualTo("Route service temporarily unavailable, please retry");
+    }
+
+    private static PlazaIndexManager ratedIndex() {
+        var plazaRepository = Mockito.mock(TollPlazaRepository.class);
+        var rateRepository = Mockito.mock(TollRateRepository.class);
+        Mockito.when(plazaRepository.findAll()).thenReturn(List.of(
+                new TollPlaza(1L, "Devanahalli Toll Plaza", 13.1936004, 77.6472356, "Karnataka")));
+        Mockito.when(rateRepository.findAll()).thenReturn(List.of(
+                new TollRate(1L, "Devanahalli Toll Plaza", "Karnataka", "car", 95, null, null)));
+        return new PlazaIndexManager(plazaRepository, rateRepository, new SimpleMeterRegistry());
+    }
+}
@@ -0,0 +1,35 @@
+package com.som.toll.index;
+
+import com.som.toll.entity.TollPlaza;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PlazaDeduplicatorTest {
+
+    @Test
+    void shouldKeepLowestIdForSameNameWithin100m() {
+        var result = PlazaDeduplicator.deduplicate(List.of(
+                new TollPlaza(7L, "Soyal, Dhrol Toll Plaza", 22.550447, 70.34917, "Gujarat"),
+                new TollPlaza(3L, "Soyal, Dhrol Toll Plaza", 22.550447, 70.34917, "Gujarat"),   // exact repeat
+                new TollPlaza(9L, "soyal, dhrol toll-plaza", 22.55080, 70.34917, "Gujarat")));  // ~40m, other spelling
+
+        assertThat(result.canonical()).extracting(TollPlaza::getId).containsExactly(3L);
+        assertThat(result.merged()).extracting(PlazaDeduplicator.MergedDuplicate::duplicateId)
+                .containsExactly(7L, 9L);
+        assertThat(result.merged()).allSatisfy(d -> assertThat(d.canonicalId()).isEqualTo(3L));
+    }
+
+    @Test
+    void shouldKeepDifferentNamesAndDistantPlazas() {
+        var result = PlazaDeduplicator.deduplicate(List.of(
+                new TollPlaza(1L, "Devanahalli Toll Plaza", 13.1936004, 77.6472356, "Karnataka"),
+                new TollPlaza(2L, "Airport Toll Plaza", 13.1936004, 77.6472356, "Karnataka"),      // same spot, other name
+                new TollPlaza(3L, "Devanahalli Toll Plaza", 13.1986004, 77.6472356, "Karnataka"))); // ~550m away
+
+        assertThat(result.canonical()).hasSize(3);
+        assertThat(result.merged()).isEmpty();
+    }
+}
@@ -0,0 +1,63 @@
+package com.som.toll.index;
+
+import com.som.toll.entity.TollPlaza;
+import com.som.toll.util.BoundingBox;
+import com.som.toll.util.GreatCircleSegment;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PlazaGridIndexTest {
+
+    private final PlazaGridIndex index = PlazaGridIndex.build(PlazaStore.from(List.of(
+            new TollPlaza(1L, "Devanahalli Toll Plaza", 13.1936004, 77.6472356, "Karnataka"),
+            new TollPlaza(2L, "Hirekodige Toll Plaza", 13.5175, 77.495, "Karnataka"),
+            new TollPlaza(3L, "Khed Shivapur Toll Plaza", 18.3291, 73.8561, "Maharashtra"),
+            new TollPlaza(4L, "Paranur Toll Plaza", 12.7267, 79.9838, "Tamil Nadu"))));
+
+    @Test
+    void shouldVisitOnlyCellsTouchedByBox() {
+        var box = new BoundingBox(13.0, 13.6, 77.4, 77.7);
+
+        List<String> names = new ArrayList<>();
+        index.forEachCandidate(box, s -> names.add(index.store().name(s)));
+
+        assertThat(names).containsExactlyInAnyOrder("Devanahalli Toll Plaza", "Hirekodige Toll Plaza");
+    }
+
+    @Test
+    void shouldVisitNothingForBoxOutsideGrid() {
+        var box = new BoundingBox(30.0, 31.0, 90.0, 91.0);
+
+        List<Integer> visited = new ArrayList<>();
+        index.forEachCandidate(box, visited::add);
+
+        assertThat(visited).isEmpty();
+    }
+
+    @Test
+    void corridorBoxShouldCoverBothEndpointsWithMargin() {
+        var box = BoundingBox.aroundSegment(12.9, 77.6, 18.5, 73.9, 25.0);
+
+        assertThat(box.contains(12.9, 77.6)).isTrue();
+        assertThat(box.contains(18.5, 73.9)).isTrue();
+        assertThat(box.minLat()).isLessThan(12.9 - 0.2);
+        assertThat(box.maxLon()).isGreaterThan(77.6 + 0.2);
+    }
+
+    @Test
+    void scanShouldKeepOnlyPlazasOnTheCorridor() {
+        // Bengaluru -> Pune: Hirekodige is ~27 km off the line, Paranur (near Chennai) far off it
+        CorridorHits hits = index.scanCorridor(GreatCircleSegment.of(12.9, 77.6, 18.5, 73.9).corridor(25.0, 20.0));
+        hits.sortByDistance();
+
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < hits.size(); i++) names.add(index.store().name(hits.slot(i)));
+
+        assertThat(names).containsExactly("Devanahalli Toll Plaza", "Khed Shivapur Toll Plaza");
+        assertThat(hits.distanceKm(0)).isLessThan(hits.distanceKm(1));
+    }
+}
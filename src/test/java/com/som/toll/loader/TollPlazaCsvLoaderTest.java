@@ -0,0 +1,41 @@
+package com.som.toll.loader;
+
+import com.som.toll.loader.TollPlazaCsvLoader.PlazaRow;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TollPlazaCsvLoaderTest {
+
+    @Test
+    void shouldParseQuotedNamesContainingCommas() {
+        // when
+        PlazaRow row = TollPlazaCsvLoader.parse(
+                "77.5193241,28.7040936,\"Eastern Peripheral Expy, Kallu Garhi Toll Plaza\",Uttar Pradesh");
+
+        // then
+        assertThat(row.name()).isEqualTo("Eastern Peripheral Expy, Kallu Garhi Toll Plaza");
+        assertThat(row.latitude()).isEqualTo(28.7040936);
+        assertThat(row.longitude()).isEqualTo(77.5193241);
+        assertThat(row.geoState()).isEqualTo("Uttar Pradesh");
+    }
+
+    @Test
+    void shouldSkipMalformedLines() {
+        assertThat(TollPlazaCsvLoader.parse("not-a-number,12.0,Some Plaza,Karnataka")).isNull();
+        assertThat(TollPlazaCsvLoader.parse("77.1,12.0")).isNull();
+    }
+
+    @Test
+    void shouldReadEveryRowOfTheBundledCsv() throws Exception {
+        // when
+        List<PlazaRow> rows = TollPlazaCsvLoader.readRows(new ClassPathResource("toll_plaza_india.csv"));
+
+        // then
+        assertThat(rows).hasSize(2385);
+        assertThat(rows.get(0).name()).isEqualTo("Dhamnod Toll Plaza"); // order is preserved
+    }
+}
@@ -0,0 +1,46 @@
+package com.som.toll.loader;
+
+import com.som.toll.entity.TollPlaza;
+import com.som.toll.loader.TollPlazaCsvLoader.PlazaRow;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TollPlazaCsvReloaderTest {
+
+    @Test
+    void shouldApplyOnlyInsertsUpdatesAndDeletes() {
+        var existing = List.of(
+                new TollPlaza(1L, "Devanahalli Toll Plaza", 13.1936004, 77.6472356, "Karnataka"),
+                new TollPlaza(2L, "Nelamangala Toll Plaza", 13.0938, 77.3916, "Karnataka"),
+                new TollPlaza(3L, "Old Toll Plaza", 15.0, 75.0, "Karnataka"));
+        var rows = List.of(
+                new PlazaRow("Devanahalli Toll Plaza", 13.1936004, 77.6472356, "Karnataka"),   // unchanged
+                new PlazaRow("Nelamangala Toll-Plaza", 13.0938, 77.3916, "Karnataka"),        // same key, new spelling
+                new PlazaRow("New Toll Plaza", 16.0, 76.0, "Karnataka"));                     // added
+
+        var diff = TollPlazaCsvReloader.diff(rows, existing);
+
+        assertThat(diff.unchanged).isEqualTo(1);
+        assertThat(diff.updates).extracting(TollPlazaCsvReloader.Update::id).containsExactly(2L);
+        assertThat(diff.inserts).extracting(PlazaRow::name).containsExactly("New Toll Plaza");
+        assertThat(diff.deletes).extracting(TollPlaza::getId).containsExactly(3L);
+        assertThat(diff.changedPoints()).hasSize(3);
+    }
+
+    @Test
+    void shouldPairDuplicatesByCount() {
+        var existing = List.of(
+                new TollPlaza(1L, "Soyal Toll Plaza", 22.550447, 70.34917, "Gujarat"),
+                new TollPlaza(2L, "Soyal Toll Plaza", 22.550447, 70.34917, "Gujarat"));
+        var rows = List.of(new PlazaRow("Soyal Toll Plaza", 22.550447, 70.34917, "Gujarat"));
+
+        var diff = TollPlazaCsvReloader.diff(rows, existing);
+
+        assertThat(diff.unchanged).isEqualTo(1);
+        assertThat(diff.inserts).isEmpty();
+        assertThat(diff.deletes).extracting(TollPlaza::getId).containsExactly(2L);
+    }
+}
@@ -0,0 +1,39 @@
+package com.som.toll.loader;
+
+import com.som.toll.loader.TollRateCsvLoader.RateRow;
+import com.som.toll.rate.VehicleClass;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TollRateCsvLoaderTest {
+
+    @Test
+    void shouldParseQuotedNamesAndOptionalFees() {
+        // when
+        RateRow row = TollRateCsvLoader.parse(
+                "\"Eastern Peripheral Expy, Kallu Garhi Toll Plaza\",Uttar Pradesh,multi-axle,610,,20000");
+
+        // then
+        assertThat(row.plazaName()).isEqualTo("Eastern Peripheral Expy, Kallu Garhi Toll Plaza");
+        assertThat(row.geoState()).isEqualTo("Uttar Pradesh");
+        assertThat(row.vehicleClass()).isEqualTo(VehicleClass.MULTI_AXLE);
+        assertThat(row.singleJourney()).isEqualTo(610);
+        assertThat(row.returnJourney()).isNull();
+        assertThat(row.monthlyPass()).isEqualTo(20000);
+    }
+
+    @Test
+    void shouldSkipMalformedLines() {
+        assertThat(TollRateCsvLoader.parse("Some Plaza,Karnataka,tractor,100,,")).isNull();
+        assertThat(TollRateCsvLoader.parse("Some Plaza,Karnataka,car,,150,")).isNull();
+        assertThat(TollRateCsvLoader.parse("Some Plaza,Karnataka,car,-5,,")).isNull();
+        assertThat(TollRateCsvLoader.parse("Some Plaza,car,100")).isNull();
+    }
+
+    @Test
+    void shouldBundleACsvWithOnlyTheHeader() throws Exception {
+        assertThat(TollRateCsvLoader.readRows(new ClassPathResource("toll_rates_india.csv").getInputStream())).isEmpty();
+    }
+}
@@ -0,0 +1,61 @@
+package com.som.toll.observability;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CorrelationIdFilterTest {
+
+    private final CorrelationIdFilter filter = new CorrelationIdFilter();
+
+    @Test
+    void shouldKeepCallerIdAndPropagateItToExecutorTasks() throws Exception {
+        // given
+        var request = new MockHttpServletRequest("POST", "/api/v1/toll-plazas");
+        request.addHeader(CorrelationIdFilter.HEADER, "req-42");
+        var response = new MockHttpServletResponse();
+        var seenOnWorker = new AtomicReference<String>();
+
+        // when: the request hands work to an executor, as the lookup resolver does
+        try (var executor = new MdcPropagatingExecutorService(Executors.newSingleThreadExecutor())) {
+            filter.doFilter(request, response, new MockFilterChain() {
+                @Override
+                public void doFilter(jakarta.servlet.ServletRequest req, jakarta.servlet.ServletResponse res) {
+                    try {
+                        executor.submit(() -> seenOnWorker.set(MDC.get(CorrelationIdFilter.MDC_KEY))).get();
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                }
+            });
+        }
+
+        // then
+        assertThat(response.getHeader(CorrelationIdFilter.HEADER)).isEqualTo("req-42");
+        assertThat(seenOnWorker.get()).isEqualTo("req-42");
+        assertThat(MDC.get(CorrelationIdFilter.MDC_KEY)).isNull();
+    }
+
+    @Test
+    void shouldReplaceMissingOrMalformedId() throws Exception {
+        // given
+        var request = new MockHttpServletRequest("POST", "/api/v1/toll-plazas");
+        request.addHeader(CorrelationIdFilter.HEADER, "bad id\nwith newline");
+        var response = new MockHttpServletResponse();
+
+        // when
+        filter.doFilter(request, response, new MockFilterChain());
+
+        // then
+        assertThat(response.getHeader(CorrelationIdFilter.HEADER))
+                .isNotEqualTo("bad id\nwith newline")
+                .matches("[0-9a-f-]{36}");
+    }
+}
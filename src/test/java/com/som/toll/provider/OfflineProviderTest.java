@@ -0,0 +1,55 @@
+package com.som.toll.provider;
+
+import com.som.toll.util.GeoUtils;
+import com.som.toll.util.PolylineCodec;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class OfflineProviderTest {
+
+    private final OfflineProvider provider = new OfflineProvider(Map.of(
+            "411045", new LatLng(18.56, 73.78),
+            "411001", new LatLng(18.52, 73.86),
+            "560064", new LatLng(13.10, 77.59)), 1.3);
+
+    @Test
+    void shouldResolveKnownPincodesAndNearestPrefixOtherwise() {
+        assertThat(provider.geocode("560064")).isEqualTo(new LatLng(13.10, 77.59));
+
+        // 411038 shares "4110" with both Pune entries: their mean
+        var pune = provider.geocode("411038");
+        assertThat(pune.lat()).isCloseTo(18.54, within(1e-9));
+        assertThat(pune.lng()).isCloseTo(73.82, within(1e-9));
+
+        assertThatThrownBy(() -> provider.geocode("700001")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> provider.geocode("419999")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void shouldScaleStraightLineDistanceByRoadFactor() {
+        double straight = GeoUtils.haversineKm(13.10, 77.59, 18.56, 73.78);
+
+        assertThat(provider.distanceKm("560064", "411045")).isCloseTo(straight * 1.3, within(1e-9));
+        assertThat(provider.distancesKm("560064", List.of("411045", "700001")))
+                .containsExactly(new double[]{straight * 1.3, Double.NaN}, within(1e-9));
+
+        var directions = provider.directions("560064", "411045");
+        assertThat(PolylineCodec.decode(directions.encodedPolyline())).containsExactly(13.10, 77.59, 18.56, 73.78);
+        assertThat(directions.distanceKm()).isCloseTo(straight * 1.3, within(1e-9));
+    }
+
+    @Test
+    void shouldLoadBundledCentroidTable() {
+        var bundled = OfflineProvider.fromCsv(new ClassPathResource("pincode_centroids.csv"), 1.3);
+
+        assertThat(bundled.geocode("110001")).isEqualTo(new LatLng(28.63, 77.22));
+        assertThat(bundled.storesResults()).isFalse();
+    }
+}
@@ -0,0 +1,67 @@
+package com.som.toll.rate;
+
+import com.som.toll.entity.TollPlaza;
+import com.som.toll.entity.TollRate;
+import com.som.toll.index.PlazaStore;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RateTableTest {
+
+    private final PlazaStore store = PlazaStore.from(List.of(
+            new TollPlaza(1L, "Devanahalli Toll Plaza", 13.1936004, 77.6472356, "Karnataka"),
+            new TollPlaza(2L, "Hirekodige Toll Plaza", 13.5175, 77.495, "Karnataka"),
+            new TollPlaza(3L, "Khed Shivapur Toll Plaza", 18.3291, 73.8561, "Maharashtra")));
+
+    @Test
+    void shouldMatchRatesByNameAndStateAndDeriveMissingFees() {
+        // when
+        var rates = RateTable.build(store, List.of(
+                new TollRate(1L, " devanahalli toll plaza", "Karnataka", "car", 95, null, null),
+                new TollRate(2L, "Devanahalli Toll Plaza", "Karnataka", "MULTI_AXLE", 610, 915, 20000),
+                new TollRate(3L, "Khed Shivapur Toll Plaza", "Karnataka", "car", 120, null, null))); // wrong state
+
+        // then
+        int devanahalli = store.slotOf(1L);
+        assertThat(rates.fee(devanahalli, VehicleClass.CAR, JourneyType.SINGLE)).isEqualTo(95);
+        assertThat(rates.fee(devanahalli, VehicleClass.CAR, JourneyType.RETURN)).isEqualTo(145);   // 142.5
+        assertThat(rates.fee(devanahalli, VehicleClass.CAR, JourneyType.MONTHLY)).isEqualTo(3165); // 3166.7
+        assertThat(rates.fee(devanahalli, VehicleClass.MULTI_AXLE, JourneyType.MONTHLY)).isEqualTo(20000);
+        assertThat(rates.fee(devanahalli, VehicleClass.BUS, JourneyType.SINGLE)).isEqualTo(RateTable.UNKNOWN);
+        assertThat(rates.fee(store.slotOf(3L), VehicleClass.CAR, JourneyType.SINGLE)).isEqualTo(RateTable.UNKNOWN);
+        assertThat(rates.pricedPlazas()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldSumRouteTotalsAndKeepThemWhenReordered() {
+        // given
+        var rates = RateTable.build(store, List.of(
+                new TollRate(1L, "Devanahalli Toll Plaza", "Karnataka", "bus", 330, null, null),
+                new TollRate(2L, "Khed Shivapur Toll Plaza", "Maharashtra", "bus", 400, null, null)));
+
+        // when
+        var costs = RouteCosts.of(rates, new long[]{1L, 2L, 3L});
+        var reversed = costs.permuted(new int[]{2, 1, 0});
+
+        // then
+        assertThat(costs.total(VehicleClass.BUS, JourneyType.SINGLE)).isEqualTo(730);
+        assertThat(costs.unpriced(VehicleClass.BUS, JourneyType.SINGLE)).isEqualTo(1);
+        assertThat(costs.unpriced(VehicleClass.CAR, JourneyType.SINGLE)).isEqualTo(3);
+        assertThat(reversed.fee(0, VehicleClass.BUS, JourneyType.SINGLE)).isEqualTo(400);
+        assertThat(reversed.plazaIds()).containsExactly(3L, 2L, 1L);
+        assertThat(reversed.total(VehicleClass.BUS, JourneyType.SINGLE)).isEqualTo(730);
+    }
+
+    @Test
+    void shouldParseRequestCodes() {
+        assertThat(VehicleClass.of("Multi-Axle")).isEqualTo(VehicleClass.MULTI_AXLE);
+        assertThat(VehicleClass.of(null)).isEqualTo(VehicleClass.CAR);
+        assertThat(JourneyType.of("")).isEqualTo(JourneyType.SINGLE);
+        assertThat("multi_axle").matches(VehicleClass.PATTERN);
+        assertThatThrownBy(() -> VehicleClass.of("tractor")).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,79 @@
+package com.som.toll.service;
+
+import com.som.toll.client.GoogleApiUnavailableException;
+import com.som.toll.entity.PincodeLocation;
+import com.som.toll.provider.GeoProvider;
+import com.som.toll.provider.LatLng;
+import com.som.toll.provider.OfflineProvider;
+import com.som.toll.repository.PincodeLocationRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+
+class GeocodingServiceTest {
+
+    private GeoProvider geoProvider;
+    private PincodeLocationRepository pincodeRepository;
+    private GeocodingService service;
+
+    @BeforeEach
+    void setUp() {
+        geoProvider = Mockito.mock(GeoProvider.class);
+        Mockito.when(geoProvider.name()).thenReturn("GOOGLE");
+        Mockito.when(geoProvider.storesResults()).thenReturn(true);
+        pincodeRepository = Mockito.mock(PincodeLocationRepository.class);
+        service = new GeocodingService(geoProvider, Optional.empty(), pincodeRepository, 100, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void shouldUseStoredCentroidWithoutCallingGoogle() {
+        Mockito.when(pincodeRepository.findById("560064")).thenReturn(Optional.of(
+                new PincodeLocation("560064", 13.10, 77.59, "CSV", null)));
+
+        var latLng = service.geocode("560064");
+        service.geocode("560064");
+
+        assertThat(latLng).containsExactly(13.10, 77.59);
+        Mockito.verify(pincodeRepository, Mockito.times(1)).findById("560064");
+        Mockito.verify(geoProvider, Mockito.never()).geocode(anyString());
+    }
+
+    @Test
+    void shouldFallBackToGoogleAndWriteResultBack() {
+        Mockito.when(pincodeRepository.findById("411045")).thenReturn(Optional.empty());
+        Mockito.when(geoProvider.geocode("411045")).thenReturn(new LatLng(18.56, 73.78));
+
+        var latLng = service.geocode("411045");
+
+        assertThat(latLng).containsExactly(18.56, 73.78);
+        Mockito.verify(pincodeRepository).save(any(PincodeLocation.class));
+    }
+
+    @Test
+    void shouldUseOfflineProviderWhenGoogleIsUnavailableWithoutStoringIt() {
+        // given
+        Mockito.when(pincodeRepository.findById("411045")).thenReturn(Optional.empty());
+        Mockito.when(geoProvider.geocode("411045")).thenThrow(new GoogleApiUnavailableException("circuit open"));
+        var offline = new OfflineProvider(Map.of("411045", new LatLng(18.59, 73.74)), 1.3);
+        var withFallback = new GeocodingService(geoProvider, Optional.of(offline), pincodeRepository, 100,
+                new SimpleMeterRegistry());
+
+        // when
+        var first = withFallback.locate("411045");
+        withFallback.geocode("411045");
+
+        // then: answered offline and marked so, asked Google again next time, nothing stored
+        assertThat(first.value()).containsExactly(18.59, 73.74);
+        assertThat(first.fallback()).isTrue();
+        Mockito.verify(geoProvider, Mockito.times(2)).geocode("411045");
+        Mockito.verify(pincodeRepository, Mockito.never()).save(any());
+    }
+}
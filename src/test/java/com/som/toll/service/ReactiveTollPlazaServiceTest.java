@@ -0,0 +1,78 @@
+package com.som.toll.service;
+
+import com.som.toll.cache.RouteKey;
+import com.som.toll.dto.RouteDto;
+import com.som.toll.dto.TollPlazaResponse;
+import com.som.toll.entity.TollRouteCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+
+class ReactiveTollPlazaServiceTest {
+
+    private final Scheduler computeScheduler = Schedulers.newParallel("test-compute", 1);
+    private final TollPlazaService tollPlazaService = Mockito.mock(TollPlazaService.class);
+    private final ReactiveRouteInputResolver resolver = Mockito.mock(ReactiveRouteInputResolver.class);
+    private final ReactiveTollPlazaService service =
+            new ReactiveTollPlazaService(tollPlazaService, resolver, computeScheduler);
+
+    @AfterEach
+    void tearDown() {
+        computeScheduler.dispose();
+    }
+
+    @Test
+    void shouldServeCachedRoutesWithoutResolvingInputs() {
+        var key = new RouteKey("560064", "411045");
+        var cached = new TollPlazaResponse(new RouteDto("560064", "411045", 855.8), List.of());
+        Mockito.when(tollPlazaService.cached(key)).thenReturn(Optional.of(cached));
+
+        assertThat(service.findTollsOnRoute("560064", "411045", false).block()).isSameAs(cached);
+        Mockito.verifyNoInteractions(resolver);
+    }
+
+    @Test
+    void shouldComputeOnTheComputeSchedulerAndShareConcurrentMisses() {
+        // given: a miss whose inputs take a while to resolve
+        var key = new RouteKey("560064", "411045");
+        var inputs = new RouteInputs(new double[]{12.9, 77.6}, new double[]{18.5, 73.9}, 855.8);
+        var response = new TollPlazaResponse(new RouteDto("560064", "411045", 855.8), List.of());
+        var computed = new TollPlazaService.ComputedRoute(key, response, new TollRouteCache());
+        var resolves = new AtomicInteger();
+        var computeThread = new AtomicReference<String>();
+        Mockito.when(tollPlazaService.cached(key)).thenReturn(Optional.empty());
+        Mockito.when(resolver.resolve("560064", "411045")).thenAnswer(invocation -> Mono.fromCallable(() -> {
+            resolves.incrementAndGet();
+            return inputs;
+        }).delayElement(Duration.ofMillis(200)));
+        Mockito.when(tollPlazaService.computeRoute(eq(key), any())).thenAnswer(invocation -> {
+            computeThread.set(Thread.currentThread().getName());
+            return computed;
+        });
+        Mockito.when(tollPlazaService.store(computed)).thenReturn(response);
+
+        // when: two lookups for the same pair at once
+        var both = Mono.zip(service.findTollsOnRoute("560064", "411045", false),
+                service.findTollsOnRoute("560064", "411045", false)).block();
+
+        // then
+        assertThat(both.getT1()).isSameAs(response);
+        assertThat(both.getT2()).isSameAs(response);
+        assertThat(resolves).hasValue(1);
+        assertThat(computeThread.get()).startsWith("test-compute");
+        Mockito.verify(tollPlazaService, Mockito.times(1)).store(computed);
+    }
+}
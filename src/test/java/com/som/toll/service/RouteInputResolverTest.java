@@ -0,0 +1,105 @@
+package com.som.toll.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RouteInputResolverTest {
+
+    private GeocodingService geocodingService;
+    private RouteService routeService;
+    private ExecutorService executor;
+    private RouteInputResolver resolver;
+
+    @BeforeEach
+    void setUp() {
+        geocodingService = Mockito.mock(GeocodingService.class);
+        routeService = Mockito.mock(RouteService.class);
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        resolver = new RouteInputResolver(geocodingService, routeService, executor, Duration.ofSeconds(2));
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.close();
+    }
+
+    @Test
+    void shouldCombineAllThreeLookups() {
+        Mockito.when(geocodingService.locate("560064")).thenReturn(ProviderAnswer.primary(new double[]{13.10, 77.59}));
+        Mockito.when(geocodingService.locate("411045")).thenReturn(ProviderAnswer.primary(new double[]{18.56, 73.78}));
+        Mockito.when(routeService.distance("560064", "411045")).thenReturn(ProviderAnswer.primary(855.8));
+
+        var inputs = resolver.resolve("560064", "411045");
+
+        assertThat(inputs.source()).containsExactly(13.10, 77.59);
+        assertThat(inputs.destination()).containsExactly(18.56, 73.78);
+        assertThat(inputs.distanceKm()).isEqualTo(855.8);
+        assertThat(inputs.fallback()).isFalse();
+    }
+
+    @Test
+    void shouldUseRoutePolylineInPolylineMode() {
+        double[] path = {13.10, 77.59, 15.36, 75.12, 18.56, 73.78};
+        Mockito.when(routeService.corridorMode()).thenReturn(CorridorMode.POLYLINE);
+        Mockito.when(geocodingService.locate("560064")).thenReturn(ProviderAnswer.primary(new double[]{13.10, 77.59}));
+        Mockito.when(geocodingService.locate("411045")).thenReturn(ProviderAnswer.primary(new double[]{18.56, 73.78}));
+        Mockito.when(routeService.route("560064", "411045")).thenReturn(ProviderAnswer.primary(new RoutePath(path, 841.2)));
+
+        var inputs = resolver.resolve("560064", "411045");
+
+        assertThat(inputs.distanceKm()).isEqualTo(841.2);
+        assertThat(inputs.path()).isSameAs(path);
+        Mockito.verify(routeService, Mockito.never()).distance(Mockito.anyString(), Mockito.anyString());
+    }
+
+    @Test
+    void shouldMarkInputsWhenAnyLookupCameFromTheFallbackProvider() {
+        Mockito.when(geocodingService.locate("560064")).thenReturn(ProviderAnswer.primary(new double[]{13.10, 77.59}));
+        Mockito.when(geocodingService.locate("411045")).thenReturn(ProviderAnswer.primary(new double[]{18.56, 73.78}));
+        Mockito.when(routeService.distance("560064", "411045")).thenReturn(ProviderAnswer.fromFallback(802.4));
+
+        var inputs = resolver.resolve("560064", "411045");
+
+        assertThat(inputs.distanceKm()).isEqualTo(802.4);
+        assertThat(inputs.fallback()).isTrue();
+    }
+
+    @Test
+    void shouldFailFastWithTheOriginalException() {
+        Mockito.when(geocodingService.locate("560064"))
+                .thenThrow(new IllegalArgumentException("Invalid pincode or geocoding failed for: 560064"));
+        Mockito.when(geocodingService.locate("411045")).thenAnswer(inv -> {
+            Thread.sleep(10_000);
+            return ProviderAnswer.primary(new double[]{18.56, 73.78});
+        });
+
+        long start = System.nanoTime();
+        assertThatThrownBy(() -> resolver.resolve("560064", "411045"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(2));
+    }
+
+    @Test
+    void shouldReportASlowLookupAsATimeout() {
+        resolver = new RouteInputResolver(geocodingService, routeService, executor, Duration.ofMillis(100));
+        Mockito.when(geocodingService.locate("560064")).thenReturn(ProviderAnswer.primary(new double[]{13.10, 77.59}));
+        Mockito.when(geocodingService.locate("411045")).thenReturn(ProviderAnswer.primary(new double[]{18.56, 73.78}));
+        Mockito.when(routeService.distance("560064", "411045")).thenAnswer(inv -> {
+            Thread.sleep(10_000);
+            return ProviderAnswer.primary(855.8);
+        });
+
+        assertThatThrownBy(() -> resolver.resolve("560064", "411045"))
+                .isInstanceOf(RouteLookupTimeoutException.class)
+                .hasMessageContaining("timed out after 100 ms");
+    }
+}
@@ -0,0 +1,73 @@
+package com.som.toll.service;
+
+import com.som.toll.cache.HotRouteTracker;
+import com.som.toll.cache.RouteKey;
+import com.som.toll.cache.StaleRouteServedEvent;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+
+class RouteRefresherTest {
+
+    private final TollPlazaService tollPlazaService = Mockito.mock(TollPlazaService.class);
+    private final RouteInputResolver inputResolver = Mockito.mock(RouteInputResolver.class);
+    private final HotRouteTracker hotRoutes = new HotRouteTracker(10);
+
+    @Test
+    void shouldRefreshHottestPairsInTheBackground() throws Exception {
+        // given
+        var executor = Executors.newSingleThreadExecutor();
+        var refresher = new RouteRefresher(tollPlazaService, inputResolver, hotRoutes, executor);
+        var hot = new RouteKey("560064", "411045");
+        var other = new RouteKey("110001", "400001");
+        hotRoutes.record(hot);
+        hotRoutes.record(hot);
+        hotRoutes.record(other);
+
+        // when
+        refresher.refreshHotRoutes();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+
+        // then: recomputed without the local-tier recheck, so the stored row is replaced
+        Mockito.verify(tollPlazaService).compute(eq(hot), any(), eq(false));
+        Mockito.verify(tollPlazaService).compute(eq(other), any(), eq(false));
+    }
+
+    @Test
+    void shouldRunOneRefreshPerPairAndDropWhenQueueIsFull() throws Exception {
+        // given: one worker blocked on the first refresh and room for one more in the queue
+        var executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(1));
+        var refresher = new RouteRefresher(tollPlazaService, inputResolver, hotRoutes, executor);
+        var started = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        Mockito.when(tollPlazaService.compute(any(), any(), eq(false))).thenAnswer(inv -> {
+            started.countDown();
+            release.await();
+            return null;
+        });
+        var first = new RouteKey("560064", "411045");
+
+        // when
+        boolean queued = refresher.refresh(first);
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        refresher.onStaleRouteServed(new StaleRouteServedEvent(first));
+        boolean second = refresher.refresh(new RouteKey("110001", "400001"));
+        boolean overflow = refresher.refresh(new RouteKey("600001", "700001"));
+        release.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+
+        // then
+        assertThat(queued).isTrue();
+        assertThat(second).isTrue();
+        assertThat(overflow).isFalse();
+        Mockito.verify(tollPlazaService, Mockito.times(1)).compute(eq(first), any(), eq(false));
+        Mockito.verify(tollPlazaService, Mockito.times(2)).compute(any(), any(), eq(false));
+    }
+}
@@ -0,0 +1,76 @@
+package com.som.toll.service;
+
+import com.som.toll.cache.RouteKey;
+import com.som.toll.client.GoogleApiException;
+import com.som.toll.provider.DistanceProvider;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+
+class RouteServiceTest {
+
+    private final DistanceProvider provider = Mockito.mock(DistanceProvider.class);
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final RouteService routeService = new RouteService(provider, Optional.empty(), CorridorMode.GREAT_CIRCLE,
+            100, executor, 3, new SimpleMeterRegistry());
+
+    @AfterEach
+    void tearDown() {
+        executor.close();
+    }
+
+    @Test
+    void shouldFetchDistancesPerSourceConcurrentlyUpToTheBound() {
+        AtomicInteger inFlight = new AtomicInteger(), maxInFlight = new AtomicInteger();
+        Mockito.when(provider.name()).thenReturn("google");
+        Mockito.when(provider.distancesKm(anyString(), anyList())).thenAnswer(call -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            Thread.sleep(20);
+            inFlight.decrementAndGet();
+            return new double[]{100.0};
+        });
+
+        List<RouteKey> pairs = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            pairs.add(new RouteKey("5600" + (10 + i), "411045"));
+        }
+        var distances = routeService.distancesKm(pairs);
+
+        assertThat(distances.km()).hasSize(12);
+        assertThat(distances.failures()).isEmpty();
+        assertThat(maxInFlight.get()).isBetween(2, 3);
+    }
+
+    @Test
+    void shouldReportTheReasonForEachPairWithoutADistance() {
+        Mockito.when(provider.name()).thenReturn("google");
+        Mockito.when(provider.distancesKm(eq("560064"), anyList())).thenReturn(new double[]{855.8, Double.NaN});
+        Mockito.when(provider.distancesKm(eq("600001"), anyList()))
+                .thenThrow(new GoogleApiException("Distance Matrix API error: REQUEST_DENIED", false));
+
+        var distances = routeService.distancesKm(List.of(
+                new RouteKey("560064", "411045"),
+                new RouteKey("560064", "744101"),
+                new RouteKey("600001", "411045")));
+
+        assertThat(distances.km()).containsOnlyKeys(new RouteKey("560064", "411045"));
+        assertThat(distances.failures().get(new RouteKey("560064", "744101")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("No route between 560064 and 744101");
+        assertThat(distances.failures().get(new RouteKey("600001", "411045")))
+                .isInstanceOf(GoogleApiException.class);
+    }
+}
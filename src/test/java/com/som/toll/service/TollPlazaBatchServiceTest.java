@@ -0,0 +1,190 @@
+package com.som.toll.service;
+
+import com.som.toll.cache.RouteKey;
+import com.som.toll.client.GoogleApiUnavailableException;
+import com.som.toll.dto.BatchItemResult;
+import com.som.toll.dto.RouteDto;
+import com.som.toll.dto.TollPlazaRequest;
+import com.som.toll.dto.TollPlazaResponse;
+import com.som.toll.entity.TollPlaza;
+import com.som.toll.entity.TollRate;
+import com.som.toll.index.PlazaIndexManager;
+import com.som.toll.repository.TollPlazaRepository;
+import com.som.toll.repository.TollRateRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+
+class TollPlazaBatchServiceTest {
+
+    private TollPlazaService tollPlazaService;
+    private GeocodingService geocodingService;
+    private RouteService routeService;
+    private ExecutorService executor;
+    private TollPlazaBatchService batchService;
+
+    @BeforeEach
+    void setUp() {
+        tollPlazaService = Mockito.mock(TollPlazaService.class);
+        geocodingService = Mockito.mock(GeocodingService.class);
+        routeService = Mockito.mock(RouteService.class);
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        var costService = new TollCostService(ratedIndex(), new SimpleMeterRegistry());
+        batchService = new TollPlazaBatchService(tollPlazaService, costService, geocodingService, routeService, executor,
+                Validation.buildDefaultValidatorFactory().getValidator(), 100, 2, 2, 1000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.close();
+    }
+
+    @Test
+    void shouldShareLookupsAndReportFailuresPerPair() {
+        var cachedKey = new RouteKey("560064", "411045");
+        var missKey = new RouteKey("560064", "600001");
+        var cached = new TollPlazaResponse(new RouteDto("560064", "411045", 855.8), List.of());
+        var computed = new TollPlazaResponse(new RouteDto("560064", "600001", 346.0), List.of());
+
+        Mockito.when(tollPlazaService.findAllCached(anyCollection())).thenReturn(Map.of(cachedKey, cached));
+        Mockito.when(geocodingService.locate("560064")).thenReturn(ProviderAnswer.primary(new double[]{13.10, 77.59}));
+        Mockito.when(geocodingService.locate("600001")).thenReturn(ProviderAnswer.primary(new double[]{13.09, 80.28}));
+        Mockito.when(routeService.distancesKm(List.of(missKey))).thenReturn(new RouteDistances(Map.of(missKey, 346.0), Map.of()));
+        Mockito.when(tollPlazaService.compute(eq(missKey), any(), eq(true))).thenReturn(computed);
+
+        var truck = request("560064", "411045");
+        truck.setVehicleClass("truck");
+        var response = batchService.process(List.of(
+                request("560064", "411045"),
+                request("560064", "600001"),
+                request("560064", "560064"),
+                truck));
+
+        assertThat(response.getSucceeded()).isEqualTo(3);
+        assertThat(response.getFailed()).isEqualTo(1);
+        assertThat(response.getResults().get(0).getResult().getRoute()).isSameAs(cached.getRoute());
+        assertThat(response.getResults().get(1).getResult().getRoute()).isSameAs(computed.getRoute());
+        assertThat(response.getResults().get(2).getError()).isEqualTo("Source and destination pincodes cannot be the same");
+        assertThat(response.getResults().get(3).getResult().getRoute()).isSameAs(cached.getRoute());
+        // each request is priced for its own vehicle class; the shared cached response is left as it was
+        assertThat(response.getResults().get(0).getResult().getCost().getVehicleClass()).isEqualTo("car");
+        assertThat(response.getResults().get(3).getResult().getCost().getVehicleClass()).isEqualTo("truck");
+        assertThat(cached.getCost()).isNull();
+        Mockito.verify(geocodingService, Mockito.times(1)).locate("560064");
+        Mockito.verify(geocodingService, Mockito.never()).locate("411045");
+    }
+
+    @Test
+    void shouldBoundGeocodeFanOutToTheBatchParallelism() {
+        AtomicInteger inFlight = new AtomicInteger(), maxInFlight = new AtomicInteger();
+        Mockito.when(tollPlazaService.findAllCached(anyCollection())).thenReturn(Map.of());
+        Mockito.when(geocodingService.locate(anyString())).thenAnswer(call -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            Thread.sleep(5);
+            inFlight.decrementAndGet();
+            return ProviderAnswer.primary(new double[]{13.10, 77.59});
+        });
+        Mockito.when(routeService.distancesKm(anyCollection())).thenReturn(new RouteDistances(Map.of(), Map.of()));
+
+        List<TollPlazaRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            requests.add(request("5600" + (10 + i), "4110" + (10 + i)));
+        }
+        batchService.process(requests);
+
+        Mockito.verify(geocodingService, Mockito.times(40)).locate(anyString());
+        assertThat(maxInFlight.get()).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    void shouldReportWhyAPairHasNoDistance() {
+        var noRoad = new RouteKey("560064", "744101");
+        var sourceDown = new RouteKey("600001", "411045");
+        Mockito.when(tollPlazaService.findAllCached(anyCollection())).thenReturn(Map.of());
+        Mockito.when(geocodingService.locate(anyString())).thenReturn(ProviderAnswer.primary(new double[]{13.10, 77.59}));
+        Mockito.when(routeService.distancesKm(anyCollection())).thenReturn(new RouteDistances(Map.of(), Map.of(
+                noRoad, new IllegalArgumentException("No route between 560064 and 744101"),
+                sourceDown, new GoogleApiUnavailableException("Google Maps circuit breaker is open"))));
+
+        var response = batchService.process(List.of(request("560064", "744101"), request("600001", "411045")));
+
+        assertThat(response.getResults()).extracting(BatchItemResult::getError).containsExactly(
+                "No route between 560064 and 744101", "Route service temporarily unavailable, please retry");
+    }
+
+    @Test
+    @Timeout(10)
+    void shouldReportAPairWhoseComputationThrowsAnError() {
+        var key = new RouteKey("560064", "600001");
+        Mockito.when(tollPlazaService.findAllCached(anyCollection())).thenReturn(Map.of());
+        Mockito.when(geocodingService.locate(anyString())).thenReturn(ProviderAnswer.primary(new double[]{13.10, 77.59}));
+        Mockito.when(routeService.distancesKm(anyCollection())).thenReturn(new RouteDistances(Map.of(key, 346.0), Map.of()));
+        Mockito.when(tollPlazaService.compute(eq(key), any(), eq(true))).thenThrow(new StackOverflowError());
+
+        var response = batchService.process(List.of(request("560064", "600001")));
+
+        assertThat(response.getFailed()).isEqualTo(1);
+        assertThat(response.getResults().get(0).getError()).isEqualTo("Failed to compute tolls");
+    }
+
+    private static TollPlazaRequest request(String source, String destination) {
+        var request = new TollPlazaRequest();
+        request.setSourcePincode(source);
+        request.setDestinationPincode(destination);
+        return request;
+    }
+
+    @Test
+    void streamShouldEmitEveryPairChunkByChunk() {
+        var cached = new TollPlazaResponse(new RouteDto("560064", "411045", 855.8), List.of());
+        Mockito.when(tollPlazaService.findAllCached(anyCollection()))
+                .thenReturn(Map.of(new RouteKey("560064", "411045"), cached));
+
+        List<BatchItemResult> emitted = new ArrayList<>();
+        batchService.stream(List.of(
+                request("560064", "411045"),
+                request("560064", "12345"),
+                request("560064", "411045")), emitted::add);
+
+        assertThat(emitted).hasSize(3);
+        assertThat(emitted).filteredOn(r -> r.getError() != null).hasSize(1);
+        // chunk size 2: the cache is consulted once per chunk
+        Mockito.verify(tollPlazaService, Mockito.times(2)).findAllCached(anyCollection());
+    }
+
+    @Test
+    void shouldRejectAnOversizedStreamBeforeProcessingAnyPair() {
+        var requests = Collections.nCopies(1001, request("560064", "411045"));
+
+        assertThatThrownBy(() -> batchService.checkStreamSize(requests))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Batch size 1001 exceeds the limit of 1000");
+        Mockito.verifyNoInteractions(tollPlazaService);
+    }
+
+    private static PlazaIndexManager ratedIndex() {
+        var plazaRepository = Mockito.mock(TollPlazaRepository.class);
+        var rateRepository = Mockito.mock(TollRateRepository.class);
+        Mockito.when(plazaRepository.findAll()).thenReturn(List.of(
+                new TollPlaza(1L, "Devanahalli Toll Plaza", 13.1936004, 77.6472356, "Karnataka")));
+        Mockito.when(rateRepository.findAll()).thenReturn(List.of(
+                new TollRate(1L, "Devanahalli Toll Plaza", "Karnataka", "car", 95, null, null)));
+        return new PlazaIndexManager(plazaRepository, rateRepository, new SimpleMeterRegistry());
+    }
+}
@@ -1,35 +1,59 @@
 package com.som.toll.service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.som.toll.cache.HotRouteTracker;
+import com.som.toll.cache.LocalRouteCache;
+import com.som.toll.cache.RouteKey;
+import com.som.toll.cache.StaleRouteServedEvent;
 import com.som.toll.dto.RouteDto;
+import com.som.toll.dto.TollPlazaDto;
 import com.som.toll.dto.TollPlazaResponse;
 import com.som.toll.entity.TollPlaza;
+import com.som.toll.entity.TollRate;
 import com.som.toll.entity.TollRouteCache;
+import com.som.toll.index.PlazaIndexManager;
+import com.som.toll.observability.PipelineMetrics;
+import com.som.toll.rate.JourneyType;
+import com.som.toll.rate.VehicleClass;
 import com.som.toll.repository.TollPlazaRepository;
+import com.som.toll.repository.TollRateRepository;
 import com.som.toll.repository.TollRouteCacheRepository;
+import com.som.toll.util.GeoUtils;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.assertj.core.api.Assertions.within;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 
 class TollPlazaServiceTest {
 
     private TollPlazaRepository plazaRepository;
+    private TollRateRepository rateRepository;
     private TollRouteCacheRepository cacheRepository;
     private TollPlazaService service;
+    private final HotRouteTracker hotRoutes = new HotRouteTracker(10);
+    private final List<Object> published = new ArrayList<>();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
     private ObjectMapper mapper = new ObjectMapper();
 
     @BeforeEach
     void setUp() {
         plazaRepository = Mockito.mock(TollPlazaRepository.class);
+        rateRepository = Mockito.mock(TollRateRepository.class);
         cacheRepository = Mockito.mock(TollRouteCacheRepository.class);
-        service = new TollPlazaService(plazaRepository, cacheRepository);
+        service = newService(true);
     }
 
     @Test
@@ -39,7 +63,7 @@ class TollPlazaServiceTest {
         var cachedResponse = new TollPlazaResponse(route, List.of());
         String json = mapper.writeValueAsString(cachedResponse);
 
-        Mockito.when(cacheRepository.findBySourcePincodeAndDestinationPincode("560064", "411045"))
+        Mockito.when(cacheRepository.findFresh(eq("560064"), eq("411045"), any()))
                 .thenReturn(Optional.of(TollRouteCache.builder()
                         .sourcePincode("560064")
                         .destinationPincode("411045")
@@ -55,6 +79,30 @@ class TollPlazaServiceTest {
         Mockito.verify(plazaRepository, Mockito.never()).findAll();
     }
 
+    @Test
+    void shouldRecomputeRoutesCachedUnderTheOtherCorridorMode() throws Exception {
+        // given: the row was written while toll.corridor.mode was polyline
+        var route = new RouteDto("560064", "411045", 855.8);
+        Mockito.when(plazaRepository.findAll()).thenReturn(List.of(
+                new TollPlaza(1L, "Devanahalli Toll Plaza", 13.1936004, 77.6472356, "Karnataka")));
+        Mockito.when(cacheRepository.findFresh(eq("560064"), eq("411045"), any()))
+                .thenReturn(Optional.of(TollRouteCache.builder()
+                        .sourcePincode("560064")
+                        .destinationPincode("411045")
+                        .responseJson(mapper.writeValueAsString(new TollPlazaResponse(route, List.of())))
+                        .corridorMode(CorridorMode.POLYLINE.name())
+                        .createdAt(LocalDateTime.now())
+                        .build()));
+
+        // when
+        var result = service.findTollsOnRouteCached(route, new double[]{12.9, 77.6}, new double[]{18.5, 73.9});
+
+        // then: counted as a miss and recomputed under the configured great-circle mode
+        assertThat(result.getTollPlazas()).hasSize(1);
+        assertThat(stageCount("route.cache.lookup", "tier", "db", "outcome", "miss")).isEqualTo(1);
+        Mockito.verify(cacheRepository).upsert(any());
+    }
+
     @Test
     void shouldComputeFreshAndDeduplicateTolls() {
         // given
@@ -64,9 +112,8 @@ class TollPlazaServiceTest {
         var plaza2 = new TollPlaza(2L, "Devanahalli Toll Plaza", 13.1936004, 77.6472356, "Karnataka"); // duplicate
 
         Mockito.when(plazaRepository.findAll()).thenReturn(List.of(plaza1, plaza2));
-        Mockito.when(cacheRepository.findBySourcePincodeAndDestinationPincode("560064", "411045"))
+        Mockito.when(cacheRepository.findFresh(eq("560064"), eq("411045"), any()))
                 .thenReturn(Optional.empty());
-        Mockito.when(cacheRepository.save(any(TollRouteCache.class))).thenAnswer(inv -> inv.getArgument(0));
 
         // when
         var result = service.findTollsOnRouteCached(route,
@@ -76,5 +123,332 @@ class TollPlazaServiceTest {
         assertThat(result.getTollPlazas()).hasSize(1); // deduplicated
         assertThat(result.getTollPlazas().get(0).getName()).isEqualTo("Devanahalli Toll Plaza");
     }
-}
 
+    @Test
+    void shouldTimeEachStageOfAComputedLookup() {
+        // given
+        var route = new RouteDto("560064", "411045", 855.8);
+        Mockito.when(plazaRepository.findAll()).thenReturn(List.of(
+                new TollPlaza(1L, "Devanahalli Toll Plaza", 13.1936004, 77.6472356, "Karnataka")));
+        Mockito.when(cacheRepository.findFresh(any(), any(), any())).thenReturn(Optional.empty());
+
+        // when
+        service.findTollsOnRouteCached(route, new double[]{12.9, 77.6}, new double[]{18.5, 73.9});
+
+        // then: both cache tiers missed, then index build, corridor scan and cache save
+        assertThat(stageCount("route.cache.lookup", "tier", "local", "outcome", "miss")).isEqualTo(1);
+        assertThat(stageCount("route.cache.lookup", "tier", "db", "outcome", "miss")).isEqualTo(1);
+        assertThat(stageCount("plaza.load")).isEqualTo(1);
+        assertThat(stageCount("plaza.dedup")).isEqualTo(1);
+        assertThat(stageCount("corridor.scan", "mode", "great-circle")).isEqualTo(1);
+        assertThat(stageCount("route.cache.save", "outcome", "success")).isEqualTo(1);
+        var plazas = meterRegistry.get("toll.corridor.plazas").summary();
+        assertThat(plazas.count()).isEqualTo(1);
+        assertThat(plazas.totalAmount()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldNotCacheRoutesComputedBeforeThePlazasAreLoaded() {
+        // given: the initial CSV load has not filled toll_plaza yet
+        var route = new RouteDto("560064", "411045", 855.8);
+        Mockito.when(cacheRepository.findFresh(any(), any(), any())).thenReturn(Optional.empty());
+        var plazaIndex = new PlazaIndexManager(plazaRepository, rateRepository, meterRegistry);
+        var service = new TollPlazaService(plazaIndex, new LocalRouteCache(100, Duration.ofMinutes(5), meterRegistry),
+                cacheRepository, hotRoutes, published::add, meterRegistry, Duration.ofDays(30), Duration.ofDays(7), true,
+                CorridorMode.GREAT_CIRCLE);
+
+        // when
+        var first = service.findTollsOnRouteCached(route, new double[]{12.9, 77.6}, new double[]{18.5, 73.9});
+        Mockito.when(plazaRepository.findAll()).thenReturn(List.of(
+                new TollPlaza(1L, "Devanahalli Toll Plaza", 13.1936004, 77.6472356, "Karnataka")));
+        plazaIndex.rebuild();
+        var second = service.findTollsOnRouteCached(route, new double[]{12.9, 77.6}, new double[]{18.5, 73.9});
+
+        // then: the empty response was not kept, and the lookup after the load is cached as usual
+        assertThat(first.getTollPlazas()).isEmpty();
+        assertThat(second.getTollPlazas()).hasSize(1);
+        Mockito.verify(cacheRepository, Mockito.times(1)).upsert(any());
+    }
+
+    @Test
+    void shouldAnswerButNotCacheRoutesComputedFromFallbackInputs() {
+        // given: Google was down and the offline provider resolved the pair
+        Mockito.when(plazaRepository.findAll()).thenReturn(List.of(
+                new TollPlaza(1L, "Devanahalli Toll Plaza", 13.1936004, 77.6472356, "Karnataka")));
+        Mockito.when(cacheRepository.findFresh(any(), any(), any())).thenReturn(Optional.empty());
+        var approximate = new RouteInputs(new double[]{12.9, 77.6}, new double[]{18.5, 73.9}, 1011.3, null, true);
+
+        // when
+        var first = service.findTollsOnRoute("560064", "411045", () -> approximate, false);
+        var second = service.findTollsOnRoute("560064", "411045",
+                () -> new RouteInputs(new double[]{12.9, 77.6}, new double[]{18.5, 73.9}, 855.8), false);
+
+        // then: the next lookup asked the providers again, and only its answer was stored
+        assertThat(first.getRoute().getDistanceInKm()).isEqualTo(1011.3);
+        assertThat(second.getRoute().getDistanceInKm()).isEqualTo(855.8);
+        Mockito.verify(cacheRepository, Mockito.times(1)).upsert(any());
+    }
+
+    private long stageCount(String stage, String... tags) {
+        return meterRegistry.get(PipelineMetrics.STAGE_TIMER).tag("stage", stage).tags(tags).timer().count();
+    }
+
+    @Test
+    void shouldServeRepeatLookupsFromLocalCacheWithoutDatabase() throws Exception {
+        // given
+        var route = new RouteDto("560064", "411045", 855.8);
+        String json = mapper.writeValueAsString(new TollPlazaResponse(route, List.of()));
+
+        Mockito.when(cacheRepository.findFresh(eq("560064"), eq("411045"), any()))
+                .thenReturn(Optional.of(TollRouteCache.builder()
+                        .sourcePincode("560064")
+                        .destinationPincode("411045")
+                        .responseJson(json)
+                        .createdAt(LocalDateTime.now())
+                        .build()));
+
+        // when
+        var first = service.findTollsOnRouteCached(route, new double[]{12.9, 77.6}, new double[]{18.5, 73.9});
+        var second = service.findTollsOnRouteCached(route, new double[]{12.9, 77.6}, new double[]{18.5, 73.9});
+
+        // then
+        assertThat(second).isSameAs(first);
+        Mockito.verify(cacheRepository, Mockito.times(1))
+                .findFresh(eq("560064"), eq("411045"), any());
+    }
+
+    @Test
+    void shouldNotResolveInputsOnCacheHit() throws Exception {
+        // given
+        var route = new RouteDto("560064", "411045", 855.8);
+        String json = mapper.writeValueAsString(new TollPlazaResponse(route, List.of()));
+
+        Mockito.when(cacheRepository.findFresh(eq("560064"), eq("411045"), any()))
+                .thenReturn(Optional.of(TollRouteCache.builder()
+                        .sourcePincode("560064")
+                        .destinationPincode("411045")
+                        .responseJson(json)
+                        .createdAt(LocalDateTime.now())
+                        .build()));
+
+        // when
+        var result = service.findTollsOnRoute("560064", "411045",
+                () -> { throw new AssertionError("inputs resolved on a cache hit"); }, false);
+
+        // then
+        assertThat(result.getRoute().getDistanceInKm()).isEqualTo(855.8);
+    }
+
+    @Test
+    void shouldStoreBinaryResponseAndServeItFromDatabase() {
+        // given
+        var route = new RouteDto("560064", "411045", 855.8);
+        Mockito.when(plazaRepository.findAll()).thenReturn(List.of(
+                new TollPlaza(1L, "Devanahalli Toll Plaza", 13.1936004, 77.6472356, "Karnataka")));
+        Mockito.when(cacheRepository.findFresh(eq("560064"), eq("411045"), any()))
+                .thenReturn(Optional.empty());
+        var saved = ArgumentCaptor.forClass(TollRouteCache.class);
+        var computed = service.findTollsOnRouteCached(route, new double[]{12.9, 77.6}, new double[]{18.5, 73.9});
+        Mockito.verify(cacheRepository).upsert(saved.capture());
+
+        // when: a fresh instance (empty local tier) reads the stored row
+        assertThat(saved.getValue().getResponseJson()).isNull();
+        Mockito.when(cacheRepository.findFresh(eq("560064"), eq("411045"), any()))
+                .thenReturn(Optional.of(saved.getValue()));
+        var other = newService(true);
+        var fromDb = other.findTollsOnRouteCached(route, new double[]{12.9, 77.6}, new double[]{18.5, 73.9});
+
+        // then
+        assertThat(fromDb).isEqualTo(computed);
+        assertThat(fromDb.getTollPlazas()).hasSize(1);
+    }
+
+    @Test
+    void shouldServeReverseDirectionFromCachedRoute() {
+        // given: Bengaluru -> Pune computed and stored with two plazas on the way
+        var bengaluru = new double[]{12.9, 77.6};
+        var pune = new double[]{18.5, 73.9};
+        Mockito.when(plazaRepository.findAll()).thenReturn(List.of(
+                new TollPlaza(1L, "Devanahalli Toll Plaza", 13.1936004, 77.6472356, "Karnataka"),
+                new TollPlaza(2L, "Midway Toll Plaza", 15.7, 75.75, "Karnataka")));
+        Mockito.when(cacheRepository.findFresh(any(), any(), any())).thenReturn(Optional.empty());
+        var saved = ArgumentCaptor.forClass(TollRouteCache.class);
+        service.findTollsOnRouteCached(new RouteDto("560064", "411045", 855.8), bengaluru, pune);
+        Mockito.verify(cacheRepository).upsert(saved.capture());
+        Mockito.when(cacheRepository.findFresh(eq("560064"), eq("411045"), any()))
+                .thenReturn(Optional.of(saved.getValue()));
+
+        // when: Pune -> Bengaluru on an instance with an empty local tier
+        var result = newService(true).findTollsOnRoute("411045", "560064",
+                () -> { throw new AssertionError("reverse route recomputed"); }, false);
+
+        // then: same plazas, listed and measured from Pune as a fresh Pune -> Bengaluru computation would
+        var fresh = newService(true).findTollsOnRoute("411045", "560064",
+                () -> new RouteInputs(pune, bengaluru, 855.8), true);
+        assertThat(result.getRoute().getSourcePincode()).isEqualTo("411045");
+        assertThat(result.getRoute().getDestinationPincode()).isEqualTo("560064");
+        assertThat(result.getRoute().getDistanceInKm()).isEqualTo(855.8);
+        assertThat(result.getTollPlazas()).extracting("name")
+                .containsExactly("Midway Toll Plaza", "Devanahalli Toll Plaza");
+        assertThat(fresh.getTollPlazas()).extracting("name")
+                .containsExactlyElementsOf(result.getTollPlazas().stream().map(TollPlazaDto::getName).toList());
+        for (int i = 0; i < fresh.getTollPlazas().size(); i++) {
+            assertThat(result.getTollPlazas().get(i).getDistanceFromSource())
+                    .isCloseTo(fresh.getTollPlazas().get(i).getDistanceFromSource(), within(0.002));
+        }
+    }
+
+    @Test
+    void shouldPriceCachedRouteForEachVehicleClassAndJourney() {
+        // given: Bengaluru -> Pune stored with two plazas; only Devanahalli has a truck rate
+        var bengaluru = new double[]{12.9, 77.6};
+        var pune = new double[]{18.5, 73.9};
+        Mockito.when(plazaRepository.findAll()).thenReturn(List.of(
+                new TollPlaza(1L, "Devanahalli Toll Plaza", 13.1936004, 77.6472356, "Karnataka"),
+                new TollPlaza(2L, "Midway Toll Plaza", 15.7, 75.75, "Karnataka")));
+        Mockito.when(rateRepository.findAll()).thenReturn(List.of(
+                new TollRate(1L, "Devanahalli Toll Plaza", "Karnataka", "car", 100, 150, 3000),
+                new TollRate(2L, "midway toll plaza", "KARNATAKA", "car", 60, null, null),
+                new TollRate(3L, "Devanahalli Toll Plaza", "Karnataka", "truck", 340, null, null)));
+        Mockito.when(cacheRepository.findFresh(any(), any(), any())).thenReturn(Optional.empty());
+        var saved = ArgumentCaptor.forClass(TollRouteCache.class);
+        service.findTollsOnRouteCached(new RouteDto("560064", "411045", 855.8), bengaluru, pune);
+        Mockito.verify(cacheRepository).upsert(saved.capture());
+        Mockito.when(cacheRepository.findFresh(eq("560064"), eq("411045"), any()))
+                .thenReturn(Optional.of(saved.getValue()));
+
+        // when: Pune -> Bengaluru served from the stored row and priced
+        var plazaIndex = new PlazaIndexManager(plazaRepository, rateRepository, meterRegistry);
+        var costService = new TollCostService(plazaIndex, meterRegistry);
+        var cached = newService(true).findTollsOnRoute("411045", "560064",
+                () -> { throw new AssertionError("reverse route recomputed"); }, false);
+        var carReturn = costService.price(cached, VehicleClass.CAR, JourneyType.RETURN);
+        var truck = costService.price(cached, VehicleClass.TRUCK, JourneyType.SINGLE);
+
+        // then: fees follow the plazas into reverse order; missing fees are derived or reported
+        assertThat(carReturn.getTollPlazas()).extracting("name", "fee").containsExactly(
+                tuple("Midway Toll Plaza", 90),
+                tuple("Devanahalli Toll Plaza", 150));
+        assertThat(carReturn.getCost().getTotal()).isEqualTo(240);
+        assertThat(carReturn.getCost().getUnpricedPlazas()).isZero();
+        assertThat(truck.getTollPlazas()).extracting("fee").containsExactly(null, 340);
+        assertThat(truck.getCost().getTotal()).isEqualTo(340);
+        assertThat(truck.getCost().getUnpricedPlazas()).isEqualTo(1);
+        assertThat(cached.getCost()).isNull();
+    }
+
+    @Test
+    void shouldLeaveCostOutWhileNoRatesAreLoaded() {
+        // given: plazas are loaded, toll_rate is still empty
+        Mockito.when(plazaRepository.findAll()).thenReturn(List.of(
+                new TollPlaza(1L, "Devanahalli Toll Plaza", 13.1936004, 77.6472356, "Karnataka")));
+        Mockito.when(cacheRepository.findFresh(any(), any(), any())).thenReturn(Optional.empty());
+        var costService = new TollCostService(new PlazaIndexManager(plazaRepository, rateRepository, meterRegistry),
+                meterRegistry);
+        var route = service.findTollsOnRouteCached(new RouteDto("560064", "411045", 855.8),
+                new double[]{12.9, 77.6}, new double[]{18.5, 73.9});
+
+        // when
+        var priced = costService.price(route, VehicleClass.CAR, JourneyType.SINGLE);
+
+        // then
+        assertThat(priced.getCost()).isNull();
+        assertThat(priced.getTollPlazas()).extracting("fee").containsExactly((Object) null);
+    }
+
+    @Test
+    void shouldNotReuseReverseRouteWhenDisabled() throws Exception {
+        // given: only Pune -> Bengaluru is cached
+        String json = mapper.writeValueAsString(new TollPlazaResponse(new RouteDto("411045", "560064", 855.8), List.of()));
+        var reverseRow = TollRouteCache.builder()
+                .sourcePincode("411045")
+                .destinationPincode("560064")
+                .responseJson(json)
+                .createdAt(LocalDateTime.now())
+                .sourceLat(18.5)
+                .sourceLng(73.9)
+                .destinationLat(12.9)
+                .destinationLng(77.6)
+                .corridorMode("GREAT_CIRCLE")
+                .build();
+        Mockito.when(cacheRepository.findAllFresh(any(), any(), any())).thenReturn(List.of(reverseRow));
+        var key = new RouteKey("560064", "411045");
+
+        // when
+        var strict = newService(false).findAllCached(List.of(key));
+        var symmetric = newService(true).findAllCached(List.of(key));
+
+        // then
+        assertThat(strict).isEmpty();
+        assertThat(symmetric).containsOnlyKeys(key);
+        assertThat(symmetric.get(key).getRoute().getSourcePincode()).isEqualTo("560064");
+    }
+
+    @Test
+    void shouldNotCountBackgroundBulkLookupsAsTraffic() {
+        // given
+        Mockito.when(cacheRepository.findAllFresh(any(), any(), any())).thenReturn(List.of());
+        var warmup = new RouteKey("560064", "411045");
+        var user = new RouteKey("600001", "700001");
+
+        // when
+        service.findAllCached(List.of(warmup), false);
+        service.findAllCached(List.of(user));
+
+        // then
+        assertThat(hotRoutes.hottest()).containsExactly(user);
+    }
+
+    @Test
+    void shouldServeStaleResponseAndRequestRefresh() throws Exception {
+        // given: a row computed 10 days ago, past the 7 day soft TTL
+        var route = new RouteDto("560064", "411045", 855.8);
+        String json = mapper.writeValueAsString(new TollPlazaResponse(route, List.of()));
+        Mockito.when(cacheRepository.findFresh(eq("560064"), eq("411045"), any()))
+                .thenReturn(Optional.of(TollRouteCache.builder()
+                        .sourcePincode("560064")
+                        .destinationPincode("411045")
+                        .responseJson(json)
+                        .createdAt(LocalDateTime.now().minusDays(10))
+                        .build()));
+
+        // when: served twice (database, then local tier)
+        service.findTollsOnRoute("560064", "411045", () -> { throw new AssertionError("recomputed inline"); }, false);
+        var result = service.findTollsOnRoute("560064", "411045", () -> { throw new AssertionError("recomputed inline"); }, false);
+
+        // then: served immediately, keeps its original age in the local tier, refresh requested each time
+        assertThat(result.getRoute().getDistanceInKm()).isEqualTo(855.8);
+        assertThat(published).containsExactly(
+                new StaleRouteServedEvent(new RouteKey("560064", "411045")),
+                new StaleRouteServedEvent(new RouteKey("560064", "411045")));
+        assertThat(hotRoutes.hottest()).containsExactly(new RouteKey("560064", "411045"));
+    }
+
+    private TollPlazaService newService(boolean symmetricReuse) {
+        return new TollPlazaService(new PlazaIndexManager(plazaRepository, rateRepository, meterRegistry),
+                new LocalRouteCache(100, Duration.ofMinutes(5), meterRegistry), cacheRepository,
+                hotRoutes, published::add, meterRegistry, Duration.ofDays(30), Duration.ofDays(7), symmetricReuse,
+                CorridorMode.GREAT_CIRCLE);
+    }
+
+    @Test
+    void shouldInvalidateOnlyRoutesWhoseCorridorTouchesChangedPlaza() {
+        // given: Bengaluru -> Pune passes Devanahalli, Chennai -> Kolkata does not
+        var devanahalli = new double[]{13.1936004, 77.6472356};
+        Mockito.when(cacheRepository.findFootprintsAround(devanahalli[0], devanahalli[1])).thenReturn(List.of(
+                new Footprint(1L, "560064", "411045", 12.9, 77.6, 18.5, 73.9, "GREAT_CIRCLE"),
+                new Footprint(2L, "600001", "700001", 13.08, 80.27, 22.57, 88.36, "GREAT_CIRCLE")));
+
+        // when
+        int dropped = service.invalidateRoutesTouching(List.<double[]>of(devanahalli));
+
+        // then
+        assertThat(dropped).isEqualTo(1);
+        Mockito.verify(cacheRepository).deleteAllByIdInBatch(List.of(1L));
+    }
+
+    private record Footprint(Long getId, String getSourcePincode, String getDestinationPincode,
+                             Double getSourceLat, Double getSourceLng,
+                             Double getDestinationLat, Double getDestinationLng, String getCorridorMode)
+            implements TollRouteCacheRepository.RouteFootprint {}
+}
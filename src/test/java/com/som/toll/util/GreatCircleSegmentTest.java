@@ -0,0 +1,44 @@
+package com.som.toll.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class GreatCircleSegmentTest {
+
+    private final GreatCircleSegment segment = GreatCircleSegment.of(12.97, 77.59, 18.52, 73.85);
+
+    @Test
+    void shouldMatchStaticGeoUtilsMeasures() {
+        double latP = 15.36, lonP = 75.12; // Hubballi, beside the line
+
+        var p = segment.project(latP, lonP);
+
+        assertThat(p.crossTrackKm()).isCloseTo(
+                GeoUtils.crossTrackDistanceKm(12.97, 77.59, 18.52, 73.85, latP, lonP), within(1e-6));
+        assertThat(p.alongTrackKm()).isCloseTo(
+                GeoUtils.alongTrackDistanceKm(12.97, 77.59, 18.52, 73.85, latP, lonP), within(1e-6));
+        assertThat(p.distanceFromSourceKm()).isCloseTo(
+                GeoUtils.haversineKm(12.97, 77.59, latP, lonP), within(1e-6));
+        assertThat(segment.lengthKm()).isCloseTo(GeoUtils.haversineKm(12.97, 77.59, 18.52, 73.85), within(1e-6));
+    }
+
+    @Test
+    void alongTrackShouldBeNegativeBehindSource() {
+        var p = segment.project(12.0, 78.3); // south-east of Bengaluru, away from Pune
+
+        assertThat(p.alongTrackKm()).isNegative();
+    }
+
+    @Test
+    void corridorShouldRejectPointsOffTheBand() {
+        var corridor = segment.corridor(25.0, 20.0);
+        double[] near = GeoUtils.unitVector(13.1936004, 77.6472356); // Devanahalli, ~22 km off
+        double[] far = GeoUtils.unitVector(12.7267, 79.9838);        // Paranur
+
+        assertThat(corridor.matchKm(near[0], near[1], near[2])).isCloseTo(
+                GeoUtils.haversineKm(12.97, 77.59, 13.1936004, 77.6472356), within(1e-6));
+        assertThat(corridor.matchKm(far[0], far[1], far[2])).isNaN();
+    }
+}
@@ -0,0 +1,31 @@
+package com.som.toll.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PolylineCodecTest {
+
+    // example from Google's encoded polyline documentation
+    private static final String ENCODED = "_p~iF~ps|U_ulLnnqC_mqNvxq`@";
+
+    @Test
+    void shouldDecodeToFlatLatLngArray() {
+        assertThat(PolylineCodec.decode(ENCODED))
+                .containsExactly(38.5, -120.2, 40.7, -120.95, 43.252, -126.453);
+    }
+
+    @Test
+    void shouldRoundTrip() {
+        double[] path = {12.97, 77.59, 13.19360, 77.64724, 18.52, 73.85};
+
+        assertThat(PolylineCodec.decode(PolylineCodec.encode(path))).containsExactly(path);
+        assertThat(PolylineCodec.encode(PolylineCodec.decode(ENCODED))).isEqualTo(ENCODED);
+    }
+
+    @Test
+    void shouldRejectTruncatedInput() {
+        assertThatThrownBy(() -> PolylineCodec.decode("_p~iF~ps|")).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,53 @@
+package com.som.toll.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class PolylineCorridorTest {
+
+    // L-shaped road: east from Bengaluru, then north; the straight A->B line cuts the corner
+    private final PolylineCorridor corridor = PolylineCorridor.of(new double[]{
+            12.97, 77.59,
+            12.97, 78.80,
+            12.97, 80.00,
+            14.00, 80.00,
+            16.00, 80.00}, 25.0);
+
+    @Test
+    void shouldMeasureDistanceAlongTheRoute() {
+        double firstLegKm = GeoUtils.haversineKm(12.97, 77.59, 12.97, 80.00);
+
+        assertThat(corridor.lengthKm()).isCloseTo(firstLegKm + GeoUtils.haversineKm(12.97, 80.0, 16.0, 80.0), within(0.5));
+        assertThat(match(12.97, 79.0)).isCloseTo(GeoUtils.haversineKm(12.97, 77.59, 12.97, 79.0), within(0.5));
+        assertThat(match(14.5, 80.0)).isCloseTo(firstLegKm + GeoUtils.haversineKm(12.97, 80.0, 14.5, 80.0), within(0.5));
+    }
+
+    @Test
+    void shouldMatchWithinCorridorOnly() {
+        assertThat(match(13.15, 79.0)).isCloseTo(152.7, within(1.0)); // ~20 km north of the first leg
+        assertThat(match(13.30, 79.0)).isNaN();                        // ~37 km off
+        assertThat(match(14.5, 78.5)).isNaN();                         // inside the L, on the straight line
+        assertThat(match(20.0, 80.0)).isNaN();                         // outside the bounds
+    }
+
+    @Test
+    void shouldHandleSinglePointPolyline() {
+        var point = PolylineCorridor.of(new double[]{12.97, 77.59}, 25.0);
+
+        assertThat(point.lengthKm()).isZero();
+        assertThat(point.segmentCount()).isEqualTo(1);
+        assertThat(matchOn(point, 13.05, 77.59)).isZero();
+        assertThat(matchOn(point, 13.5, 77.59)).isNaN();
+    }
+
+    private double match(double lat, double lon) {
+        return matchOn(corridor, lat, lon);
+    }
+
+    private static double matchOn(Corridor c, double lat, double lon) {
+        double[] v = GeoUtils.unitVector(lat, lon);
+        return c.matchKm(lat, lon, v[0], v[1], v[2]);
+    }
+}
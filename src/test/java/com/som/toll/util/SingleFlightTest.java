@@ -0,0 +1,59 @@
+package com.som.toll.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightTest {
+
+    private final SingleFlight<String, Integer> flight = new SingleFlight<>();
+
+    @Test
+    void shouldShareOneLoadBetweenConcurrentCallers() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(() -> flight.execute("560064|411045", () -> {
+                    loads.incrementAndGet();
+                    await(release);
+                    return 42;
+                })));
+            }
+            // let every caller queue up behind the first
+            while (loads.get() == 0) Thread.onSpinWait();
+            Thread.sleep(100);
+            release.countDown();
+
+            for (Future<Integer> f : results) {
+                assertThat(f.get(5, TimeUnit.SECONDS)).isEqualTo(42);
+            }
+        }
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(flight.inFlightCount()).isZero();
+    }
+
+    @Test
+    void shouldPropagateFailureAndNotRememberIt() {
+        assertThatThrownBy(() -> flight.execute("k", () -> { throw new IllegalArgumentException("boom"); }))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        assertThat(flight.execute("k", () -> 7)).isEqualTo(7);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.som.toll.warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.som.toll.cache.RouteKey;
+import com.som.toll.dto.RouteDto;
+import com.som.toll.dto.TollPlazaResponse;
+import com.som.toll.entity.TollRouteCache;
+import com.som.toll.service.RouteInputResolver;
+import com.som.toll.service.RouteInputs;
+import com.som.toll.service.TollPlazaService;
+import com.som.toll.service.TollPlazaService.ComputedRoute;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+import org.springframework.core.io.FileSystemResource;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+
+class RouteWarmupJobTest {
+
+    private static final RouteKey CACHED = new RouteKey("560064", "411045");
+    private static final RouteKey COLD = new RouteKey("560064", "600001");
+    private static final RouteKey UNROUTABLE = new RouteKey("560064", "110001");
+    private static final RouteKey LATER = new RouteKey("600001", "411045");
+
+    @TempDir
+    Path dir;
+
+    private final TollPlazaService tollPlazaService = Mockito.mock(TollPlazaService.class);
+    private final RouteInputResolver inputResolver = Mockito.mock(RouteInputResolver.class);
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final ObjectMapper mapper = new ObjectMapper().findAndRegisterModules();
+
+    @AfterEach
+    void tearDown() {
+        executor.close();
+    }
+
+    @Test
+    void shouldSkipCachedPairsComputeTheRestAndWriteThemInBulk() throws Exception {
+        // given: one cached pair, one cold, one Google cannot route, one invalid and one repeated line
+        var job = job("""
+                source_pincode,destination_pincode
+                560064,411045
+                560064,600001
+                560064,110001
+                12345,411045
+                560064,411045
+                """);
+        stubCacheAndRoutes();
+
+        // when
+        job.run(false);
+
+        // then
+        var progress = job.progress();
+        assertThat(progress.state()).isEqualTo(RouteWarmupJob.State.COMPLETED);
+        assertThat(progress.total()).isEqualTo(3);
+        assertThat(progress.processed()).isEqualTo(3);
+        assertThat(progress.alreadyCached()).isEqualTo(1);
+        assertThat(progress.computed()).isEqualTo(1);
+        assertThat(progress.failed()).isEqualTo(1);
+        assertThat(progress.invalidPairs()).isEqualTo(1);
+        assertThat(progress.recentErrors()).singleElement().asString().contains("110001");
+        Mockito.verify(tollPlazaService).storeAll(eq(List.of(computed(COLD))));
+        Mockito.verify(inputResolver, Mockito.never()).resolve(CACHED.source(), CACHED.destination());
+        assertThat(WarmupCheckpoint.read(dir.resolve("checkpoint.json"), mapper))
+                .hasValueSatisfying(c -> assertThat(c.finished()).isTrue());
+    }
+
+    @Test
+    void shouldResumeAfterTheLastWrittenChunk() throws Exception {
+        // given: the second chunk's write fails on the first run
+        var job = job("""
+                source_pincode,destination_pincode
+                560064,411045
+                560064,600001
+                600001,411045
+                """);
+        stubCacheAndRoutes();
+        Mockito.doNothing().doThrow(new IllegalStateException("database down"))
+                .doNothing().when(tollPlazaService).storeAll(anyList());
+
+        // when
+        job.run(false);
+        var failedRun = job.progress();
+        job.run(false);
+
+        // then: the second run starts at the third pair and does not recompute the first chunk
+        assertThat(failedRun.state()).isEqualTo(RouteWarmupJob.State.FAILED);
+        assertThat(failedRun.processed()).isEqualTo(2);
+        var resumed = job.progress();
+        assertThat(resumed.state()).isEqualTo(RouteWarmupJob.State.COMPLETED);
+        assertThat(resumed.resumedFrom()).isEqualTo(2);
+        assertThat(resumed.processed()).isEqualTo(3);
+        Mockito.verify(inputResolver, Mockito.times(1)).resolve(COLD.source(), COLD.destination());
+        Mockito.verify(inputResolver, Mockito.times(2)).resolve(LATER.source(), LATER.destination());
+    }
+
+    @Test
+    void shouldWarmTheWholeListAgainAfterACompletedRun() throws Exception {
+        // given: a run that got through the whole list
+        var job = job("""
+                source_pincode,destination_pincode
+                560064,411045
+                560064,600001
+                """);
+        stubCacheAndRoutes();
+        job.run(false);
+
+        // when: the next run over the same list, e.g. after a deploy or cache purge
+        job.run(false);
+
+        // then: it starts at the first pair instead of resuming at the end
+        var progress = job.progress();
+        assertThat(progress.state()).isEqualTo(RouteWarmupJob.State.COMPLETED);
+        assertThat(progress.resumedFrom()).isZero();
+        assertThat(progress.processed()).isEqualTo(2);
+        assertThat(progress.computed()).isEqualTo(1);
+        Mockito.verify(inputResolver, Mockito.times(2)).resolve(COLD.source(), COLD.destination());
+    }
+
+    private RouteWarmupJob job(String pairs) throws Exception {
+        Path file = dir.resolve("pairs.csv");
+        Files.writeString(file, pairs);
+        return new RouteWarmupJob(tollPlazaService, inputResolver, null, executor, mapper,
+                new FileSystemResource(file), "", 4, 1000, 2, true, dir.resolve("checkpoint.json"), false);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void stubCacheAndRoutes() {
+        var cached = new TollPlazaResponse(new RouteDto(CACHED.source(), CACHED.destination(), 855.8), List.of());
+        Mockito.when(tollPlazaService.findAllCached(anyCollection(), eq(false))).thenAnswer(call ->
+                ((Collection<RouteKey>) call.getArgument(0)).contains(CACHED) ? Map.of(CACHED, cached) : Map.of());
+        var inputs = new RouteInputs(new double[]{13.10, 77.59}, new double[]{13.09, 80.28}, 346.0, null);
+        Mockito.when(inputResolver.resolve(COLD.source(), COLD.destination())).thenReturn(inputs);
+        Mockito.when(inputResolver.resolve(LATER.source(), LATER.destination())).thenReturn(inputs);
+        Mockito.when(inputResolver.resolve(UNROUTABLE.source(), UNROUTABLE.destination()))
+                .thenThrow(new IllegalArgumentException("No route between 560064 and 110001"));
+        Mockito.when(tollPlazaService.computeRoute(any(), any()))
+                .thenAnswer(call -> computed(call.getArgument(0)));
+    }
+
+    private static ComputedRoute computed(RouteKey key) {
+        return new ComputedRoute(key, new TollPlazaResponse(new RouteDto(key.source(), key.destination(), 346.0), List.of()),
+                TollRouteCache.builder().sourcePincode(key.source()).destinationPincode(key.destination()).build());
+    }
+}